@@ -0,0 +1,32 @@
+package mpesa.benchmark;
+
+import base.JsonCodec;
+import mpesa.MpesaClient;
+import mpesa.MpesaResponse;
+import mpesa.result.CallbackResult;
+import mpesa.util.ResponseParserType;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Retained size of one callback kept in memory, as a parsed MpesaResponse and as its compact CallbackResult.
+ * Run with java -cp target/benchmarks.jar mpesa.benchmark.CallbackFootprint
+ */
+public final class CallbackFootprint {
+
+    private CallbackFootprint() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // records have no Unsafe field offsets, let JOL derive them
+        System.setProperty("jol.magicFieldOffset", "true");
+        MpesaClient mpesaClient = new MpesaClient();
+        System.out.printf("%-24s %16s %16s%n", "ResponseParserType", "MpesaResponse", "CallbackResult");
+        for (ResponseParserType responseParserType : ResponseParserType.values()) {
+            MpesaResponse mpesaResponse = JsonCodec.getDefault().reader(MpesaResponse.class).readValue(Payloads.callback(responseParserType));
+            mpesaClient.responseParser(mpesaResponse, responseParserType);
+            CallbackResult callbackResult = CallbackResult.from(mpesaResponse, responseParserType);
+            System.out.printf("%-24s %14d B %14d B%n", responseParserType,
+                    GraphLayout.parseInstance(mpesaResponse).totalSize(), GraphLayout.parseInstance(callbackResult).totalSize());
+        }
+    }
+}
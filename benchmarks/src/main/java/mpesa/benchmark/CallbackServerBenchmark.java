@@ -0,0 +1,82 @@
+package mpesa.benchmark;
+
+import mpesa.CallbackServer;
+import mpesa.MpesaClient;
+import mpesa.util.ResponseParserType;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * STK callbacks posted to a local CallbackServer, the bound route (MpesaResponse plus responseParser) against the
+ * result route (StkCallbackParser). Each operation is a burst of concurrency callbacks, so callbacks/s is ops/s times concurrency.
+ * Runs with sun.net.httpserver.nodelay, as recommended for deployments of the CallbackServer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class CallbackServerBenchmark {
+    @Param({"16"})
+    public int concurrency;
+
+    private CallbackServer callbackServer;
+    private HttpClient httpClient;
+    private HttpRequest boundRoute;
+    private HttpRequest resultRoute;
+
+    @Setup
+    public void setup() throws Exception {
+        callbackServer = CallbackServer.builder()
+                .mpesaClient(new MpesaClient())
+                .address(new InetSocketAddress("127.0.0.1", 0))
+                .build()
+                .route("/stk/bound", ResponseParserType.C2B_STK, mpesaResponse -> {
+                })
+                .routeResult("/stk/result", ResponseParserType.C2B_STK, callbackResult -> {
+                })
+                .start();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        String baseUrl = "http://127.0.0.1:" + callbackServer.getAddress().getPort();
+        boundRoute = HttpRequest.newBuilder(URI.create(baseUrl + "/stk/bound"))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(Payloads.STK_CALLBACK))
+                .build();
+        resultRoute = HttpRequest.newBuilder(URI.create(baseUrl + "/stk/result"))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(Payloads.STK_CALLBACK))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        callbackServer.close();
+    }
+
+    @Benchmark
+    public Object boundRoute() {
+        return burst(boundRoute);
+    }
+
+    @Benchmark
+    public Object resultRoute() {
+        return burst(resultRoute);
+    }
+
+    private Object burst(HttpRequest httpRequest) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            futures[i] = httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding());
+        }
+        return CompletableFuture.allOf(futures).join();
+    }
+}
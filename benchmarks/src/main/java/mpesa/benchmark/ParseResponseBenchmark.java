@@ -0,0 +1,38 @@
+package mpesa.benchmark;
+
+import base.JsonCodec;
+import com.fasterxml.jackson.databind.ObjectReader;
+import mpesa.MpesaResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response binding as done by ApiClient.parseResponse, the shared MpesaResponse reader of JsonCodec
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseResponseBenchmark {
+    @Param({"ACCESS_TOKEN", "STK_SEND_RESPONSE", "STK_QUERY_RESPONSE", "ASYNC_ACCEPTED_RESPONSE", "ERROR_RESPONSE",
+            "STK_CALLBACK", "B2C_RESULT", "B2B_PAYMENT_RESULT", "B2B_STK_CALLBACK", "TRANSACTION_STATUS_RESULT"})
+    public String payload;
+
+    private byte[] body;
+    private ObjectReader reader;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        body = (byte[]) Payloads.class.getDeclaredField(payload).get(null);
+        reader = JsonCodec.getDefault().reader(MpesaResponse.class);
+    }
+
+    @Benchmark
+    public MpesaResponse parseResponse() throws IOException {
+        return reader.readValue(body);
+    }
+}
@@ -0,0 +1,152 @@
+package mpesa.benchmark;
+
+import mpesa.dto.MpesaRequestDto;
+import mpesa.util.*;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Typical DARAJA request dtos, responses and callbacks shared by the benchmarks
+ */
+final class Payloads {
+    static final byte[] ACCESS_TOKEN = bytes("""
+            {"access_token":"c9SQxWWhmdVRlyh0zh8gZDTkubVF","expires_in":"3599"}""");
+
+    static final byte[] STK_SEND_RESPONSE = bytes("""
+            {"MerchantRequestID":"29115-34620561-1","CheckoutRequestID":"ws_CO_191220191020363925","ResponseCode":"0",\
+            "ResponseDescription":"Success. Request accepted for processing","CustomerMessage":"Success. Request accepted for processing"}""");
+
+    static final byte[] STK_QUERY_RESPONSE = bytes("""
+            {"ResponseCode":"0","ResponseDescription":"The service request has been accepted successsfully",\
+            "MerchantRequestID":"22205-34066-1","CheckoutRequestID":"ws_CO_13012021093521236557","ResultCode":"0",\
+            "ResultDesc":"The service request is processed successfully."}""");
+
+    static final byte[] ASYNC_ACCEPTED_RESPONSE = bytes("""
+            {"ConversationID":"AG_20191219_00005797af5d7d75f652","OriginatorConversationID":"16740-34861180-1",\
+            "ResponseCode":"0","ResponseDescription":"Accept the service request successfully."}""");
+
+    static final byte[] ERROR_RESPONSE = bytes("""
+            {"requestId":"11728-2929992-1","errorCode":"401.002.01","errorMessage":"Error Occurred - Invalid Access Token - BJGFGOXv5aZnw90KkA4TDtu4Xdyf"}""");
+
+    static final byte[] STK_CALLBACK = bytes("""
+            {"Body":{"stkCallback":{"MerchantRequestID":"29115-34620561-1","CheckoutRequestID":"ws_CO_191220191020363925",\
+            "ResultCode":0,"ResultDesc":"The service request is processed successfully.","CallbackMetadata":{"Item":[\
+            {"Name":"Amount","Value":1.00},{"Name":"MpesaReceiptNumber","Value":"NLJ7RT61SV"},{"Name":"Balance"},\
+            {"Name":"TransactionDate","Value":20191219102115},{"Name":"PhoneNumber","Value":254708374149}]}}}}""");
+
+    static final byte[] B2C_RESULT = bytes("""
+            {"Result":{"ResultType":0,"ResultCode":0,"ResultDesc":"The service request is processed successfully.",\
+            "OriginatorConversationID":"10571-7910404-1","ConversationID":"AG_20191219_00004e48cf7e3533f581",\
+            "TransactionID":"NLJ41HAY6Q","ResultParameters":{"ResultParameter":[\
+            {"Key":"TransactionAmount","Value":10},{"Key":"TransactionReceipt","Value":"NLJ41HAY6Q"},\
+            {"Key":"B2CRecipientIsRegisteredCustomer","Value":"Y"},{"Key":"B2CChargesPaidAccountAvailableFunds","Value":-4510.00},\
+            {"Key":"ReceiverPartyPublicName","Value":"254708374149 - John Doe"},{"Key":"TransactionCompletedDateTime","Value":"19.12.2019 11:45:50"},\
+            {"Key":"B2CUtilityAccountAvailableFunds","Value":10116.00},{"Key":"B2CWorkingAccountAvailableFunds","Value":900000.00}]},\
+            "ReferenceData":{"ReferenceItem":{"Key":"QueueTimeoutURL","Value":"https://internalsandbox.safaricom.co.ke/mpesa/b2cresults/v1/submit"}}}}""");
+
+    static final byte[] B2B_PAYMENT_RESULT = bytes("""
+            {"Result":{"ResultType":"0","ResultCode":"0","ResultDesc":"The service request is processed successfully",\
+            "OriginatorConversationID":"626f6ddf-ab37-4650-b882-b1de92ec9aa4","ConversationID":"12345677dfdf89099B3",\
+            "TransactionID":"QKA81LK5CY","ResultParameters":{"ResultParameter":[\
+            {"Key":"DebitAccountBalance","Value":"{Amount={CurrencyCode=KES, MinimumAmount=618683, BasicAmount=6186.83}}"},\
+            {"Key":"Amount","Value":"190.00"},{"Key":"DebitPartyAffectedAccountBalance","Value":"Working Account|KES|346568.83|6186.83|340382.00|0.00"},\
+            {"Key":"TransCompletedTime","Value":"20221110110717"},{"Key":"DebitPartyCharges","Value":""},\
+            {"Key":"ReceiverPartyPublicName","Value":"000000– Biller Companty"},{"Key":"Currency","Value":"KES"},\
+            {"Key":"InitiatorAccountCurrentBalance","Value":"{Amount={CurrencyCode=KES, MinimumAmount=618683, BasicAmount=6186.83}}"}]},\
+            "ReferenceData":{"ReferenceItem":[{"Key":"BillReferenceNumber","Value":"19008"},\
+            {"Key":"QueueTimeoutURL","Value":"https://mydomain.com/b2b/businessbuygoods/queue/"}]}}}""");
+
+    static final byte[] TAX_REMITTANCE_RESULT = bytes("""
+            {"Result":{"ResultType":0,"ResultCode":0,"ResultDesc":"The service request is processed successfully",\
+            "OriginatorConversationID":"626f6ddf-ab37-4650-b882-b1de92ec9aa4","ConversationID":"12345677dfdf89099B3",\
+            "TransactionID":"QKA81LK5CY","ResultParameters":{"ResultParameter":[{"Key":"Amount","Value":"190.00"},\
+            {"Key":"TransCompletedTime","Value":"20221110110717"},{"Key":"ReceiverPartyPublicName","Value":"00000 - Kenya Revenue Authority"},\
+            {"Key":"Currency","Value":"KES"}]},"ReferenceData":{"ReferenceItem":{"Key":"QueueTimeoutURL","Value":"https://mydomain.com/b2b/remittax/queue/"}}}}""");
+
+    static final byte[] B2B_STK_CALLBACK = bytes("""
+            {"resultCode":"0","resultDesc":"The service request is processed successfully.","amount":"71.0",\
+            "requestId":"404e1aec-19e0-4ce3-973d-bd92e94c8021","resultType":"0","conversationID":"AG_20230426_2010434680d9f5a73766",\
+            "transactionId":"RDQ01NFT1Q","status":"SUCCESS","paymentReference":"MAndbubry3hi"}""");
+
+    static final byte[] TRANSACTION_STATUS_RESULT = bytes("""
+            {"Result":{"ResultType":0,"ResultCode":0,"ResultDesc":"The service request is processed successfully.",\
+            "OriginatorConversationID":"1236-7134259-1","ConversationID":"AG_20210709_1234409f86436c583e3f",\
+            "TransactionID":"SEI0000000","ResultParameters":{"ResultParameter":[{"Key":"DebitPartyName","Value":"254708374149 - John Doe"},\
+            {"Key":"CreditPartyName","Value":"600000 - Safaricom"},{"Key":"OriginatorConversationID","Value":"1236-7134259-1"},\
+            {"Key":"InitiatedTime","Value":20210709172514},{"Key":"DebitAccountType","Value":"MMF Account For Customer"},\
+            {"Key":"DebitPartyCharges"},{"Key":"TransactionReason"},{"Key":"ReasonType","Value":"Pay Bill Online"},\
+            {"Key":"TransactionStatus","Value":"Completed"},{"Key":"FinalisedTime","Value":20210709172514},\
+            {"Key":"Amount","Value":1.0},{"Key":"ConversationID","Value":"AG_20210709_1234409f86436c583e3f"},\
+            {"Key":"ReceiptNo","Value":"SEI0000000"}]},\
+            "ReferenceData":{"ReferenceItem":{"Key":"Occasion","Value":"OK"}}}}""");
+
+    private Payloads() {
+    }
+
+    /**
+     * Callback body received for the parser type
+     */
+    static byte[] callback(ResponseParserType responseParserType) {
+        return switch (responseParserType) {
+            case C2B_STK -> STK_CALLBACK;
+            case C2B_TRANSACTION_STATUS -> TRANSACTION_STATUS_RESULT;
+            case B2B_PAYMENT -> B2B_PAYMENT_RESULT;
+            case B2B_STK -> B2B_STK_CALLBACK;
+            case B2C -> B2C_RESULT;
+            case TAX_REMITTANCE -> TAX_REMITTANCE_RESULT;
+        };
+    }
+
+    /**
+     * Fully populated dto, in the state MpesaClient hands it to MpesaRequest
+     */
+    static MpesaRequestDto requestDto(MpesaRequestType mpesaRequestType) {
+        MpesaRequestDto requestDto = new MpesaRequestDto();
+        requestDto.setMpesaRequestType(mpesaRequestType);
+        requestDto.setBusinessShortCode(174379);
+        requestDto.setPassword("MTc0Mzc5YmZiMjc5ZjlhYTliZGJjZjE1OGU5N2RkNzFhNDY3Y2QyZTBjODkzMDU5YjEwZjc4ZTZiNzJhZGExZWQyYzkxOTIwMTkxMjE5MTAyMTE1");
+        requestDto.setTimestamp("20191219102115");
+        requestDto.setInitiator("testapi");
+        requestDto.setInitiatorName("testapi");
+        requestDto.setSecurityCredential("ClONZiMYBpc65lmpJ7nvnrDmUe0WvHvA5QbOsPjEo92B1IGpLvehJbSMd5jB+V9v1XtG0ks2UQTHv1e5sn8qT+YJnZTXV4T7xMyzBcZ6KhKdl96wUqbC3JAqCrbdbKQo2SxGeJCU7hCw4OR1dZrB3eI84nr4WwvW+IDhj8n8B3iLJLMSqOpwg8Yqcs5Fo9tnhp2Ovb7OBH6Vg+d9BwyJjApH6w9ML2D7pj0MwNjvyK6J7AfN0S0F1VrrPIOsTJfwk4LqwEXtaDTw/UzsFX3DWT60uWV0xy11hApymBmLjAFMxDL7Cj4Ry5JrqfS4LUO1DhA5rZoZx0fNR0RsVXC2fQ==");
+        requestDto.setAmount(100);
+        requestDto.setPhoneNumber(254708374149L);
+        requestDto.setPartyA(600000L);
+        requestDto.setPartyB(600001L);
+        requestDto.setCallbackURL("https://mydomain.com/mpesa/stk/callback");
+        requestDto.setAccountReference("INV-00001");
+        requestDto.setTransactionDesc("Invoice payment");
+        requestDto.setCheckoutRequestID("ws_CO_191220191020363925");
+        requestDto.setValidationURL("https://mydomain.com/mpesa/c2b/validation");
+        requestDto.setConfirmationURL("https://mydomain.com/mpesa/c2b/confirmation");
+        requestDto.setTransactionId("NLJ41HAY6Q");
+        requestDto.setOriginatorConversationId("16740-34861180-1");
+        requestDto.setRemarks("Remarks");
+        requestDto.setOccassion("Occasion");
+        requestDto.setQueueTimeOutURL("https://mydomain.com/mpesa/timeout");
+        requestDto.setResultURL("https://mydomain.com/mpesa/result");
+        requestDto.setSenderIdentifierType("4");
+        requestDto.setRecieverIdentifierType("4");
+        requestDto.setCommandId("PayTaxToKRA");
+        requestDto.setTaxPRN("PRN1234XN");
+        requestDto.setAmt(71);
+        requestDto.setSendingPartyShortCode(600000);
+        requestDto.setReceivingPartyShortCode(600001);
+        requestDto.setPaymentRef("MAndbubry3hi");
+        requestDto.setCallback("https://mydomain.com/mpesa/b2b-stk/callback");
+        requestDto.setReceivingPartyName("Vendor");
+        requestDto.setRequestRefId("404e1aec-19e0-4ce3-973d-bd92e94c8021");
+        requestDto.setMerchantName("TEST SUPERMARKET");
+        requestDto.setRefNo("Invoice Test");
+        requestDto.setSize("300");
+        requestDto.setStkTransactionType(STKTransactionType.PAY_BILL);
+        requestDto.setRegisterURLResponseType(RegisterURLResponseType.COMPLETED);
+        requestDto.setB2CCommandID(B2CCommandID.BUSINESS_PAYMENT);
+        requestDto.setTrxCodeType(TrxCodeType.BUY_GOODS);
+        return requestDto;
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
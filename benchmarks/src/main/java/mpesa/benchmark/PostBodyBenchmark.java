@@ -0,0 +1,39 @@
+package mpesa.benchmark;
+
+import mpesa.MpesaRequest;
+import mpesa.util.MpesaRequestType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request serialization, MpesaRequest.getPostBody() and the byte[] path ApiClient sends
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostBodyBenchmark {
+    @Param
+    public MpesaRequestType mpesaRequestType;
+
+    private MpesaRequest mpesaRequest;
+
+    @Setup
+    public void setup() {
+        mpesaRequest = new MpesaRequest();
+        mpesaRequest.setMpesaRequestDto(Payloads.requestDto(mpesaRequestType));
+    }
+
+    @Benchmark
+    public String postBody() {
+        return mpesaRequest.getPostBody();
+    }
+
+    @Benchmark
+    public byte[] postBodyBytes() {
+        return mpesaRequest.getPostBodyBytes();
+    }
+}
@@ -0,0 +1,68 @@
+package mpesa.benchmark;
+
+import base.JsonCodec;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import mpesa.b2b.ReferenceData;
+import mpesa.b2b.ReferenceItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReferenceData of result callbacks, the streaming deserializer against the former tree round-trip
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReferenceDataBenchmark {
+    @Param({"object", "array"})
+    public String form;
+
+    private byte[] body;
+    private ObjectReader reader;
+    private ObjectMapper objectMapper;
+    private ObjectReader itemReader;
+    private ObjectReader itemListReader;
+
+    @Setup
+    public void setup() {
+        body = ("object".equals(form)
+                ? """
+                {"ReferenceItem":{"Key":"QueueTimeoutURL","Value":"https://mydomain.com/b2c/queue/"}}"""
+                : """
+                {"ReferenceItem":[{"Key":"BillReferenceNumber","Value":"19008"},{"Key":"QueueTimeoutURL","Value":"https://mydomain.com/b2b/queue/"}]}""")
+                .getBytes(StandardCharsets.UTF_8);
+        reader = JsonCodec.getDefault().reader(ReferenceData.class);
+        objectMapper = new ObjectMapper();
+        itemReader = JsonCodec.getDefault().reader(ReferenceItem.class);
+        itemListReader = JsonCodec.getDefault().listReader(ReferenceItem.class);
+    }
+
+    @Benchmark
+    public ReferenceData streaming() throws IOException {
+        return reader.readValue(body);
+    }
+
+    /**
+     * The previous deserializer, reading a tree, printing it and binding the printed json again
+     */
+    @Benchmark
+    public ReferenceData treeRoundTrip() throws IOException {
+        ReferenceData referenceData = new ReferenceData();
+        TreeNode referenceItemNode = objectMapper.readTree(body).get("ReferenceItem");
+        if (referenceItemNode.isArray()) {
+            referenceData.setReferenceItem(itemListReader.readValue(referenceItemNode.toString()));
+        } else {
+            referenceData.setReferenceItem(List.of(itemReader.<ReferenceItem>readValue(referenceItemNode.toString())));
+        }
+        return referenceData;
+    }
+}
@@ -0,0 +1,44 @@
+package mpesa.benchmark;
+
+import base.JsonCodec;
+import com.fasterxml.jackson.databind.ObjectReader;
+import mpesa.MpesaClient;
+import mpesa.MpesaResponse;
+import mpesa.util.ResponseParserType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Callback handling, binding the body and running MpesaClient.responseParser on it.
+ * responseParser mutates the response, so the body is bound on every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseParserBenchmark {
+    @Param
+    public ResponseParserType responseParserType;
+
+    private byte[] body;
+    private ObjectReader reader;
+    private MpesaClient mpesaClient;
+
+    @Setup
+    public void setup() {
+        body = Payloads.callback(responseParserType);
+        reader = JsonCodec.getDefault().reader(MpesaResponse.class);
+        mpesaClient = new MpesaClient();
+    }
+
+    @Benchmark
+    public MpesaResponse responseParser() throws IOException {
+        MpesaResponse mpesaResponse = reader.readValue(body);
+        mpesaClient.responseParser(mpesaResponse, responseParserType);
+        return mpesaResponse;
+    }
+}
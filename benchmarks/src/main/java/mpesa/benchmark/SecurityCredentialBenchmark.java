@@ -0,0 +1,38 @@
+package mpesa.benchmark;
+
+import base.Helpers;
+import mpesa.SecurityCredentialProvider;
+import mpesa.util.Environment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RSA encryption of the initiator password, uncached and through SecurityCredentialProvider
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityCredentialBenchmark {
+    private static final String INITIATOR_PASSWORD = "Safaricom999!*!";
+
+    private SecurityCredentialProvider securityCredentialProvider;
+
+    @Setup
+    public void setup() {
+        securityCredentialProvider = new SecurityCredentialProvider();
+    }
+
+    @Benchmark
+    public String generateSecurityCredentials() throws Exception {
+        return Helpers.generateSecurityCredentials(INITIATOR_PASSWORD, Helpers.MPESA_CERT_DEV);
+    }
+
+    @Benchmark
+    public String cachedSecurityCredential() throws Exception {
+        return securityCredentialProvider.getSecurityCredential(Environment.DEVELOPMENT, INITIATOR_PASSWORD);
+    }
+}
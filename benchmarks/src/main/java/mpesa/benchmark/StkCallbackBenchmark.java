@@ -0,0 +1,45 @@
+package mpesa.benchmark;
+
+import base.JsonCodec;
+import com.fasterxml.jackson.databind.ObjectReader;
+import mpesa.MpesaClient;
+import mpesa.MpesaResponse;
+import mpesa.result.StkCallbackParser;
+import mpesa.result.StkCallbackResult;
+import mpesa.util.ResponseParserType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * STK callback, MpesaResponse binding plus responseParser against the streaming StkCallbackParser
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StkCallbackBenchmark {
+    private ObjectReader reader;
+    private MpesaClient mpesaClient;
+
+    @Setup
+    public void setup() {
+        reader = JsonCodec.getDefault().reader(MpesaResponse.class);
+        mpesaClient = new MpesaClient();
+    }
+
+    @Benchmark
+    public MpesaResponse responseParser() throws IOException {
+        MpesaResponse mpesaResponse = reader.readValue(Payloads.STK_CALLBACK);
+        mpesaClient.responseParser(mpesaResponse, ResponseParserType.C2B_STK);
+        return mpesaResponse;
+    }
+
+    @Benchmark
+    public StkCallbackResult stkCallbackParser() throws IOException {
+        return StkCallbackParser.parse(Payloads.STK_CALLBACK);
+    }
+}
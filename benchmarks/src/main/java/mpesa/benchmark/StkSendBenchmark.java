@@ -0,0 +1,119 @@
+package mpesa.benchmark;
+
+import base.HttpTransport;
+import mpesa.AccessTokenCache;
+import mpesa.MpesaClient;
+import mpesa.MpesaResponse;
+import mpesa.request.StkPushRequest;
+import mpesa.util.Environment;
+import mpesa.util.STKTransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full stkSend() against a local stub, token cache, password, serialization, http and parsing included.
+ * Each operation is a burst of concurrency calls, so ops/s counts bursts. The burst is driven three ways on the same transport:
+ * blocking stkSend() with one virtual thread per call, blocking stkSend() on a platform pool of the same size,
+ * and stkSendAsync() from the benchmark thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StkSendBenchmark {
+    @Param({"16", "256"})
+    public int concurrency;
+
+    private StubServer stubServer;
+    private HttpTransport httpTransport;
+    private MpesaClient mpesaClient;
+    private StkPushRequest stkPushRequest;
+    private ExecutorService virtualThreads;
+    private ExecutorService platformPool;
+    private List<Callable<MpesaResponse>> blockingCalls;
+
+    @Setup
+    public void setup() throws Exception {
+        stubServer = new StubServer();
+        httpTransport = HttpTransport.builder()
+                .httpVersion(HttpClient.Version.HTTP_1_1)
+                .build();
+        mpesaClient = new MpesaClient()
+                .environment(Environment.DEVELOPMENT)
+                .baseUrl(stubServer.baseUrl())
+                .consumerKey("consumerKey")
+                .consumerSecret("consumerSecret")
+                .passKey("bfb279f9aa9bdbcf158e97dd71a467cd2e0c893059b10f78e6b72ada1ed2c919")
+                .httpTransport(httpTransport)
+                .accessTokenCache(new AccessTokenCache());
+        stkPushRequest = StkPushRequest.builder()
+                .stkTransactionType(STKTransactionType.PAY_BILL)
+                .businessShortCode(174379)
+                .amount(1)
+                .phoneNumber(254708374149L)
+                .callbackURL("https://mydomain.com/mpesa/stk/callback")
+                .accountReference("INV-00001")
+                .transactionDesc("Invoice payment")
+                .build();
+        mpesaClient.stkSend(stkPushRequest);
+        virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+        platformPool = Executors.newFixedThreadPool(concurrency);
+        blockingCalls = new ArrayList<>(Collections.nCopies(concurrency, () -> mpesaClient.stkSend(stkPushRequest)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        virtualThreads.close();
+        platformPool.close();
+        httpTransport.close();
+        stubServer.close();
+    }
+
+    /**
+     * Thread-per-request model, each blocking call on its own virtual thread
+     */
+    @Benchmark
+    public Object blockingOnVirtualThreads() throws Exception {
+        return awaitAll(virtualThreads.invokeAll(blockingCalls));
+    }
+
+    /**
+     * Thread-per-request model on a platform thread pool sized to the burst
+     */
+    @Benchmark
+    public Object blockingOnPlatformPool() throws Exception {
+        return awaitAll(platformPool.invokeAll(blockingCalls));
+    }
+
+    /**
+     * Async model, every call of the burst in flight from the benchmark thread
+     */
+    @Benchmark
+    public Object async() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            futures[i] = mpesaClient.stkSendAsync(stkPushRequest);
+        }
+        return CompletableFuture.allOf(futures).join();
+    }
+
+    private static Object awaitAll(List<Future<MpesaResponse>> futures) throws Exception {
+        Object last = null;
+        for (Future<MpesaResponse> future : futures) {
+            last = future.get();
+        }
+        return last;
+    }
+}
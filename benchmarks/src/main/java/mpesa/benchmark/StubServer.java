@@ -0,0 +1,52 @@
+package mpesa.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local DARAJA stub answering the auth and STK push endpoints with canned responses
+ */
+final class StubServer implements AutoCloseable {
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+
+    StubServer() throws IOException {
+        // without TCP_NODELAY the stub's split header and body writes stall on delayed acks
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/oauth/v1/generate", exchange -> respond(exchange, Payloads.ACCESS_TOKEN));
+        httpServer.createContext("/mpesa/stkpush/v1/processrequest", exchange -> respond(exchange, Payloads.STK_SEND_RESPONSE));
+        httpServer.start();
+    }
+
+    /**
+     * @return Base url to hand to MpesaClient.baseUrl
+     */
+    String baseUrl() {
+        return "http://127.0.0.1:" + httpServer.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        try (exchange; InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.transferTo(OutputStream.nullOutputStream());
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executor.close();
+    }
+}
@@ -1,9 +1,10 @@
 package base;
 
+import base.jfr.HttpCallEvent;
+import base.jfr.JsonParseEvent;
+import base.jfr.JsonSerializeEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectReader;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 
@@ -12,8 +13,15 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static java.net.http.HttpRequest.newBuilder;
 
@@ -25,46 +33,74 @@ import static java.net.http.HttpRequest.newBuilder;
 @Builder(toBuilder = true)
 @AllArgsConstructor
 public class ApiClient<T extends Request, S extends Response> implements AutoCloseable {
-    private final String POJO_EMPTY_JSON_RES = """
+    private static final byte[] POJO_EMPTY_JSON_RES = """
             {"message":"no content"}
-            """;
-    private final String LIST_EMPTY_JSON_RES= """
+            """.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LIST_EMPTY_JSON_RES = """
             [{"message":"no content"}]
-            """;
+            """.getBytes(StandardCharsets.UTF_8);
     private String authorization;
     private List<Header> headers;
     private String baseUri;
     private T reqClass;
     private Class<S> responseClass;
-    private ObjectMapper objectMapper;
-    private TypeFactory typeFactory;
+    private JsonCodec jsonCodec;
     private HttpClient httpClient;
+    private boolean sharedHttpClient;
+    private Executor executor;
+    private RetryPolicy retryPolicy;
+    private CircuitBreaker circuitBreaker;
+    private Duration requestTimeout;
+    private ExchangeMetrics exchangeMetrics;
+    private List<Interceptor> interceptors;
 
     /**
      * No Args constructor
      */
     public ApiClient() {
-        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
-        typeFactory = objectMapper.getTypeFactory();
+        jsonCodec = JsonCodec.getDefault();
         httpClient = HttpClient.newHttpClient();
     }
 
+    /**
+     * Creates an ApiClient on top of a shared transport, the transport is not closed with this client
+     * @param httpTransport Long-lived transport
+     */
+    public ApiClient(HttpTransport httpTransport) {
+        jsonCodec = JsonCodec.getDefault();
+        httpClient = httpTransport.getHttpClient();
+        executor = httpTransport.getExecutor();
+        requestTimeout = httpTransport.getRequestTimeout();
+        sharedHttpClient = true;
+    }
+
     /**
      * Closes this resource and performs garbage collection
      * @throws Exception When closing the resource
      */
     @Override
     public void close() throws Exception {
-        if (httpClient != null) {
+        if (httpClient != null && !sharedHttpClient) {
             httpClient.close();
         }
     }
 
     /**
-     * Add headers to the request
+     * Codec used to parse responses, the shared default when none was provided
+     * @return JsonCodec
+     */
+    private JsonCodec codec() {
+        return jsonCodec != null ? jsonCodec : JsonCodec.getDefault();
+    }
+
+    /**
+     * Add headers and the request timeout to the request
      * @param builder HttpRequest builder instance
      */
     private void appendHeaders(HttpRequest.Builder builder) {
+        if (requestTimeout != null) {
+            builder.timeout(requestTimeout);
+        }
         if (headers != null && !headers.isEmpty()) {
             for (Header header : headers) {
                 builder.header(header.headerName(), header.headerValue());
@@ -87,76 +123,404 @@ public class ApiClient<T extends Request, S extends Response> implements AutoClo
     /**
      * Builds the post request
      * @param uri Resources URI
-     * @param requestBody Body of the request in json format
+     * @param bodyPublisher Body of the request in json format
      * @return HttpRequest instance
      */
-    private HttpRequest createPostRequest(String uri, String requestBody) {
+    private HttpRequest createPostRequest(String uri, HttpRequest.BodyPublisher bodyPublisher) {
         var builder = newBuilder()
                 .uri(URI.create(uri));
         builder.header("Content-Type", ContentType.JSON.getValue());
         appendHeaders(builder);
-        return builder.POST(HttpRequest.BodyPublishers.ofString(requestBody))
+        return builder.POST(bodyPublisher)
                 .build();
     }
 
     /**
      * Parses the response body to list of objects
-     * @param responseBody Json response body as String instance
+     * @param responseBody Raw json response body
      * @return List of objects specified as S
-     * @throws JsonProcessingException When parsing of the json response fails
+     * @throws IOException When parsing of the json response fails
      */
-    private List<S> parseResponseList(String responseBody) throws JsonProcessingException {
-        return objectMapper.readValue(responseBody == null || responseBody.isEmpty()? LIST_EMPTY_JSON_RES :responseBody, typeFactory.constructCollectionType(List.class, responseClass));
+    private List<S> parseResponseList(byte[] responseBody) throws IOException {
+        return parse(codec().listReader(responseClass), responseBody, LIST_EMPTY_JSON_RES);
     }
 
     /**
      * Parses the response body to a single object
-     * @param responseBody
+     * @param responseBody Raw json response body
      * @return Single object instance
-     * @throws JsonProcessingException
+     * @throws IOException When parsing of the json response fails
      */
-    private S parseResponse(String responseBody) throws JsonProcessingException {
-//        return objectMapper.readValue(responseBody, responseClass);
-        return objectMapper.readValue(responseBody == null || responseBody.isEmpty()? POJO_EMPTY_JSON_RES :responseBody, responseClass);
+    private S parseResponse(byte[] responseBody) throws IOException {
+        return parse(codec().reader(responseClass), responseBody, POJO_EMPTY_JSON_RES);
     }
 
     /**
-     * Handles the async response
-     * @param httpResponse The response as a json string
-     * @param isListRes Whether the response is a list
+     * Binds the response body, timing it for the exchange metrics and the JsonParse event when either is active
+     * @param reader Reader for the object or list
+     * @param responseBody Raw json response body
+     * @param emptyResponse Body parsed instead of an empty response
+     * @return Parsed object or list
+     * @throws IOException When parsing of the json response fails
+     */
+    private <R> R parse(ObjectReader reader, byte[] responseBody, byte[] emptyResponse) throws IOException {
+        byte[] json = responseBody == null || responseBody.length == 0 ? emptyResponse : responseBody;
+        JsonParseEvent event = new JsonParseEvent();
+        event.begin();
+        long startedAt = exchangeMetrics != null ? System.nanoTime() : 0;
+        try {
+            return reader.readValue(json);
+        } finally {
+            if (exchangeMetrics != null) {
+                exchangeMetrics.onParse(System.nanoTime() - startedAt);
+            }
+            if (event.shouldCommit()) {
+                event.type = responseClass.getName();
+                event.bytes = json.length;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Serializes the request body, recording a JsonSerialize event when enabled
+     * @return Body publisher of the serialized request
+     */
+    private HttpRequest.BodyPublisher bodyPublisher() {
+        JsonSerializeEvent event = new JsonSerializeEvent();
+        event.begin();
+        HttpRequest.BodyPublisher bodyPublisher = reqClass.getBodyPublisher();
+        if (event.shouldCommit()) {
+            event.type = reqClass.getClass().getName();
+            event.bytes = bodyPublisher.contentLength();
+            event.commit();
+        }
+        return bodyPublisher;
+    }
+
+    /**
+     * Parses the response body to a single object, failures are rethrown as CompletionException
+     * @param httpResponse The response with the raw json body
+     * @return Single object instance
+     */
+    private S parseAsyncResponse(HttpResponse<byte[]> httpResponse) {
+        try {
+            return parseResponse(httpResponse.body());
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Parses the response body to list of objects, failures are rethrown as CompletionException
+     * @param httpResponse The response with the raw json body
+     * @return List of objects specified as S
+     */
+    private List<S> parseAsyncResponseList(HttpResponse<byte[]> httpResponse) {
+        try {
+            return parseResponseList(httpResponse.body());
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Hands the outcome of an async request to the callback, reporting each failure exactly once
+     * @param result Parsed object or list, null on failure
+     * @param throwable Failure, null on success
      * @param callback Implementation that handles the response as an async operation
      */
-    private void handleAsyncResponse(HttpResponse<String> httpResponse, boolean isListRes, Callback<S> callback) {
-        CompletableFuture.runAsync(() -> {
+    @SuppressWarnings("unchecked")
+    private void deliver(Object result, Throwable throwable, Callback<S> callback) {
+        if (throwable == null) {
             try {
-                if (isListRes) {
-                    callback.onResponse(parseResponseList(httpResponse.body()));
+                if (result instanceof List<?> list) {
+                    callback.onResponse((List<S>) list);
                 } else {
-                    callback.onResponse(parseResponse(httpResponse.body()));
+                    callback.onResponse((S) result);
                 }
-            } catch (JsonProcessingException e) {
-                callback.onError(e);
+                return;
+            } catch (Throwable callbackError) {
+                throwable = callbackError;
+            }
+        }
+        callback.onError(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+    }
+
+    /**
+     * Executor that parses async responses
+     * @return Executor
+     */
+    private Executor executor() {
+        return executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Runs the request through the interceptors, if any, around makeRequest(...)
+     * @param httpRequest The request
+     * @return HttpResponse with the raw body
+     * @throws IOException When making the request
+     * @throws InterruptedException When making the request
+     */
+    private HttpResponse<byte[]> exchange(HttpRequest httpRequest) throws IOException, InterruptedException {
+        if (interceptors == null || interceptors.isEmpty()) {
+            return makeRequest(httpRequest);
+        }
+        long startedAt = System.nanoTime();
+        HttpResponse<byte[]> httpResponse = null;
+        int reached = 0;
+        try {
+            while (httpResponse == null && reached < interceptors.size()) {
+                Interceptor interceptor = interceptors.get(reached);
+                httpRequest = interceptor.onRequest(httpRequest);
+                httpResponse = interceptor.shortCircuit(httpRequest);
+                reached++;
+            }
+            if (httpResponse == null) {
+                httpResponse = makeRequest(httpRequest);
             }
-        }).exceptionally(throwable -> {
-            callback.onError(throwable);
-            return null;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            onError(httpRequest, e, reached, startedAt);
+            throw e;
+        }
+        return onResponse(httpRequest, httpResponse, reached, startedAt);
+    }
+
+    /**
+     * Non blocking variant of exchange(...)
+     * @param httpRequest The request
+     * @return Future of the HttpResponse with the raw body
+     */
+    private CompletableFuture<HttpResponse<byte[]>> exchangeAsync(HttpRequest httpRequest) {
+        if (interceptors == null || interceptors.isEmpty()) {
+            return makeAsyncRequest(httpRequest);
+        }
+        long startedAt = System.nanoTime();
+        HttpResponse<byte[]> httpResponse = null;
+        int reached = 0;
+        try {
+            while (httpResponse == null && reached < interceptors.size()) {
+                Interceptor interceptor = interceptors.get(reached);
+                httpRequest = interceptor.onRequest(httpRequest);
+                httpResponse = interceptor.shortCircuit(httpRequest);
+                reached++;
+            }
+            if (httpResponse != null) {
+                return CompletableFuture.completedFuture(onResponse(httpRequest, httpResponse, reached, startedAt));
+            }
+        } catch (RuntimeException e) {
+            onError(httpRequest, e, reached, startedAt);
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpRequest sent = httpRequest;
+        int intercepted = reached;
+        return makeAsyncRequest(sent).handle((response, throwable) -> {
+            if (throwable != null) {
+                onError(sent, throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable, intercepted, startedAt);
+                throw throwable instanceof CompletionException completionException ? completionException : new CompletionException(throwable);
+            }
+            return onResponse(sent, response, intercepted, startedAt);
         });
     }
 
+    /**
+     * Hands the response to the interceptors that saw the request, in reverse order
+     * @param httpRequest Request as sent
+     * @param httpResponse The response
+     * @param reached Number of interceptors that saw the request
+     * @param startedAt Start of the exchange
+     * @return The response returned by the first interceptor
+     */
+    private HttpResponse<byte[]> onResponse(HttpRequest httpRequest, HttpResponse<byte[]> httpResponse, int reached, long startedAt) {
+        long durationNanos = System.nanoTime() - startedAt;
+        for (int i = reached - 1; i >= 0; i--) {
+            httpResponse = interceptors.get(i).onResponse(httpRequest, httpResponse, durationNanos);
+        }
+        return httpResponse;
+    }
+
+    /**
+     * Reports a failed exchange to the interceptors that saw the request, in reverse order
+     * @param httpRequest Request as sent
+     * @param throwable The failure
+     * @param reached Number of interceptors that saw the request
+     * @param startedAt Start of the exchange
+     */
+    private void onError(HttpRequest httpRequest, Throwable throwable, int reached, long startedAt) {
+        long durationNanos = System.nanoTime() - startedAt;
+        for (int i = reached - 1; i >= 0; i--) {
+            interceptors.get(i).onError(httpRequest, throwable, durationNanos);
+        }
+    }
+
     /**
      * Makes the actual request
      * @param httpRequest
-     * @return HttpResponse as String
+     * @return HttpResponse with the raw body
+     * @throws IOException When making the request
+     * @throws InterruptedException When making the request
+     */
+    private HttpResponse<byte[]> makeRequest(HttpRequest httpRequest) throws IOException, InterruptedException {
+        if (retryPolicy == null) {
+            return send(httpRequest);
+        }
+        retryPolicy.recordRequest();
+        for (int attempt = 1; ; attempt++) {
+            Duration retryDelay;
+            try {
+                HttpResponse<byte[]> httpResponse = send(httpRequest);
+                retryDelay = retryPolicy.retryDelay(attempt, httpResponse);
+                if (retryDelay == null) {
+                    return httpResponse;
+                }
+            } catch (IOException e) {
+                retryDelay = retryPolicy.retryDelay(attempt, e);
+                if (retryDelay == null) {
+                    throw e;
+                }
+            }
+            Thread.sleep(retryDelay);
+        }
+    }
+
+    /**
+     * Sends a single attempt, recording an HttpCall event when enabled
+     * @param httpRequest The request
+     * @return HttpResponse with the raw body
      * @throws IOException When making the request
      * @throws InterruptedException When making the request
+     * @throws CallNotPermittedException When the circuit breaker is open
      */
-    private HttpResponse<String> makeRequest(HttpRequest httpRequest) throws IOException, InterruptedException {
-        HttpResponse<String> httpResponse;
-        httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+    private HttpResponse<byte[]> send(HttpRequest httpRequest) throws IOException, InterruptedException {
+        HttpCallEvent event = new HttpCallEvent();
+        event.begin();
+        HttpResponse<byte[]> httpResponse = null;
+        try {
+            httpResponse = attempt(httpRequest);
+            return httpResponse;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                commit(event, httpRequest, httpResponse);
+            }
+        }
+    }
 
+    /**
+     * Non blocking variant of send(...)
+     * @param httpRequest The request
+     * @return Future of the HttpResponse with the raw body
+     */
+    private CompletableFuture<HttpResponse<byte[]>> sendAsync(HttpRequest httpRequest) {
+        if (!HttpCallEvent.enabled()) {
+            return attemptAsync(httpRequest);
+        }
+        HttpCallEvent event = new HttpCallEvent();
+        event.begin();
+        return attemptAsync(httpRequest).whenComplete((httpResponse, throwable) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                commit(event, httpRequest, throwable == null ? httpResponse : null);
+            }
+        });
+    }
+
+    /**
+     * Fills in and commits the HttpCall event of one attempt
+     * @param event Ended event
+     * @param httpRequest The request
+     * @param httpResponse The response, null when the attempt failed
+     */
+    private static void commit(HttpCallEvent event, HttpRequest httpRequest, HttpResponse<byte[]> httpResponse) {
+        event.method = httpRequest.method();
+        event.endpoint = httpRequest.uri().toString();
+        event.requestBytes = httpRequest.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+        if (httpResponse != null) {
+            event.statusCode = httpResponse.statusCode();
+            event.responseBytes = httpResponse.body() != null ? httpResponse.body().length : 0;
+        }
+        event.commit();
+    }
+
+    /**
+     * Sends a single attempt through the circuit breaker, if any, reporting its duration to the exchange metrics
+     * @param httpRequest The request
+     * @return HttpResponse with the raw body
+     * @throws IOException When making the request
+     * @throws InterruptedException When making the request
+     * @throws CallNotPermittedException When the circuit breaker is open
+     */
+    private HttpResponse<byte[]> attempt(HttpRequest httpRequest) throws IOException, InterruptedException {
+        if (circuitBreaker == null && exchangeMetrics == null) {
+            return httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        }
+        if (circuitBreaker != null) {
+            circuitBreaker.acquirePermission();
+        }
+        long startedAt = System.nanoTime();
+        HttpResponse<byte[]> httpResponse;
+        try {
+            httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            onAttempt(System.nanoTime() - startedAt, null);
+            throw e;
+        } catch (InterruptedException | RuntimeException e) {
+            if (circuitBreaker != null) {
+                circuitBreaker.releasePermission();
+            }
+            throw e;
+        }
+        onAttempt(System.nanoTime() - startedAt, httpResponse);
         return httpResponse;
     }
 
+    /**
+     * Non blocking variant of attempt(...)
+     * @param httpRequest The request
+     * @return Future of the HttpResponse with the raw body
+     */
+    private CompletableFuture<HttpResponse<byte[]>> attemptAsync(HttpRequest httpRequest) {
+        if (circuitBreaker == null && exchangeMetrics == null) {
+            return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        }
+        if (circuitBreaker != null) {
+            try {
+                circuitBreaker.acquirePermission();
+            } catch (CallNotPermittedException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        long startedAt = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> response;
+        try {
+            response = httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            if (circuitBreaker != null) {
+                circuitBreaker.releasePermission();
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+        return response.whenComplete((httpResponse, throwable) -> onAttempt(System.nanoTime() - startedAt, throwable == null ? httpResponse : null));
+    }
+
+    /**
+     * Reports the outcome of one attempt to the circuit breaker and the exchange metrics
+     * @param durationNanos Duration of the attempt
+     * @param httpResponse The response, null when the attempt failed
+     */
+    private void onAttempt(long durationNanos, HttpResponse<?> httpResponse) {
+        if (circuitBreaker != null) {
+            circuitBreaker.onResult(durationNanos, httpResponse == null || isServerError(httpResponse));
+        }
+        if (exchangeMetrics != null) {
+            exchangeMetrics.onHttp(durationNanos, httpResponse != null ? httpResponse.statusCode() : 0);
+        }
+    }
+
+    private static boolean isServerError(HttpResponse<?> httpResponse) {
+        return httpResponse.statusCode() >= 500;
+    }
+
     /**
      * Make async request
      * @param httpRequest The request
@@ -164,12 +528,45 @@ public class ApiClient<T extends Request, S extends Response> implements AutoClo
      * @param callback Implementation to handle async request
      */
     private void makeRequest(HttpRequest httpRequest, boolean isListRes, Callback<S> callback) {
-        httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
-                .thenAcceptAsync(response -> handleAsyncResponse(response, isListRes, callback))
-                .exceptionally(throwable -> {
-                    callback.onError(throwable);
-                    return null;
-                });
+        CompletableFuture<HttpResponse<byte[]>> response = exchangeAsync(httpRequest);
+        if (isListRes) {
+            response.thenApplyAsync(this::parseAsyncResponseList, executor())
+                    .whenComplete((list, throwable) -> deliver(list, throwable, callback));
+        } else {
+            response.thenApplyAsync(this::parseAsyncResponse, executor())
+                    .whenComplete((obj, throwable) -> deliver(obj, throwable, callback));
+        }
+    }
+
+    /**
+     * Sends the request without blocking
+     * @param httpRequest The request
+     * @return Future of the HttpResponse with the raw body
+     */
+    private CompletableFuture<HttpResponse<byte[]>> makeAsyncRequest(HttpRequest httpRequest) {
+        if (retryPolicy == null) {
+            return sendAsync(httpRequest);
+        }
+        retryPolicy.recordRequest();
+        return makeAsyncRequest(httpRequest, 1);
+    }
+
+    /**
+     * Sends one attempt without blocking, scheduling the next attempt when the retry policy allows it
+     * @param httpRequest The request, reused unchanged by every attempt
+     * @param attempt Attempt number starting at 1
+     * @return Future of the final HttpResponse with the raw body
+     */
+    private CompletableFuture<HttpResponse<byte[]>> makeAsyncRequest(HttpRequest httpRequest, int attempt) {
+        return sendAsync(httpRequest).handle((httpResponse, throwable) -> {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            Duration retryDelay = cause == null ? retryPolicy.retryDelay(attempt, httpResponse) : retryPolicy.retryDelay(attempt, cause);
+            if (retryDelay == null) {
+                return cause == null ? CompletableFuture.completedFuture(httpResponse) : CompletableFuture.<HttpResponse<byte[]>>failedFuture(cause);
+            }
+            Executor delayed = CompletableFuture.delayedExecutor(retryDelay.toMillis(), TimeUnit.MILLISECONDS, executor());
+            return CompletableFuture.supplyAsync(() -> attempt + 1, delayed).thenCompose(next -> makeAsyncRequest(httpRequest, next));
+        }).thenCompose(Function.identity());
     }
 
     /**
@@ -179,7 +576,7 @@ public class ApiClient<T extends Request, S extends Response> implements AutoClo
      * @throws InterruptedException During request execution
      */
     public S get() throws IOException, InterruptedException {
-        HttpResponse<String> httpResponse = makeRequest(createGetRequest(baseUri));
+        HttpResponse<byte[]> httpResponse = exchange(createGetRequest(baseUri));
         try {
             return parseResponse(httpResponse.body());
         } catch (JsonProcessingException e) {
@@ -195,7 +592,7 @@ public class ApiClient<T extends Request, S extends Response> implements AutoClo
      * @throws InterruptedException During request execution
      */
     public List<S> get(boolean isListRes) throws IOException, InterruptedException {
-        HttpResponse<String> httpResponse = makeRequest(createGetRequest(baseUri));
+        HttpResponse<byte[]> httpResponse = exchange(createGetRequest(baseUri));
         return parseResponseList(httpResponse.body());
 
     }
@@ -216,8 +613,8 @@ public class ApiClient<T extends Request, S extends Response> implements AutoClo
      * @throws InterruptedException During request execution
      */
     public S post() throws IOException, InterruptedException {
-        HttpRequest httpRequest = createPostRequest(baseUri, reqClass.getPostBody());
-        HttpResponse<String> httpResponse = makeRequest(httpRequest);
+        HttpRequest httpRequest = createPostRequest(baseUri, bodyPublisher());
+        HttpResponse<byte[]> httpResponse = exchange(httpRequest);
         return parseResponse(httpResponse.body());
     }
 
@@ -229,8 +626,8 @@ public class ApiClient<T extends Request, S extends Response> implements AutoClo
      * @throws InterruptedException During request execution
      */
     public List<S> post(boolean isListRes) throws IOException, InterruptedException {
-        HttpRequest httpRequest = createPostRequest(baseUri, reqClass.getPostBody());
-        HttpResponse<String> httpResponse = makeRequest(httpRequest);
+        HttpRequest httpRequest = createPostRequest(baseUri, bodyPublisher());
+        HttpResponse<byte[]> httpResponse = exchange(httpRequest);
         return parseResponseList(httpResponse.body());
     }
 
@@ -240,8 +637,22 @@ public class ApiClient<T extends Request, S extends Response> implements AutoClo
      * @param callback  Implementation to handle async request
      */
     public void post(boolean isListRes, Callback<S> callback) {
-        makeRequest(createPostRequest(baseUri, reqClass.getPostBody()), isListRes, callback);
+        makeRequest(createPostRequest(baseUri, bodyPublisher()), isListRes, callback);
     }
 
+    /**
+     * Async get request, the response is parsed in a single stage on the configured executor
+     * @return Future of a single S object
+     */
+    public CompletableFuture<S> getAsync() {
+        return exchangeAsync(createGetRequest(baseUri)).thenApplyAsync(this::parseAsyncResponse, executor());
+    }
 
+    /**
+     * Async post request, the response is parsed in a single stage on the configured executor
+     * @return Future of a single S object
+     */
+    public CompletableFuture<S> postAsync() {
+        return exchangeAsync(createPostRequest(baseUri, bodyPublisher())).thenApplyAsync(this::parseAsyncResponse, executor());
+    }
 }
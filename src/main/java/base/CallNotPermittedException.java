@@ -0,0 +1,18 @@
+package base;
+
+import java.io.Serial;
+
+/**
+ * Thrown without making the call while a circuit breaker is open
+ */
+public class CallNotPermittedException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message Circuit breaker that refused the call
+     */
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,218 @@
+package base;
+
+import lombok.Builder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Circuit breaker driven by a count based sliding window over the last calls.
+ * CLOSED lets every call through. When at least minimumCalls are in the window and the failure rate or slow call rate
+ * reaches its threshold the breaker moves to OPEN and refuses calls with CallNotPermittedException.
+ * After waitInOpenState it moves to HALF_OPEN, lets permittedCallsInHalfOpenState trial calls through and closes again
+ * or reopens depending on their outcome.
+ */
+public class CircuitBreaker {
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final Config config;
+    private final List<StateListener> stateListeners = new CopyOnWriteArrayList<>();
+    private final byte[] window;
+    private int windowIndex;
+    private int windowSize;
+    private int failedCalls;
+    private int slowCalls;
+    private State state = State.CLOSED;
+    private long openUntilNanos;
+    private int halfOpenPermits;
+
+    /**
+     * Circuit breaker states
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Notified on every state transition, called on the thread that recorded the triggering call
+     */
+    @FunctionalInterface
+    public interface StateListener {
+        /**
+         * @param circuitBreaker Circuit breaker that changed state
+         * @param from           Previous state
+         * @param to             New state
+         */
+        void onStateTransition(CircuitBreaker circuitBreaker, State from, State to);
+    }
+
+    /**
+     * Circuit breaker configuration
+     *
+     * @param slidingWindowSize             Number of most recent calls evaluated, defaults to 50
+     * @param minimumCalls                  Calls needed in the window before rates are evaluated, defaults to 10
+     * @param failureRateThreshold          Percentage of failed calls that opens the breaker, defaults to 50
+     * @param slowCallRateThreshold         Percentage of slow calls that opens the breaker, defaults to 80
+     * @param slowCallDuration              Calls taking at least this long are slow, defaults to 5s
+     * @param waitInOpenState               Time spent OPEN before trial calls are allowed, defaults to 30s
+     * @param permittedCallsInHalfOpenState Trial calls in HALF_OPEN, defaults to 5
+     */
+    @Builder(toBuilder = true)
+    public record Config(int slidingWindowSize, int minimumCalls, float failureRateThreshold, float slowCallRateThreshold,
+                         Duration slowCallDuration, Duration waitInOpenState, int permittedCallsInHalfOpenState) {
+        public Config {
+            slidingWindowSize = slidingWindowSize > 0 ? slidingWindowSize : 50;
+            minimumCalls = minimumCalls > 0 ? Math.min(minimumCalls, slidingWindowSize) : Math.min(10, slidingWindowSize);
+            failureRateThreshold = failureRateThreshold > 0 ? failureRateThreshold : 50;
+            slowCallRateThreshold = slowCallRateThreshold > 0 ? slowCallRateThreshold : 80;
+            slowCallDuration = slowCallDuration != null ? slowCallDuration : Duration.ofSeconds(5);
+            waitInOpenState = waitInOpenState != null ? waitInOpenState : Duration.ofSeconds(30);
+            permittedCallsInHalfOpenState = permittedCallsInHalfOpenState > 0 ? permittedCallsInHalfOpenState : 5;
+        }
+    }
+
+    /**
+     * @param name   Name used in CallNotPermittedException messages
+     * @param config Config
+     */
+    public CircuitBreaker(String name, Config config) {
+        this.name = name;
+        this.config = config;
+        this.window = new byte[config.slidingWindowSize()];
+    }
+
+    /**
+     * @return Name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Config
+     */
+    public Config getConfig() {
+        return config;
+    }
+
+    /**
+     * @return Current state, OPEN turns into HALF_OPEN once waitInOpenState has passed and a call is attempted
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @param stateListener Listener notified on state transitions
+     */
+    public void addStateListener(StateListener stateListener) {
+        stateListeners.add(stateListener);
+    }
+
+    /**
+     * Must be called before each call, every permitted call must be followed by onResult(...) or releasePermission()
+     *
+     * @throws CallNotPermittedException While OPEN or when all HALF_OPEN trial calls are taken
+     */
+    public void acquirePermission() {
+        State from;
+        State to;
+        synchronized (this) {
+            from = state;
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openUntilNanos < 0) {
+                    throw new CallNotPermittedException("Circuit breaker " + name + " is OPEN");
+                }
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits <= 0) {
+                    throw new CallNotPermittedException("Circuit breaker " + name + " is HALF_OPEN with all trial calls in flight");
+                }
+                halfOpenPermits--;
+            }
+            to = state;
+        }
+        notifyTransition(from, to);
+    }
+
+    /**
+     * Returns a permission that did not result in a call, e.g. when the caller was interrupted
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    /**
+     * Records the outcome of a permitted call
+     *
+     * @param durationNanos How long the call took
+     * @param failed        Whether the call failed
+     */
+    public void onResult(long durationNanos, boolean failed) {
+        byte outcome = (byte) ((failed ? FAILED : 0) | (durationNanos >= config.slowCallDuration().toNanos() ? SLOW : 0));
+        State from;
+        State to;
+        synchronized (this) {
+            from = state;
+            if (state == State.OPEN) {
+                return;
+            }
+            record(outcome);
+            if (state == State.HALF_OPEN) {
+                if (windowSize >= config.permittedCallsInHalfOpenState()) {
+                    transition(thresholdsExceeded() ? State.OPEN : State.CLOSED);
+                }
+            } else if (windowSize >= config.minimumCalls() && thresholdsExceeded()) {
+                transition(State.OPEN);
+            }
+            to = state;
+        }
+        notifyTransition(from, to);
+    }
+
+    private void record(byte outcome) {
+        if (windowSize == window.length) {
+            byte evicted = window[windowIndex];
+            failedCalls -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            windowSize++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        failedCalls += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+    }
+
+    private boolean thresholdsExceeded() {
+        return failedCalls * 100f / windowSize >= config.failureRateThreshold()
+                || slowCalls * 100f / windowSize >= config.slowCallRateThreshold();
+    }
+
+    private void transition(State to) {
+        state = to;
+        windowIndex = 0;
+        windowSize = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        if (to == State.OPEN) {
+            openUntilNanos = System.nanoTime() + config.waitInOpenState().toNanos();
+        } else if (to == State.HALF_OPEN) {
+            halfOpenPermits = config.permittedCallsInHalfOpenState();
+        }
+    }
+
+    private void notifyTransition(State from, State to) {
+        if (from != to) {
+            for (StateListener stateListener : stateListeners) {
+                stateListener.onStateTransition(this, from, to);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package base;
+
+/**
+ * Observes the phases of ApiClient exchanges, used to split time spent on the wire from time spent parsing
+ */
+public interface ExchangeMetrics {
+    /**
+     * Called once per attempt, retries included
+     *
+     * @param durationNanos Time from sending the request to receiving the whole body
+     * @param statusCode    Http status, 0 when the attempt failed without a response
+     */
+    void onHttp(long durationNanos, int statusCode);
+
+    /**
+     * @param durationNanos Time spent parsing the response body
+     */
+    void onParse(long durationNanos);
+}
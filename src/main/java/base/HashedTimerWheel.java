@@ -0,0 +1,164 @@
+package base;
+
+import lombok.Builder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timer wheel for large numbers of coarse timeouts.
+ * One daemon thread advances the wheel every tick, scheduling and cancelling are O(1) and expired tasks are handed
+ * to an executor so slow tasks never delay the wheel. Tasks fire at most one tick late.
+ */
+public class HashedTimerWheel implements AutoCloseable {
+    private final long tickNanos;
+    private final List<Timeout>[] wheel;
+    private final int mask;
+    private final Executor executor;
+    private final ConcurrentLinkedQueue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Thread worker;
+    private final long startedAt;
+    private volatile boolean running = true;
+
+    /**
+     * Handle of a scheduled task
+     */
+    public static final class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Prevents the task from running if it has not run yet
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * @return Whether cancel() was called
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Creates and starts the wheel
+     *
+     * @param tickDuration Resolution of the wheel, defaults to 100ms
+     * @param wheelSize    Number of buckets, rounded up to a power of two, defaults to 512
+     * @param executor     Runs expired tasks, defaults to the common pool
+     */
+    @Builder
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private HashedTimerWheel(Duration tickDuration, int wheelSize, Executor executor) {
+        this.tickNanos = tickDuration != null ? tickDuration.toNanos() : TimeUnit.MILLISECONDS.toNanos(100);
+        int buckets = Integer.highestOneBit(Math.max(wheelSize > 0 ? wheelSize : 512, 2) - 1) << 1;
+        this.wheel = new List[buckets];
+        for (int i = 0; i < buckets; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.mask = buckets - 1;
+        this.executor = executor != null ? executor : ForkJoinPool.commonPool();
+        this.startedAt = System.nanoTime();
+        this.worker = Thread.ofPlatform().daemon().name("mpesa-timer-wheel").start(this::run);
+    }
+
+    /**
+     * Schedules a task
+     *
+     * @param task  Task
+     * @param delay Delay before the task runs
+     * @return Timeout that can cancel the task
+     */
+    public Timeout schedule(Runnable task, Duration delay) {
+        if (!running) {
+            throw new IllegalStateException("Timer wheel is closed");
+        }
+        Timeout timeout = new Timeout(task, System.nanoTime() - startedAt + Math.max(delay.toNanos(), 0));
+        size.incrementAndGet();
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return Tasks scheduled and not yet run or discarded after cancellation
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Stops the wheel, tasks that have not run yet are discarded
+     */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        long tick = 0;
+        while (running) {
+            long tickDeadline = (tick + 1) * tickNanos;
+            long sleepNanos = tickDeadline - (System.nanoTime() - startedAt);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                }
+            }
+            transferPending(tick);
+            expire(wheel[(int) (tick & mask)], tickDeadline);
+            tick++;
+        }
+    }
+
+    private void transferPending(long tick) {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                size.decrementAndGet();
+                continue;
+            }
+            long ticks = Math.max(timeout.deadline / tickNanos, tick);
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expire(List<Timeout> bucket, long tickDeadline) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.cancelled) {
+                iterator.remove();
+                size.decrementAndGet();
+            } else if (timeout.remainingRounds <= 0 && timeout.deadline <= tickDeadline) {
+                iterator.remove();
+                size.decrementAndGet();
+                executor.execute(timeout.task);
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+}
@@ -1,9 +1,7 @@
 package base;
 
+import base.jfr.SecurityCredentialEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
@@ -16,6 +14,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
@@ -27,6 +26,7 @@ import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Generic helper class for common functions
@@ -48,6 +48,21 @@ public class Helpers {
      */
     public static final String MPESA_CERT_PROD = "mpesa/ProductionCertificate.cer";
 
+    /**
+     * public keys of the certificates loaded so far, keyed by certificate path
+     */
+    private static final Map<String, PublicKey> PUBLIC_KEYS = new ConcurrentHashMap<>();
+
+    /**
+     * most date patterns cached, patterns past this are built on every call
+     */
+    private static final int MAX_FORMATTERS = 16;
+
+    /**
+     * formatters of the first date patterns used
+     */
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
     /**
      * Not allowed to instantiate this class
      */
@@ -64,10 +79,7 @@ public class Helpers {
      * @throws JsonProcessingException While parsing the json
      */
     public static <T> List<T> jsonToList(Class<T> elementType, String json) throws JsonProcessingException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        TypeFactory typeFactory = objectMapper.getTypeFactory();
-        return objectMapper.readValue(json, typeFactory.constructCollectionType(List.class, elementType));
+        return JsonCodec.getDefault().listReader(elementType).readValue(json);
     }
 
     /**
@@ -80,9 +92,7 @@ public class Helpers {
      * @throws JsonProcessingException While parsing the json
      */
     public static <T> T jsonToPOJO(Class<T> elementType, String json) throws JsonProcessingException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        return objectMapper.readValue(json, elementType);
+        return JsonCodec.getDefault().reader(elementType).readValue(json);
     }
 
     /**
@@ -94,9 +104,8 @@ public class Helpers {
      * @throws JsonProcessingException While processing
      */
     public static <T> String objToString(T data) throws JsonProcessingException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        return new ObjectMapper().writeValueAsString(data);
+        return data == null ? JsonCodec.getDefault().writer().writeValueAsString(null)
+                : JsonCodec.getDefault().writer(data.getClass()).writeValueAsString(data);
     }
 
     /**
@@ -108,9 +117,7 @@ public class Helpers {
      * @throws JsonProcessingException While processing
      */
     public static <T> String objToString(List<T> data) throws JsonProcessingException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        return new ObjectMapper().writeValueAsString(data);
+        return JsonCodec.getDefault().writer().writeValueAsString(data);
     }
 
     /**
@@ -177,7 +184,7 @@ public class Helpers {
      * @return formatted date as string
      */
     public static String formatDateTime(LocalDateTime dateTime) {
-        return dateTime.format(DateTimeFormatter.ofPattern(MPESA_TIMESTAMP_FORMAT));
+        return MpesaTimestamp.format(dateTime);
     }
 
     /**
@@ -188,7 +195,7 @@ public class Helpers {
      * @return formatted date as string
      */
     public static String formatDateTime(LocalDateTime dateTime, String pattern) {
-        return dateTime.format(DateTimeFormatter.ofPattern(pattern));
+        return MPESA_TIMESTAMP_FORMAT.equals(pattern) ? MpesaTimestamp.format(dateTime) : dateTime.format(formatter(pattern));
     }
 
     /**
@@ -207,7 +214,7 @@ public class Helpers {
      * @return Instant
      */
     public static Instant formatDateTimeToInstant(String dateTime, String pattern) {
-        return formatDateTimeToInstant(LocalDateTime.parse(dateTime, DateTimeFormatter.ofPattern(pattern)));
+        return formatDateTimeToInstant(MPESA_TIMESTAMP_FORMAT.equals(pattern) ? MpesaTimestamp.parse(dateTime) : LocalDateTime.parse(dateTime, formatter(pattern)));
     }
 
     /**
@@ -226,7 +233,24 @@ public class Helpers {
      * @return formatted date as string
      */
     public static String formatDateTime(String pattern) {
-        return formatDateTime(LocalDateTime.now(), pattern);
+        return MPESA_TIMESTAMP_FORMAT.equals(pattern) ? MpesaTimestamp.now() : formatDateTime(LocalDateTime.now(), pattern);
+    }
+
+    /**
+     * DateTimeFormatter for the pattern, cached for the first MAX_FORMATTERS patterns
+     *
+     * @param pattern Date string pattern
+     * @return DateTimeFormatter
+     */
+    private static DateTimeFormatter formatter(String pattern) {
+        DateTimeFormatter formatter = FORMATTERS.get(pattern);
+        if (formatter == null) {
+            formatter = DateTimeFormatter.ofPattern(pattern);
+            if (FORMATTERS.size() < MAX_FORMATTERS) {
+                FORMATTERS.putIfAbsent(pattern, formatter);
+            }
+        }
+        return formatter;
     }
 
     /**
@@ -244,23 +268,46 @@ public class Helpers {
      * @throws BadPaddingException       While processing
      */
     public static String generateSecurityCredentials(String password, String certificatePath) throws IOException, CertificateException, NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        // Load certificate
-        InputStream certificateInputStream = Helpers.class.getClassLoader().getResourceAsStream(certificatePath);
-        CertificateFactory certificateFactory = CertificateFactory.getInstance("X.509");
-        X509Certificate certificate = (X509Certificate) certificateFactory.generateCertificate(certificateInputStream);
-
-        if (certificateInputStream != null) {
-            certificateInputStream.close();
-        }
-
+        SecurityCredentialEvent event = new SecurityCredentialEvent();
+        event.begin();
         // Create Cipher instance
         Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding");
-        cipher.init(Cipher.ENCRYPT_MODE, certificate.getPublicKey());
+        cipher.init(Cipher.ENCRYPT_MODE, loadPublicKey(certificatePath));
 
         // Encrypt password
         byte[] encryptedPassword = cipher.doFinal(password.getBytes());
 
         // Base64 encode the encrypted password
-        return Base64.getEncoder().encodeToString(encryptedPassword);
+        String securityCredential = Base64.getEncoder().encodeToString(encryptedPassword);
+        if (event.shouldCommit()) {
+            event.certificatePath = certificatePath;
+            event.commit();
+        }
+        return securityCredential;
+    }
+
+    /**
+     * Loads the public key of a classpath certificate, each certificate is only read and parsed once
+     *
+     * @param certificatePath development or production certificate
+     * @return PublicKey
+     * @throws IOException          When the certificate cannot be read
+     * @throws CertificateException When the certificate cannot be parsed
+     */
+    public static PublicKey loadPublicKey(String certificatePath) throws IOException, CertificateException {
+        PublicKey publicKey = PUBLIC_KEYS.get(certificatePath);
+        if (publicKey != null) {
+            return publicKey;
+        }
+        try (InputStream certificateInputStream = Helpers.class.getClassLoader().getResourceAsStream(certificatePath)) {
+            if (certificateInputStream == null) {
+                throw new IOException("Certificate not found: " + certificatePath);
+            }
+            CertificateFactory certificateFactory = CertificateFactory.getInstance("X.509");
+            X509Certificate certificate = (X509Certificate) certificateFactory.generateCertificate(certificateInputStream);
+            publicKey = certificate.getPublicKey();
+        }
+        PublicKey existing = PUBLIC_KEYS.putIfAbsent(certificatePath, publicKey);
+        return existing != null ? existing : publicKey;
     }
 }
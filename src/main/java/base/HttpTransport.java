@@ -0,0 +1,65 @@
+package base;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Long-lived http transport that can be shared by many ApiClient instances.
+ * Connections (keep-alive and HTTP/2 streams) are reused until the transport is closed.
+ */
+@Getter
+public class HttpTransport implements AutoCloseable {
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final Executor executor;
+    private final boolean virtualThreads;
+    private final Duration requestTimeout;
+    @Getter(AccessLevel.NONE)
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Creates the transport
+     * @param httpVersion Preferred http version, defaults to HTTP/2 with fallback to HTTP/1.1
+     * @param connectTimeout Connect timeout, no timeout when null
+     * @param executor Executor for the underlying HttpClient and for parsing async responses, defaults when null
+     * @param virtualThreads When no executor is given, run the HttpClient, response parsing and Callback dispatch on one virtual thread per task
+     * @param requestTimeout Time allowed for each request to receive its response, defaults to 30s
+     */
+    @Builder
+    private HttpTransport(HttpClient.Version httpVersion, Duration connectTimeout, Executor executor, boolean virtualThreads, Duration requestTimeout) {
+        this.ownedExecutor = executor == null && virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.executor = ownedExecutor != null ? ownedExecutor : executor;
+        this.virtualThreads = ownedExecutor != null;
+        this.requestTimeout = requestTimeout != null ? requestTimeout : DEFAULT_REQUEST_TIMEOUT;
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(httpVersion != null ? httpVersion : HttpClient.Version.HTTP_2);
+        if (connectTimeout != null) {
+            builder.connectTimeout(connectTimeout);
+        }
+        if (this.executor != null) {
+            builder.executor(this.executor);
+        }
+        this.httpClient = builder.build();
+    }
+
+    /**
+     * Closes the underlying HttpClient and all pooled connections.
+     * An executor provided through the builder is not shut down, the virtual thread executor created for virtualThreads is.
+     */
+    @Override
+    public void close() {
+        httpClient.close();
+        if (ownedExecutor != null) {
+            ownedExecutor.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package base;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Hook around each ApiClient exchange, on both the sync and async paths.
+ * Interceptors run in list order before the request is sent and in reverse order once the exchange completes,
+ * so the first interceptor wraps all the others. An exchange covers every retry attempt of the request.
+ * The same instance serves concurrent exchanges, so implementations must be thread safe.
+ */
+public interface Interceptor {
+    /**
+     * Called before the request is sent
+     *
+     * @param request Request as built by ApiClient or returned by the previous interceptor
+     * @return The request to send, the given one or a copy made with HttpRequest.newBuilder(request, filter)
+     */
+    default HttpRequest onRequest(HttpRequest request) {
+        return request;
+    }
+
+    /**
+     * Called right after onRequest(...), a non null response ends the exchange without sending the request.
+     * The remaining interceptors are skipped, those that already ran still get onResponse(...)
+     *
+     * @param request Request returned by onRequest(...)
+     * @return Response to use instead of sending the request, e.g. a cached one, null to continue
+     */
+    default HttpResponse<byte[]> shortCircuit(HttpRequest request) {
+        return null;
+    }
+
+    /**
+     * Called once the exchange completes with a response
+     *
+     * @param request       Request as sent, after every interceptor
+     * @param response      Response as received or returned by the next interceptor
+     * @param durationNanos Time from the start of the exchange, interceptors and retries included
+     * @return The response handed on, the given one or a replacement
+     */
+    default HttpResponse<byte[]> onResponse(HttpRequest request, HttpResponse<byte[]> response, long durationNanos) {
+        return response;
+    }
+
+    /**
+     * Called once the exchange fails without a response, the failure is rethrown after every interceptor was notified
+     *
+     * @param request       Request as sent, after every interceptor
+     * @param throwable     The failure
+     * @param durationNanos Time from the start of the exchange, interceptors and retries included
+     */
+    default void onError(HttpRequest request, Throwable throwable, long durationNanos) {
+    }
+}
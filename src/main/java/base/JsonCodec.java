@@ -0,0 +1,91 @@
+package base;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared Jackson configuration used by ApiClient and Helpers.
+ * ObjectReader and ObjectWriter instances are immutable and thread safe, so one instance per type is built
+ * and reused, keeping Jackson's serializer and deserializer caches warm across requests.
+ */
+public final class JsonCodec {
+    private static final JsonCodec DEFAULT = new JsonCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final ConcurrentHashMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, ObjectReader> listReaders = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * @param objectMapper Fully configured mapper, it must not be modified afterwards
+     */
+    private JsonCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer();
+    }
+
+    /**
+     * Codec configured with the JavaTimeModule
+     *
+     * @return JsonCodec
+     */
+    public static JsonCodec getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Reader for a single object
+     *
+     * @param type Object class
+     * @return ObjectReader
+     */
+    public ObjectReader reader(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    /**
+     * Reader for a json array of objects
+     *
+     * @param elementType Element class
+     * @return ObjectReader
+     */
+    public ObjectReader listReader(Class<?> elementType) {
+        return listReaders.computeIfAbsent(elementType,
+                key -> objectMapper.readerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, key)));
+    }
+
+    /**
+     * Writer bound to a root type
+     *
+     * @param type Object class
+     * @return ObjectWriter
+     */
+    public ObjectWriter writer(Class<?> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    /**
+     * Writer that resolves the type of each value
+     *
+     * @return ObjectWriter
+     */
+    public ObjectWriter writer() {
+        return writer;
+    }
+
+    /**
+     * Factory for streaming parsers and generators
+     *
+     * @return JsonFactory
+     */
+    public JsonFactory getFactory() {
+        return objectMapper.getFactory();
+    }
+}
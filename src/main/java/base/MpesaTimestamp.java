@@ -0,0 +1,117 @@
+package base;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+
+/**
+ * Fixed width codec for the M-Pesa timestamp format yyyyMMddHHmmss.
+ * Digits are written and read directly, no DateTimeFormatter is built or consulted.
+ * The current timestamp is cached per second, so a burst of requests within one second shares one String.
+ * Parsing resolves like the SMART DateTimeFormatter it replaces: a day 29-31 past the end of the month is clamped
+ * to the last day and 24:00:00 reads as midnight of the next day.
+ */
+public final class MpesaTimestamp {
+    private static final int LENGTH = 14;
+
+    private static volatile Current current = new Current(Long.MIN_VALUE, null);
+
+    private record Current(long epochSecond, String timestamp) {
+    }
+
+    private MpesaTimestamp() {
+    }
+
+    /**
+     * Current local time formatted as yyyyMMddHHmmss, the same instance is returned within one second
+     *
+     * @return timestamp
+     */
+    public static String now() {
+        long epochSecond = System.currentTimeMillis() / 1000;
+        Current cached = current;
+        if (cached.epochSecond() == epochSecond) {
+            return cached.timestamp();
+        }
+        ZoneId zoneId = ZoneId.systemDefault();
+        String timestamp = format(LocalDateTime.ofEpochSecond(epochSecond, 0, zoneId.getRules().getOffset(Instant.ofEpochSecond(epochSecond))));
+        current = new Current(epochSecond, timestamp);
+        return timestamp;
+    }
+
+    /**
+     * @param dateTime LocalDateTime with a four digit year
+     * @return timestamp yyyyMMddHHmmss
+     */
+    public static String format(LocalDateTime dateTime) {
+        char[] chars = new char[LENGTH];
+        write(chars, 0, dateTime.getYear(), 4);
+        write(chars, 4, dateTime.getMonthValue(), 2);
+        write(chars, 6, dateTime.getDayOfMonth(), 2);
+        write(chars, 8, dateTime.getHour(), 2);
+        write(chars, 10, dateTime.getMinute(), 2);
+        write(chars, 12, dateTime.getSecond(), 2);
+        return new String(chars);
+    }
+
+    /**
+     * @param timestamp yyyyMMddHHmmss
+     * @return LocalDateTime
+     * @throws DateTimeParseException When the text is not 14 digits or not a valid date time
+     */
+    public static LocalDateTime parse(CharSequence timestamp) {
+        if (timestamp == null || timestamp.length() != LENGTH) {
+            throw new DateTimeParseException("Expected " + LENGTH + " digits yyyyMMddHHmmss", timestamp == null ? "" : timestamp, 0);
+        }
+        long value = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            char digit = timestamp.charAt(i);
+            if (digit < '0' || digit > '9') {
+                throw new DateTimeParseException("Expected " + LENGTH + " digits yyyyMMddHHmmss", timestamp, i);
+            }
+            value = value * 10 + (digit - '0');
+        }
+        return toLocalDateTime(value, timestamp);
+    }
+
+    /**
+     * @param timestamp yyyyMMddHHmmss as a number, e.g. the TransactionDate of an STK callback
+     * @return LocalDateTime
+     * @throws DateTimeParseException When the number is not a valid date time
+     */
+    public static LocalDateTime parse(long timestamp) {
+        return toLocalDateTime(timestamp, null);
+    }
+
+    private static LocalDateTime toLocalDateTime(long value, CharSequence text) {
+        long yearValue = value / 10_000_000_000L;
+        int month = (int) (value / 100_000_000 % 100);
+        int day = (int) (value / 1_000_000 % 100);
+        int hour = (int) (value / 10_000 % 100);
+        int minute = (int) (value / 100 % 100);
+        int second = (int) (value % 100);
+        try {
+            int year = ChronoField.YEAR_OF_ERA.checkValidIntValue(yearValue);
+            if (day > 28 && day <= 31) {
+                day = Math.min(day, YearMonth.of(year, month).lengthOfMonth());
+            }
+            if (hour == 24 && minute == 0 && second == 0) {
+                return LocalDateTime.of(year, month, day, 0, 0).plusDays(1);
+            }
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException(e.getMessage(), text != null ? text : Long.toString(value), 0, e);
+        }
+    }
+
+    private static void write(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package base;
+
+import java.io.Serial;
+
+/**
+ * Thrown when a rate limiter cannot hand out a permit without exceeding its configured wait or queue depth
+ */
+public class RateLimitExceededException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message Reason the permit was refused
+     */
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,212 @@
+package base;
+
+import lombok.Builder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket rate limiter.
+ * Permits are refilled at permitsPerSecond up to burst stored permits. Callers that find the bucket empty take a
+ * permit on credit and wait until it has been refilled, so waiting callers are served in arrival order at exactly the configured rate.
+ */
+public class RateLimiter {
+    private static final int DEFAULT_MAX_QUEUE_DEPTH = 16;
+
+    private final Config config;
+    private final long intervalNanos;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private double storedPermits;
+    private long lastRefillNanos;
+
+    /**
+     * What a caller does when no permit is available
+     */
+    public enum Mode {
+        /**
+         * Wait for the next permit however long it takes
+         */
+        BLOCK,
+        /**
+         * Throw RateLimitExceededException immediately
+         */
+        FAIL_FAST,
+        /**
+         * Wait in a queue of at most maxQueueDepth callers, throw RateLimitExceededException when the queue is full
+         */
+        QUEUE
+    }
+
+    /**
+     * Limiter configuration
+     *
+     * @param permitsPerSecond Sustained rate
+     * @param burst            Permits that can be stored while idle and handed out at once, defaults to 1
+     * @param mode             Behaviour when no permit is available, defaults to BLOCK
+     * @param maxQueueDepth    Maximum waiting callers in QUEUE mode, defaults to 16
+     */
+    @Builder(toBuilder = true)
+    public record Config(double permitsPerSecond, int burst, Mode mode, int maxQueueDepth) {
+        public Config {
+            if (permitsPerSecond <= 0) {
+                throw new IllegalArgumentException("permitsPerSecond must be positive");
+            }
+            if (maxQueueDepth < 0) {
+                throw new IllegalArgumentException("maxQueueDepth must be positive");
+            }
+            burst = Math.max(burst, 1);
+            mode = mode != null ? mode : Mode.BLOCK;
+            maxQueueDepth = maxQueueDepth > 0 ? maxQueueDepth : DEFAULT_MAX_QUEUE_DEPTH;
+        }
+    }
+
+    /**
+     * Creates a limiter with a full bucket
+     *
+     * @param config Config
+     */
+    public RateLimiter(Config config) {
+        this.config = config;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.permitsPerSecond());
+        this.storedPermits = config.burst();
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * @return Config
+     */
+    public Config getConfig() {
+        return config;
+    }
+
+    /**
+     * Takes a permit, waiting according to the configured mode
+     *
+     * @throws InterruptedException       When interrupted while waiting
+     * @throws RateLimitExceededException When the mode does not allow waiting this long
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                cancel();
+                throw e;
+            } finally {
+                queueDepth.decrementAndGet();
+            }
+        }
+        acquired.increment();
+    }
+
+    /**
+     * Takes a permit without blocking the calling thread
+     *
+     * @return Future completed once the permit is granted, failed with RateLimitExceededException when the mode
+     * does not allow waiting this long
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        long waitNanos;
+        try {
+            waitNanos = reserve();
+        } catch (RateLimitExceededException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (waitNanos <= 0) {
+            acquired.increment();
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+            queueDepth.decrementAndGet();
+            acquired.increment();
+        }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Takes a permit only if one is available right now, regardless of the configured mode
+     *
+     * @return Whether a permit was taken
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (storedPermits < 1) {
+            rejected.increment();
+            return false;
+        }
+        storedPermits -= 1;
+        acquired.increment();
+        return true;
+    }
+
+    /**
+     * @return Permits that can be taken right now without waiting
+     */
+    public synchronized int getAvailablePermits() {
+        refill();
+        return storedPermits < 1 ? 0 : (int) storedPermits;
+    }
+
+    /**
+     * @return Callers currently waiting for a permit
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return Permits handed out so far
+     */
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    /**
+     * @return Callers refused with RateLimitExceededException or a false tryAcquire
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Reserves the next permit
+     *
+     * @return Nanos the caller must wait for it, a waiting caller is counted in the queue depth
+     */
+    private synchronized long reserve() {
+        refill();
+        if (storedPermits < 1) {
+            if (config.mode() == Mode.FAIL_FAST) {
+                rejected.increment();
+                throw new RateLimitExceededException("No permit available");
+            }
+            if (config.mode() == Mode.QUEUE && queueDepth.get() >= config.maxQueueDepth()) {
+                rejected.increment();
+                throw new RateLimitExceededException("Rate limiter queue is full (" + config.maxQueueDepth() + ")");
+            }
+        }
+        storedPermits -= 1;
+        if (storedPermits >= 0) {
+            return 0;
+        }
+        queueDepth.incrementAndGet();
+        return (long) (-storedPermits * intervalNanos);
+    }
+
+    /**
+     * Hands back a reservation whose caller gave up waiting
+     */
+    private synchronized void cancel() {
+        storedPermits = Math.min(config.burst(), storedPermits + 1);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        storedPermits = Math.min(config.burst(), storedPermits + (double) (now - lastRefillNanos) / intervalNanos);
+        lastRefillNanos = now;
+    }
+}
@@ -1,11 +1,12 @@
 package base;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.net.http.HttpRequest;
+
 /**
  * ApiClient Request instance
  */
@@ -26,9 +27,17 @@ public interface Request {
         }
 
         try {
-            return new ObjectMapper().writeValueAsString(new GenericPOJO(90,"nairobi"));
+            return JsonCodec.getDefault().writer().writeValueAsString(new GenericPOJO(90,"nairobi"));
         } catch (JsonProcessingException e) {
             return "";
         }
     }
+
+    /**
+     * Body publisher for post requests, override to publish bytes without building a String first
+     * @return BodyPublisher
+     */
+    default HttpRequest.BodyPublisher getBodyPublisher() {
+        return HttpRequest.BodyPublishers.ofString(getPostBody());
+    }
 }
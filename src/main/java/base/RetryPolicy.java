@@ -0,0 +1,124 @@
+package base;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether and when a failed http attempt is retried.
+ * Backoff grows exponentially from initialBackoff up to maxBackoff with random jitter, and a Retry-After header is honoured.
+ * A retry budget shared by all requests using the policy caps retries at a fraction of the traffic, so an outage
+ * does not multiply the load on the server.
+ * Attempts reuse the same HttpRequest, so the request body and any ids inside it are identical on every attempt.
+ */
+@Getter
+public class RetryPolicy {
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double multiplier;
+    private final double jitter;
+    private final Set<Integer> retryableStatusCodes;
+    private final boolean retryOnResponseLoss;
+    private final double budgetRatio;
+    private final int maxBudget;
+    @Getter(AccessLevel.NONE)
+    private double budget;
+
+    /**
+     * Creates the policy
+     * @param maxAttempts Attempts including the first one, defaults to 3
+     * @param initialBackoff Wait before the first retry, defaults to 200ms
+     * @param maxBackoff Upper bound of any wait, defaults to 10s
+     * @param multiplier Growth of the wait per attempt, defaults to 2
+     * @param jitter Fraction of the wait that is randomised, 0 to 1, defaults to 0.5
+     * @param retryableStatusCodes Http status codes that are retried, defaults to 429 and 503
+     * @param retryOnResponseLoss Also retry io failures after the request may have reached the server, only safe for idempotent requests
+     * @param budgetRatio Retries earned per request, defaults to 0.2
+     * @param maxBudget Retries that can be saved up, defaults to 100
+     */
+    @Builder(toBuilder = true)
+    private RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, double multiplier, double jitter,
+                        Set<Integer> retryableStatusCodes, boolean retryOnResponseLoss, double budgetRatio, int maxBudget) {
+        this.maxAttempts = maxAttempts > 0 ? maxAttempts : 3;
+        this.initialBackoff = initialBackoff != null ? initialBackoff : Duration.ofMillis(200);
+        this.maxBackoff = maxBackoff != null ? maxBackoff : Duration.ofSeconds(10);
+        this.multiplier = multiplier >= 1 ? multiplier : 2;
+        this.jitter = jitter > 0 ? Math.min(jitter, 1) : 0.5;
+        this.retryableStatusCodes = retryableStatusCodes != null ? Set.copyOf(retryableStatusCodes) : Set.of(429, 503);
+        this.retryOnResponseLoss = retryOnResponseLoss;
+        this.budgetRatio = budgetRatio > 0 ? budgetRatio : 0.2;
+        this.maxBudget = maxBudget > 0 ? maxBudget : 100;
+        this.budget = this.maxBudget;
+    }
+
+    /**
+     * Credits the retry budget for a new request, called once per request before its first attempt
+     */
+    public synchronized void recordRequest() {
+        budget = Math.min(maxBudget, budget + budgetRatio);
+    }
+
+    /**
+     * Wait before retrying a response
+     * @param attempt The attempt that produced the response, starting at 1
+     * @param httpResponse The response
+     * @return Wait before the next attempt, null when the response is final
+     */
+    public Duration retryDelay(int attempt, HttpResponse<?> httpResponse) {
+        if (!retryableStatusCodes.contains(httpResponse.statusCode())) {
+            return null;
+        }
+        Duration retryAfter = httpResponse.headers().firstValue("Retry-After")
+                .map(RetryPolicy::parseRetryAfter)
+                .orElse(Duration.ZERO);
+        return retryDelay(attempt, retryAfter);
+    }
+
+    /**
+     * Wait before retrying a failed attempt
+     * @param attempt The attempt that failed, starting at 1
+     * @param throwable The failure
+     * @return Wait before the next attempt, null when the failure is final
+     */
+    public Duration retryDelay(int attempt, Throwable throwable) {
+        boolean notSent = throwable instanceof ConnectException || throwable instanceof HttpConnectTimeoutException;
+        if (!notSent && !(retryOnResponseLoss && throwable instanceof IOException)) {
+            return null;
+        }
+        return retryDelay(attempt, Duration.ZERO);
+    }
+
+    private Duration retryDelay(int attempt, Duration minimum) {
+        if (attempt >= maxAttempts || !withdraw()) {
+            return null;
+        }
+        double backoff = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() * Math.pow(multiplier, attempt - 1));
+        long millis = (long) (backoff * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+        return Duration.ofMillis(Math.min(maxBackoff.toMillis(), Math.max(millis, minimum.toMillis())));
+    }
+
+    private synchronized boolean withdraw() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private static Duration parseRetryAfter(String value) {
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return Duration.ZERO;
+        }
+    }
+}
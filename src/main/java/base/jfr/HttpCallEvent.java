@@ -0,0 +1,44 @@
+package base.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One http attempt made by ApiClient, retries are separate events
+ */
+@Name("mpesa.HttpCall")
+@Label("HTTP Call")
+@Category({"M-Pesa SDK", "HTTP"})
+@Description("Request sent by ApiClient and its response received")
+public final class HttpCallEvent extends Event {
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Status Code")
+    @Description("0 when no response was received")
+    public int statusCode;
+
+    @Label("Request Bytes")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long responseBytes;
+
+    /**
+     * For async calls whose event would escape into a callback, the probe instance is scalar replaced
+     *
+     * @return Whether a running recording has the event enabled
+     */
+    public static boolean enabled() {
+        return new HttpCallEvent().isEnabled();
+    }
+}
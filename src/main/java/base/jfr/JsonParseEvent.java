@@ -0,0 +1,26 @@
+package base.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Binding of a response or callback body
+ */
+@Name("mpesa.JsonParse")
+@Label("JSON Parse")
+@Category({"M-Pesa SDK", "JSON"})
+@Description("Json body bound to its response type")
+@StackTrace(false)
+public final class JsonParseEvent extends Event {
+    @Label("Type")
+    public String type;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,26 @@
+package base.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Serialization of a request body
+ */
+@Name("mpesa.JsonSerialize")
+@Label("JSON Serialize")
+@Category({"M-Pesa SDK", "JSON"})
+@Description("Request object written to its json body")
+@StackTrace(false)
+public final class JsonSerializeEvent extends Event {
+    @Label("Type")
+    public String type;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
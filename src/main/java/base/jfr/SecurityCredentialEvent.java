@@ -0,0 +1,19 @@
+package base.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * RSA encryption of an initiator password by Helpers.generateSecurityCredentials
+ */
+@Name("mpesa.SecurityCredential")
+@Label("Security Credential Generation")
+@Category({"M-Pesa SDK", "Security"})
+@Description("Initiator password encrypted with the M-Pesa certificate")
+public final class SecurityCredentialEvent extends Event {
+    @Label("Certificate")
+    public String certificatePath;
+}
@@ -0,0 +1,209 @@
+package mpesa;
+
+import mpesa.util.Environment;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caches DARAJA access tokens per (base url, consumerKey) using the expires_in returned by the auth endpoint.
+ * A token close to expiry is refreshed in the background while the current one is still served,
+ * and concurrent callers on a cold cache share one refresh request.
+ */
+public class AccessTokenCache {
+    private static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofSeconds(60);
+    private static final long DEFAULT_EXPIRES_IN_SECONDS = 3599;
+    private static final AccessTokenCache DEFAULT = new AccessTokenCache();
+
+    private final ConcurrentHashMap<Key, CachedToken> tokens = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Key, CompletableFuture<String>> refreshes = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final long refreshAheadNanos;
+    private final Executor executor;
+
+    /**
+     * Loads a fresh token from the auth endpoint
+     */
+    @FunctionalInterface
+    public interface TokenLoader {
+        /**
+         * @return MpesaResponse {accessToken, expiresIn}
+         */
+        CompletableFuture<MpesaResponse> load();
+    }
+
+    private record Key(String baseUrl, String consumerKey) {
+    }
+
+    private record CachedToken(String accessToken, long expiresAt, long refreshAt) {
+    }
+
+    /**
+     * Cache refreshing tokens 60 seconds before expiry on the common pool
+     */
+    public AccessTokenCache() {
+        this(DEFAULT_REFRESH_AHEAD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param refreshAhead How long before expiry a background refresh is started
+     * @param executor     Executor that runs background refreshes
+     */
+    public AccessTokenCache(Duration refreshAhead, Executor executor) {
+        this.refreshAheadNanos = refreshAhead.toNanos();
+        this.executor = executor;
+    }
+
+    /**
+     * Process wide cache shared by every MpesaClient that has not been given its own
+     *
+     * @return AccessTokenCache
+     */
+    public static AccessTokenCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns a cached token, loading one when the cache is cold or the token has expired
+     *
+     * @param environment Environment the token belongs to
+     * @param consumerKey Consumer key the token was issued for
+     * @param loader      Loads a new token
+     * @return access token, null when the auth endpoint did not issue one
+     */
+    public CompletableFuture<String> getAccessToken(Environment environment, String consumerKey, TokenLoader loader) {
+        return getAccessToken(environment.getValue(), consumerKey, loader);
+    }
+
+    /**
+     * Returns a cached token for a DARAJA compatible server, e.g. a simulator, loading one when the cache is cold or the token has expired
+     *
+     * @param baseUrl     Base url of the server that issued the token
+     * @param consumerKey Consumer key the token was issued for
+     * @param loader      Loads a new token
+     * @return access token, null when the auth endpoint did not issue one
+     */
+    public CompletableFuture<String> getAccessToken(String baseUrl, String consumerKey, TokenLoader loader) {
+        Key key = new Key(baseUrl, consumerKey);
+        CachedToken cachedToken = tokens.get(key);
+        long now = System.nanoTime();
+        if (cachedToken != null && now - cachedToken.expiresAt() < 0) {
+            hits.increment();
+            if (now - cachedToken.refreshAt() >= 0) {
+                refresh(key, loader, true);
+            }
+            return CompletableFuture.completedFuture(cachedToken.accessToken());
+        }
+        misses.increment();
+        return refresh(key, loader, false);
+    }
+
+    /**
+     * Drops the cached token, e.g. after DARAJA rejected it
+     *
+     * @param environment Environment the token belongs to
+     * @param consumerKey Consumer key the token was issued for
+     */
+    public void invalidate(Environment environment, String consumerKey) {
+        invalidate(environment.getValue(), consumerKey);
+    }
+
+    /**
+     * Drops the cached token issued by a DARAJA compatible server
+     *
+     * @param baseUrl     Base url of the server that issued the token
+     * @param consumerKey Consumer key the token was issued for
+     */
+    public void invalidate(String baseUrl, String consumerKey) {
+        tokens.remove(new Key(baseUrl, consumerKey));
+    }
+
+    /**
+     * Drops the cached token only if it is still the rejected one, so a token refreshed meanwhile by another caller is kept
+     *
+     * @param baseUrl     Base url of the server that issued the token
+     * @param consumerKey Consumer key the token was issued for
+     * @param accessToken The token DARAJA rejected
+     */
+    public void invalidate(String baseUrl, String consumerKey, String accessToken) {
+        tokens.computeIfPresent(new Key(baseUrl, consumerKey),
+                (key, cachedToken) -> cachedToken.accessToken().equals(accessToken) ? null : cachedToken);
+    }
+
+    /**
+     * Drops every cached token
+     */
+    public void invalidateAll() {
+        tokens.clear();
+    }
+
+    /**
+     * @return Number of requests served from the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Number of requests that had to wait for a token to be loaded
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Number of calls made to the auth endpoint
+     */
+    public long getRefreshes() {
+        return refreshCount.sum();
+    }
+
+    private CompletableFuture<String> refresh(Key key, TokenLoader loader, boolean background) {
+        CompletableFuture<String> refresh = new CompletableFuture<>();
+        CompletableFuture<String> inFlight = refreshes.putIfAbsent(key, refresh);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        refreshCount.increment();
+        long startedAt = System.nanoTime();
+        CompletableFuture<MpesaResponse> loaded = background
+                ? CompletableFuture.supplyAsync(() -> load(loader), executor).thenCompose(Function.identity())
+                : load(loader);
+        loaded.whenComplete((mpesaResponse, throwable) -> {
+            String accessToken = null;
+            if (throwable == null && mpesaResponse.getAccessToken() != null) {
+                accessToken = mpesaResponse.getAccessToken();
+                tokens.put(key, cachedToken(accessToken, mpesaResponse.getExpiresIn(), startedAt));
+            }
+            refreshes.remove(key, refresh);
+            if (throwable != null) {
+                refresh.completeExceptionally(throwable);
+            } else {
+                refresh.complete(accessToken);
+            }
+        });
+        return refresh;
+    }
+
+    private CompletableFuture<MpesaResponse> load(TokenLoader loader) {
+        try {
+            return loader.load();
+        } catch (Throwable throwable) {
+            return CompletableFuture.failedFuture(throwable);
+        }
+    }
+
+    private CachedToken cachedToken(String accessToken, Long expiresIn, long startedAt) {
+        long lifetime = TimeUnit.SECONDS.toNanos(expiresIn != null && expiresIn > 0 ? expiresIn : DEFAULT_EXPIRES_IN_SECONDS);
+        long expiresAt = startedAt + lifetime;
+        return new CachedToken(accessToken, expiresAt, expiresAt - Math.min(refreshAheadNanos, lifetime / 2));
+    }
+}
@@ -0,0 +1,166 @@
+package mpesa;
+
+import lombok.Builder;
+import lombok.Getter;
+import mpesa.request.B2CRequest;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Submits large batches of B2C payouts (payroll, refunds) through one shared MpesaClient.
+ * At most maxConcurrency payouts are in flight at a time, the access token and SecurityCredential are
+ * resolved once before the batch and served from their caches for every item.
+ * Items without an originatorConversationId are assigned a random one so every outcome can be keyed by it.
+ */
+@Getter
+public class BulkB2CDisbursement {
+    private static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    private final MpesaClient mpesaClient;
+    private final int maxConcurrency;
+    private final ProgressListener progressListener;
+
+    /**
+     * Notified after each payout completes, called concurrently from the transport executor
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * @param b2CRequest    Completed payout
+         * @param mpesaResponse Response from DARAJA, null when the call failed
+         * @param throwable     Failure, null when DARAJA responded
+         * @param completed     Number of payouts completed so far in this batch
+         */
+        void onProgress(B2CRequest b2CRequest, MpesaResponse mpesaResponse, Throwable throwable, long completed);
+    }
+
+    /**
+     * Outcome of a batch keyed by OriginatorConversationID
+     *
+     * @param accepted Payouts DARAJA accepted for processing (internalStatus=true)
+     * @param rejected Payouts DARAJA responded to with an error
+     * @param failed   Payouts that did not get a response, e.g. network errors
+     */
+    public record Result(Map<String, MpesaResponse> accepted,
+                         Map<String, MpesaResponse> rejected,
+                         Map<String, Throwable> failed) {
+        /**
+         * @return Number of payouts in the batch
+         */
+        public int total() {
+            return accepted.size() + rejected.size() + failed.size();
+        }
+    }
+
+    /**
+     * @param mpesaClient      Configured client with environment, credentials and initiator
+     * @param maxConcurrency   Maximum payouts in flight, defaults to 16
+     * @param progressListener Optional listener notified after each payout
+     */
+    @Builder
+    private BulkB2CDisbursement(@NotNull MpesaClient mpesaClient, int maxConcurrency, ProgressListener progressListener) {
+        if (maxConcurrency < 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.mpesaClient = mpesaClient;
+        this.maxConcurrency = maxConcurrency == 0 ? DEFAULT_MAX_CONCURRENCY : maxConcurrency;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Submits every payout and blocks until all of them completed.
+     * The stream is consumed lazily, so huge batches are never held in memory at once.
+     * A payout whose originatorConversationId was already submitted in the batch is not sent, the batch stops there.
+     *
+     * @param b2CRequests Payouts, originatorConversationIds must be unique within the batch
+     * @return Result
+     * @throws BulkDisbursementException When the batch stops early, after the payouts in flight completed
+     * @throws Exception                 When the access token or SecurityCredential cannot be resolved, nothing was sent
+     */
+    public Result disburse(@NotNull Stream<B2CRequest> b2CRequests) throws Exception {
+        mpesaClient.resolveB2CCredentials();
+
+        Map<String, MpesaResponse> accepted = new ConcurrentHashMap<>();
+        Map<String, MpesaResponse> rejected = new ConcurrentHashMap<>();
+        Map<String, Throwable> failed = new ConcurrentHashMap<>();
+        AtomicLong completed = new AtomicLong();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Set<String> submitted = new HashSet<>();
+
+        try {
+            var iterator = b2CRequests.iterator();
+            while (iterator.hasNext()) {
+                B2CRequest b2CRequest = withOriginatorConversationId(iterator.next());
+                String originatorConversationId = b2CRequest.originatorConversationId();
+                if (!submitted.add(originatorConversationId)) {
+                    throw new IllegalArgumentException("Duplicate originatorConversationId " + originatorConversationId);
+                }
+                permits.acquire();
+                CompletableFuture<MpesaResponse> response;
+                try {
+                    response = mpesaClient.B2CDisbursementAsync(b2CRequest);
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+                response.whenComplete((mpesaResponse, error) -> {
+                    Throwable throwable = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    try {
+                        if (throwable != null) {
+                            failed.put(originatorConversationId, throwable);
+                        } else if (mpesaResponse.isInternalStatus()) {
+                            accepted.put(originatorConversationId, mpesaResponse);
+                        } else {
+                            rejected.put(originatorConversationId, mpesaResponse);
+                        }
+                        long done = completed.incrementAndGet();
+                        if (progressListener != null) {
+                            progressListener.onProgress(b2CRequest, mpesaResponse, throwable, done);
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            permits.acquire(maxConcurrency);
+        } catch (InterruptedException | RuntimeException e) {
+            // payouts in flight may already have moved money, their outcomes must not be lost
+            permits.acquireUninterruptibly(maxConcurrency);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new BulkDisbursementException(e, new Result(Map.copyOf(accepted), Map.copyOf(rejected), Map.copyOf(failed)));
+        }
+        return new Result(Map.copyOf(accepted), Map.copyOf(rejected), Map.copyOf(failed));
+    }
+
+    /**
+     * Submits every payout and blocks until all of them completed
+     *
+     * @param b2CRequests Payouts, originatorConversationIds must be unique within the batch
+     * @return Result
+     * @throws BulkDisbursementException When the batch stops early, after the payouts in flight completed
+     * @throws Exception                 When the access token or SecurityCredential cannot be resolved, nothing was sent
+     */
+    public Result disburse(@NotNull Iterable<B2CRequest> b2CRequests) throws Exception {
+        return disburse(StreamSupport.stream(b2CRequests.spliterator(), false));
+    }
+
+    private B2CRequest withOriginatorConversationId(B2CRequest b2CRequest) {
+        if (b2CRequest.originatorConversationId() != null && !b2CRequest.originatorConversationId().isBlank()) {
+            return b2CRequest;
+        }
+        return b2CRequest.toBuilder().originatorConversationId(UUID.randomUUID().toString()).build();
+    }
+}
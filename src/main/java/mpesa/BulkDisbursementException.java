@@ -0,0 +1,30 @@
+package mpesa;
+
+import java.io.Serial;
+
+/**
+ * Thrown when a batch stops before every payout was submitted, e.g. on a duplicate originatorConversationId,
+ * a failing input stream or an interrupt. Payouts already submitted were awaited and their outcomes are kept.
+ */
+public class BulkDisbursementException extends Exception {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient BulkB2CDisbursement.Result partialResult;
+
+    /**
+     * @param cause         Reason the batch stopped
+     * @param partialResult Outcomes of the payouts submitted before it stopped
+     */
+    public BulkDisbursementException(Throwable cause, BulkB2CDisbursement.Result partialResult) {
+        super("Batch stopped after " + partialResult.total() + " payouts: " + cause.getMessage(), cause);
+        this.partialResult = partialResult;
+    }
+
+    /**
+     * @return Outcomes of the payouts submitted before the batch stopped
+     */
+    public BulkB2CDisbursement.Result getPartialResult() {
+        return partialResult;
+    }
+}
@@ -0,0 +1,195 @@
+package mpesa;
+
+import base.HashedTimerWheel;
+import lombok.Builder;
+import mpesa.util.ResponseParserType;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Correlates asynchronous DARAJA results with the requests that started them.
+ * A request registers a pending future under its correlation id, and the future is completed when the matching callback
+ * is parsed by the MpesaClient or, once the TTL passes, with a synthesized timeout result.
+ * Callbacks are matched on CheckoutRequestID (STK push), requestId (B2B STK, the RequestRefID that was sent) or
+ * ConversationID (B2C, B2B payment, tax remittance, transaction status).
+ * Each entry is a single future plus a timer wheel slot, so hundreds of thousands can be outstanding.
+ */
+public class CallbackCorrelationRegistry implements CallbackListener, AutoCloseable {
+    /**
+     * errorCode of results synthesized when no callback arrived within the TTL
+     */
+    public static final String CALLBACK_TIMEOUT = "CALLBACK_TIMEOUT";
+
+    private final MpesaClient mpesaClient;
+    private final HashedTimerWheel timerWheel;
+    private final boolean ownsTimerWheel;
+    private final Duration ttl;
+    private final Duration orphanTtl;
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+
+    private static final class Pending extends CompletableFuture<MpesaResponse> {
+        private volatile HashedTimerWheel.Timeout timeout;
+    }
+
+    /**
+     * Creates the registry and registers it as a CallbackListener on the client
+     *
+     * @param mpesaClient Client whose responseParser(...) receives the callbacks
+     * @param timerWheel  Shared wheel, a private one is created and closed with the registry when null
+     * @param ttl         Default time to wait for a callback, defaults to 5 minutes
+     * @param orphanTtl   How long a callback that arrived before its registration is kept, defaults to 1 minute
+     */
+    @Builder
+    private CallbackCorrelationRegistry(@NotNull MpesaClient mpesaClient, HashedTimerWheel timerWheel, Duration ttl, Duration orphanTtl) {
+        this.mpesaClient = mpesaClient;
+        this.ownsTimerWheel = timerWheel == null;
+        this.timerWheel = timerWheel != null ? timerWheel : HashedTimerWheel.builder().tickDuration(Duration.ofSeconds(1)).build();
+        this.ttl = ttl != null ? ttl : Duration.ofMinutes(5);
+        this.orphanTtl = orphanTtl != null ? orphanTtl : Duration.ofMinutes(1);
+        mpesaClient.addCallbackListener(this);
+    }
+
+    /**
+     * Waits for the callback of a submitted request.
+     * The submission is correlated on its CheckoutRequestID or ConversationID, a rejected submission is returned as is.
+     *
+     * @param submission Future returned by e.g. stkSendAsync(...) or B2CDisbursementAsync(...)
+     * @return Future of the parsed callback or a synthesized timeout result
+     */
+    public CompletableFuture<MpesaResponse> awaitCallback(@NotNull CompletableFuture<MpesaResponse> submission) {
+        return submission.thenCompose(mpesaResponse -> {
+            String correlationId = mpesaResponse.getCheckoutRequestID() != null ? mpesaResponse.getCheckoutRequestID() : mpesaResponse.getConversationId();
+            if (!mpesaResponse.isInternalStatus() || correlationId == null) {
+                return CompletableFuture.completedFuture(mpesaResponse);
+            }
+            return register(correlationId);
+        });
+    }
+
+    /**
+     * Registers a pending callback with the default TTL
+     *
+     * @param correlationId CheckoutRequestID, ConversationID or B2B STK RequestRefID
+     * @return Future of the parsed callback or a synthesized timeout result
+     */
+    public CompletableFuture<MpesaResponse> register(@NotNull String correlationId) {
+        return register(correlationId, ttl);
+    }
+
+    /**
+     * Registers a pending callback, registering the same id again shares the existing entry.
+     * Each call returns its own copy of the entry, completing or cancelling it does not affect the registry, use unregister(...) to drop the entry.
+     *
+     * @param correlationId CheckoutRequestID, ConversationID or B2B STK RequestRefID
+     * @param ttl           Time to wait for the callback
+     * @return Future of the parsed callback or a synthesized timeout result
+     */
+    public CompletableFuture<MpesaResponse> register(@NotNull String correlationId, @NotNull Duration ttl) {
+        Pending created = new Pending();
+        Pending existing = pending.putIfAbsent(correlationId, created);
+        if (existing != null) {
+            if (existing.isDone()) {
+                //callback arrived before the registration
+                pending.remove(correlationId, existing);
+                cancel(existing.timeout);
+            }
+            return existing.copy();
+        }
+        created.timeout = timerWheel.schedule(() -> expire(correlationId, created, ttl), ttl);
+        return created.copy();
+    }
+
+    /**
+     * Drops a registered entry and its timeout, futures returned for it fail with a CancellationException
+     *
+     * @param correlationId CheckoutRequestID, ConversationID or B2B STK RequestRefID
+     * @return Whether an entry was registered
+     */
+    public boolean unregister(@NotNull String correlationId) {
+        Pending entry = pending.remove(correlationId);
+        if (entry == null) {
+            return false;
+        }
+        cancel(entry.timeout);
+        entry.cancel(false);
+        return true;
+    }
+
+    /**
+     * @return Registered entries waiting for a callback, including early callbacks waiting for a registration
+     */
+    public int getOutstanding() {
+        return pending.size();
+    }
+
+    /**
+     * Completes the entry matching the callback, a callback without a registration is kept for orphanTtl
+     */
+    @Override
+    public void onCallback(MpesaResponse mpesaResponse, ResponseParserType responseParserType) {
+        String correlationId = correlationId(mpesaResponse, responseParserType);
+        if (correlationId == null) {
+            return;
+        }
+        Pending orphan = new Pending();
+        Pending existing = pending.putIfAbsent(correlationId, orphan);
+        if (existing != null) {
+            if (pending.remove(correlationId, existing)) {
+                cancel(existing.timeout);
+            }
+            existing.complete(mpesaResponse);
+            return;
+        }
+        orphan.complete(mpesaResponse);
+        orphan.timeout = timerWheel.schedule(() -> pending.remove(correlationId, orphan), orphanTtl);
+    }
+
+    /**
+     * Unregisters from the client, outstanding futures are cancelled
+     */
+    @Override
+    public void close() {
+        mpesaClient.removeCallbackListener(this);
+        pending.values().forEach(entry -> {
+            cancel(entry.timeout);
+            entry.cancel(false);
+        });
+        pending.clear();
+        if (ownsTimerWheel) {
+            timerWheel.close();
+        }
+    }
+
+    /**
+     * The timeout is assigned right after the entry is published, a racing thread may still see null
+     */
+    private static void cancel(HashedTimerWheel.Timeout timeout) {
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private void expire(String correlationId, Pending entry, Duration ttl) {
+        if (!pending.remove(correlationId, entry)) {
+            return;
+        }
+        MpesaResponse mpesaResponse = new MpesaResponse();
+        mpesaResponse.setInternalStatus(false);
+        mpesaResponse.setErrorCode(CALLBACK_TIMEOUT);
+        mpesaResponse.setErrorMessage("No callback received for " + correlationId + " within " + ttl);
+        entry.complete(mpesaResponse);
+    }
+
+    private static String correlationId(MpesaResponse mpesaResponse, ResponseParserType responseParserType) {
+        return switch (responseParserType) {
+            case C2B_STK -> mpesaResponse.getBody() != null && mpesaResponse.getBody().getStkCallback() != null
+                    ? mpesaResponse.getBody().getStkCallback().getCheckoutRequestID() : null;
+            case B2B_STK -> mpesaResponse.getRequestId();
+            case C2B_TRANSACTION_STATUS, B2B_PAYMENT, B2C, TAX_REMITTANCE ->
+                    mpesaResponse.getResult() != null ? mpesaResponse.getResult().getConversationId() : null;
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package mpesa;
+
+import mpesa.util.ResponseParserType;
+
+/**
+ * Receives every callback after MpesaClient.responseParser(...) has parsed it
+ */
+@FunctionalInterface
+public interface CallbackListener {
+    /**
+     * Called on the thread that invoked responseParser(...)
+     *
+     * @param mpesaResponse      Parsed callback
+     * @param responseParserType Type of the callback
+     */
+    void onCallback(MpesaResponse mpesaResponse, ResponseParserType responseParserType);
+}
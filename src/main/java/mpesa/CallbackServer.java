@@ -0,0 +1,268 @@
+package mpesa;
+
+import base.ContentType;
+import base.JsonCodec;
+import base.jfr.JsonParseEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Builder;
+import mpesa.result.CallbackResult;
+import mpesa.result.StkCallbackParser;
+import mpesa.util.ResponseParserType;
+import mpesa.util.ResponseStatus;
+import mpesa.util.ResultDesc;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded webhook receiver for DARAJA callbacks, built on the JDK http server with one virtual thread per request.
+ * Each path is routed to a handler, the body is parsed with the shared JsonCodec, passed through
+ * MpesaClient.responseParser(...) (which also notifies CallbackListeners) and acknowledged with a pre-encoded body.
+ * Result routes skip MpesaResponse for the handler and hand it a compact CallbackResult, STK callbacks are read by the streaming StkCallbackParser.
+ * The JDK server writes the response headers and body separately, so without TCP_NODELAY each acknowledgment can wait
+ * on the client's delayed ACK (about 40ms per request on a kept-alive connection). Deployers can start the JVM with
+ * -Dsun.net.httpserver.nodelay=true; the flag is JVM-wide and read once, so the server leaves it to them.
+ */
+public class CallbackServer implements AutoCloseable {
+    private static final byte[] ACKNOWLEDGMENT = acknowledgment(ResponseStatus.SUCCESS.getValue(), ResultDesc.SUCCESS.getValue());
+    private static final Map<ResponseStatus, byte[]> VALIDATION_RESPONSES = new EnumMap<>(ResponseStatus.class);
+
+    static {
+        for (ResponseStatus responseStatus : ResponseStatus.values()) {
+            ResultDesc resultDesc = responseStatus == ResponseStatus.SUCCESS ? ResultDesc.ACCEPTED : ResultDesc.REJECTED;
+            VALIDATION_RESPONSES.put(responseStatus, acknowledgment(responseStatus.getValue(), resultDesc.getValue()));
+        }
+    }
+
+    private final MpesaClient mpesaClient;
+    private final HttpServer httpServer;
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Handles a parsed callback, an exception is answered with http 500
+     */
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * @param mpesaResponse Callback after responseParser(...)
+         * @throws Exception When the callback could not be processed
+         */
+        void handle(MpesaResponse mpesaResponse) throws Exception;
+    }
+
+    /**
+     * Handles a callback read into a CallbackResult, an exception is answered with http 500
+     */
+    @FunctionalInterface
+    public interface ResultHandler {
+        /**
+         * @param callbackResult Callback, the record matching the route's ResponseParserType
+         * @throws Exception When the callback could not be processed
+         */
+        void handle(CallbackResult callbackResult) throws Exception;
+    }
+
+    /**
+     * Accepts or rejects a C2B payment before it is completed
+     */
+    @FunctionalInterface
+    public interface ValidationHandler {
+        /**
+         * @param mpesaResponse C2B validation request
+         * @return ResponseStatus.SUCCESS to accept, any other status rejects the payment with its code
+         * @throws Exception When the request could not be validated, the payment is rejected with OTHER_ERROR
+         */
+        ResponseStatus validate(MpesaResponse mpesaResponse) throws Exception;
+    }
+
+    /**
+     * Creates the server, add routes and call start()
+     *
+     * @param mpesaClient Client whose responseParser(...) parses every callback
+     * @param address     Address to listen on, defaults to port 8080 on all interfaces
+     * @param backlog     Socket backlog, system default when 0
+     * @param executor    Executor for requests, one virtual thread per request when null
+     * @throws IOException When the address cannot be bound
+     */
+    @Builder
+    private CallbackServer(@NotNull MpesaClient mpesaClient, InetSocketAddress address, int backlog, Executor executor) throws IOException {
+        this.mpesaClient = mpesaClient;
+        this.httpServer = HttpServer.create(address != null ? address : new InetSocketAddress(8080), backlog);
+        this.ownedExecutor = executor == null ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.httpServer.setExecutor(executor != null ? executor : ownedExecutor);
+    }
+
+    /**
+     * Routes a callback path (CallBackURL, ResultURL or QueueTimeOutURL) to a handler
+     *
+     * @param path               Path, e.g. /mpesa/b2c/result
+     * @param responseParserType Shape of the callbacks posted to the path
+     * @param handler            Handler
+     * @return CallbackServer
+     */
+    public CallbackServer route(@NotNull String path, @NotNull ResponseParserType responseParserType, @NotNull Handler handler) {
+        httpServer.createContext(path, exchange -> handle(exchange, CallbackServer::readMpesaResponse, mpesaResponse -> {
+            mpesaClient.responseParser(mpesaResponse, responseParserType);
+            handler.handle(mpesaResponse);
+            return ACKNOWLEDGMENT;
+        }));
+        return this;
+    }
+
+    /**
+     * Routes a callback path to a handler of compact results.
+     * C2B_STK bodies are read in one pass by StkCallbackParser, the other types are bound and converted with CallbackResult.from(...).
+     * CallbackListeners are still notified through MpesaClient.responseParser(CallbackResult, ...).
+     *
+     * @param path               Path, e.g. /mpesa/stk
+     * @param responseParserType Shape of the callbacks posted to the path
+     * @param resultHandler      Handler
+     * @return CallbackServer
+     */
+    public CallbackServer routeResult(@NotNull String path, @NotNull ResponseParserType responseParserType, @NotNull ResultHandler resultHandler) {
+        httpServer.createContext(path, exchange -> handle(exchange, json -> readResult(json, responseParserType), callbackResult -> {
+            mpesaClient.responseParser(callbackResult, responseParserType);
+            resultHandler.handle(callbackResult);
+            return ACKNOWLEDGMENT;
+        }));
+        return this;
+    }
+
+    /**
+     * Routes the C2B ValidationURL
+     *
+     * @param path              Path
+     * @param validationHandler Handler deciding whether the payment is accepted
+     * @return CallbackServer
+     */
+    public CallbackServer c2bValidation(@NotNull String path, @NotNull ValidationHandler validationHandler) {
+        httpServer.createContext(path, exchange -> handle(exchange, CallbackServer::readMpesaResponse, mpesaResponse -> {
+            ResponseStatus responseStatus;
+            try {
+                responseStatus = validationHandler.validate(mpesaResponse);
+            } catch (Exception e) {
+                responseStatus = ResponseStatus.OTHER_ERROR;
+            }
+            return VALIDATION_RESPONSES.get(responseStatus != null ? responseStatus : ResponseStatus.OTHER_ERROR);
+        }));
+        return this;
+    }
+
+    /**
+     * Routes the C2B ConfirmationURL
+     *
+     * @param path    Path
+     * @param handler Handler
+     * @return CallbackServer
+     */
+    public CallbackServer c2bConfirmation(@NotNull String path, @NotNull Handler handler) {
+        httpServer.createContext(path, exchange -> handle(exchange, CallbackServer::readMpesaResponse, mpesaResponse -> {
+            handler.handle(mpesaResponse);
+            return ACKNOWLEDGMENT;
+        }));
+        return this;
+    }
+
+    /**
+     * Starts accepting callbacks
+     *
+     * @return CallbackServer
+     */
+    public CallbackServer start() {
+        httpServer.start();
+        return this;
+    }
+
+    /**
+     * @return Address the server is bound to, useful when it was started on port 0
+     */
+    public InetSocketAddress getAddress() {
+        return httpServer.getAddress();
+    }
+
+    /**
+     * Stops the server, requests in progress are not awaited
+     */
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        if (ownedExecutor != null) {
+            ownedExecutor.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(byte[] json) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Route<T> {
+        byte[] respond(T callback) throws Exception;
+    }
+
+    private static MpesaResponse readMpesaResponse(byte[] json) throws IOException {
+        JsonParseEvent event = new JsonParseEvent();
+        event.begin();
+        MpesaResponse mpesaResponse = JsonCodec.getDefault().reader(MpesaResponse.class).readValue(json);
+        if (event.shouldCommit()) {
+            event.type = MpesaResponse.class.getName();
+            event.bytes = json.length;
+            event.commit();
+        }
+        return mpesaResponse;
+    }
+
+    private static CallbackResult readResult(byte[] json, ResponseParserType responseParserType) throws IOException {
+        if (responseParserType == ResponseParserType.C2B_STK) {
+            return StkCallbackParser.parse(json);
+        }
+        return CallbackResult.from(readMpesaResponse(json), responseParserType);
+    }
+
+    /**
+     * A body that cannot be read into the route's type, including a callback missing its Result, is answered with 400
+     */
+    private <T> void handle(HttpExchange exchange, BodyReader<T> bodyReader, Route<T> route) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            T callback;
+            try (InputStream body = exchange.getRequestBody()) {
+                callback = bodyReader.read(body.readAllBytes());
+            } catch (JsonProcessingException | RuntimeException e) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            byte[] response;
+            try {
+                response = route.respond(callback);
+            } catch (Exception e) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", ContentType.JSON.getValue());
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(response);
+            }
+        }
+    }
+
+    private static byte[] acknowledgment(String resultCode, String resultDesc) {
+        return ("{\"ResultCode\":\"" + resultCode + "\",\"ResultDesc\":\"" + resultDesc + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,77 @@
+package mpesa;
+
+import base.CircuitBreaker;
+import mpesa.util.Environment;
+import mpesa.util.MpesaURL;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds one CircuitBreaker per (Environment, MpesaURL), so a degraded endpoint is shed without affecting the others.
+ * Every endpoint uses the default config unless it was given its own.
+ */
+public class CircuitBreakerRegistry {
+    private final CircuitBreaker.Config defaultConfig;
+    private final Map<MpesaURL, CircuitBreaker.Config> configs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Key, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final List<CircuitBreaker.StateListener> stateListeners = new CopyOnWriteArrayList<>();
+
+    private record Key(Environment environment, MpesaURL mpesaURL) {
+    }
+
+    /**
+     * Registry using the CircuitBreaker.Config defaults for every endpoint
+     */
+    public CircuitBreakerRegistry() {
+        this(CircuitBreaker.Config.builder().build());
+    }
+
+    /**
+     * @param defaultConfig Config for endpoints without their own
+     */
+    public CircuitBreakerRegistry(CircuitBreaker.Config defaultConfig) {
+        this.defaultConfig = defaultConfig;
+    }
+
+    /**
+     * Sets the config of an endpoint, breakers already created for it keep their config
+     *
+     * @param mpesaURL Endpoint
+     * @param config   Config
+     * @return CircuitBreakerRegistry
+     */
+    public CircuitBreakerRegistry configure(MpesaURL mpesaURL, CircuitBreaker.Config config) {
+        configs.put(mpesaURL, config);
+        return this;
+    }
+
+    /**
+     * Adds a listener to every breaker, including those created later
+     *
+     * @param stateListener Listener notified on state transitions
+     * @return CircuitBreakerRegistry
+     */
+    public CircuitBreakerRegistry addStateListener(CircuitBreaker.StateListener stateListener) {
+        stateListeners.add(stateListener);
+        circuitBreakers.values().forEach(circuitBreaker -> circuitBreaker.addStateListener(stateListener));
+        return this;
+    }
+
+    /**
+     * Breaker for the environment and endpoint, created on first use
+     *
+     * @param environment Environment
+     * @param mpesaURL    Endpoint
+     * @return CircuitBreaker
+     */
+    public CircuitBreaker getCircuitBreaker(Environment environment, MpesaURL mpesaURL) {
+        return circuitBreakers.computeIfAbsent(new Key(environment, mpesaURL), key -> {
+            CircuitBreaker circuitBreaker = new CircuitBreaker(environment + ":" + mpesaURL, configs.getOrDefault(mpesaURL, defaultConfig));
+            stateListeners.forEach(circuitBreaker::addStateListener);
+            return circuitBreaker;
+        });
+    }
+}
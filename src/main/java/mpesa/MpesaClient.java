@@ -1,13 +1,29 @@
 package mpesa;
 
 import base.ApiClient;
+import base.CircuitBreaker;
+import base.ExchangeMetrics;
 import base.Header;
 import base.Helpers;
+import base.HttpTransport;
+import base.Interceptor;
+import base.MpesaTimestamp;
+import base.RateLimiter;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 import mpesa.b2b.ResponseBody;
 import mpesa.b2b.ResultParameter;
 import mpesa.dto.MpesaRequestDto;
+import mpesa.jfr.CallbackParseEvent;
+import mpesa.jfr.TokenFetchEvent;
+import mpesa.metrics.MpesaMetrics;
+import mpesa.request.*;
+import mpesa.result.CallbackResult;
 import mpesa.stk.Item;
 import mpesa.util.*;
 import org.jetbrains.annotations.NotNull;
@@ -24,70 +40,380 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
-
-import static base.Helpers.MPESA_TIMESTAMP_FORMAT;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 
 @Data
 @Accessors(chain = true, fluent = true)
-public class MpesaClient {
+public class MpesaClient implements AutoCloseable {
     private static final double MIN_B2B_AMOUNT = 10;
+    private static final String INVALID_ACCESS_TOKEN = "404.001.03";
     private final String TAX_COMMAND_ID = "PayTaxToKRA";
     private final String SENDER_IDENTIFIER_TYPE = "4";
     private final String RECEIVER_IDENTIFIER_TYPE = "4";
     private final long TAX_ORG_BUSINESS_SHORTCODE = 572572;
     private Environment environment;
+    /**
+     * Overrides the environment's url, e.g. a local stub or simulator. The environment still selects the certificate
+     */
+    private String baseUrl;
     private String consumerKey;
     private String consumerSecret;
     private String passKey;
     private String initiatorName;
     private String initiatorPassword;
     private MpesaRequestDto mpesaRequestDto;
+    private HttpTransport httpTransport;
+    private AccessTokenCache accessTokenCache;
+    private SecurityCredentialProvider securityCredentialProvider;
+    private RateLimiterRegistry rateLimiterRegistry;
+    private RetryRules retryRules;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private MpesaMetrics metrics;
+    /**
+     * Ordered interceptors applied to every DARAJA exchange, the token request included
+     */
+    private List<Interceptor> interceptors;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean ownsHttpTransport;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final List<CallbackListener> callbackListeners = new CopyOnWriteArrayList<>();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ConcurrentHashMap<String, StkPassword> stkPasswords = new ConcurrentHashMap<>();
+
+    /**
+     * STK password last generated for a shortcode, reused while the timestamp and passKey are unchanged
+     */
+    private record StkPassword(String passKey, String timestamp, String password) {
+    }
+
+    /**
+     * Returns the transport used for every call, creating a default one on first use
+     */
+    private synchronized HttpTransport transport() {
+        if (httpTransport == null) {
+            httpTransport = HttpTransport.builder().build();
+            ownsHttpTransport = true;
+        }
+        return httpTransport;
+    }
+
+    /**
+     * Uses a transport owned by the caller, it is left open by close().
+     * A default transport this client created earlier is closed, calls still running on it fail
+     *
+     * @param httpTransport Shared transport, null to create a default one again on first use
+     * @return MpesaClient
+     */
+    public synchronized MpesaClient httpTransport(HttpTransport httpTransport) {
+        if (ownsHttpTransport && this.httpTransport != null && this.httpTransport != httpTransport) {
+            this.httpTransport.close();
+        }
+        this.httpTransport = httpTransport;
+        ownsHttpTransport = false;
+        return this;
+    }
+
+    private String resolveBaseUrl() {
+        return baseUrl != null ? baseUrl : environment.getValue();
+    }
+
+    private MpesaMetrics metrics() {
+        return metrics != null ? metrics : MpesaMetrics.noop();
+    }
+
+    private AccessTokenCache tokenCache() {
+        return accessTokenCache != null ? accessTokenCache : AccessTokenCache.getDefault();
+    }
+
+    /**
+     * Returns a cached access token, only calling the auth endpoint when the cached one is missing or expired
+     */
+    private String accessToken() throws Exception {
+        try {
+            return tokenCache().getAccessToken(resolveBaseUrl(), consumerKey, () -> {
+                try {
+                    return CompletableFuture.completedFuture(generateAccessToken());
+                } catch (Exception e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /**
+     * Non blocking variant of accessToken()
+     */
+    private CompletableFuture<String> accessTokenAsync() {
+        return tokenCache().getAccessToken(resolveBaseUrl(), consumerKey, this::generateAccessTokenAsync);
+    }
+
+    /**
+     * Returns the cached SecurityCredential for the initiator password
+     */
+    private String securityCredential() throws NoSuchPaddingException, IllegalBlockSizeException, CertificateException, IOException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException {
+        SecurityCredentialProvider credentialProvider = securityCredentialProvider != null ? securityCredentialProvider : SecurityCredentialProvider.getDefault();
+        return credentialProvider.getSecurityCredential(environment, initiatorPassword, metrics());
+    }
+
+    /**
+     * Waits for a permit from the endpoint's rate limiter, if one is configured
+     */
+    private void permit(@NotNull MpesaURL mpesaURL) throws InterruptedException {
+        RateLimiter rateLimiter = rateLimiterRegistry != null ? rateLimiterRegistry.getRateLimiter(mpesaURL, consumerKey) : null;
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+    }
 
+    /**
+     * Non blocking variant of permit(...)
+     */
+    private CompletableFuture<Void> permitAsync(@NotNull MpesaURL mpesaURL) {
+        RateLimiter rateLimiter = rateLimiterRegistry != null ? rateLimiterRegistry.getRateLimiter(mpesaURL, consumerKey) : null;
+        return rateLimiter != null ? rateLimiter.acquireAsync() : CompletableFuture.completedFuture(null);
+    }
+
+    private CircuitBreaker circuitBreaker(@NotNull MpesaURL mpesaURL) {
+        return circuitBreakerRegistry != null ? circuitBreakerRegistry.getCircuitBreaker(environment, mpesaURL) : null;
+    }
+
+    /**
+     * Resolves the access token and SecurityCredential up front so a batch of B2C calls is served from the caches
+     */
+    void resolveB2CCredentials() throws Exception {
+        accessToken();
+        securityCredential();
+    }
+
+    /**
+     * Closes the transport if it was created by this client, a transport provided via httpTransport(...) is left open
+     */
+    @Override
+    public synchronized void close() {
+        if (ownsHttpTransport && httpTransport != null) {
+            httpTransport.close();
+            httpTransport = null;
+            ownsHttpTransport = false;
+        }
+    }
 
     private String generatePassword(@NotNull String businessShortCode, @NotNull String timestamp) {
         String password = businessShortCode + passKey + timestamp;
         return Base64.getEncoder().encodeToString(password.getBytes(StandardCharsets.UTF_8));
     }
 
-    private MpesaRequest initialStkSetup(@NotNull MpesaRequestType mpesaRequestType) {
-        String timestamp = Helpers.formatDateTime(MPESA_TIMESTAMP_FORMAT);
+    /**
+     * Returns the password for the shortcode and timestamp, a burst of STK calls within one second encodes it once
+     */
+    private String stkPassword(@NotNull String businessShortCode, @NotNull String timestamp) {
+        StkPassword cached = stkPasswords.get(businessShortCode);
+        if (cached != null && cached.timestamp().equals(timestamp) && Objects.equals(cached.passKey(), passKey)) {
+            return cached.password();
+        }
+        String password = generatePassword(businessShortCode, timestamp);
+        stkPasswords.put(businessShortCode, new StkPassword(passKey, timestamp, password));
+        return password;
+    }
+
+    private MpesaRequest initialStkSetup(@NotNull MpesaRequestDto requestDto, @NotNull MpesaRequestType mpesaRequestType) {
+        String timestamp = MpesaTimestamp.now();
         //add extra properties
-        mpesaRequestDto.setMpesaRequestType(mpesaRequestType);
-        mpesaRequestDto.setPassword(generatePassword(mpesaRequestDto.getBusinessShortCode().toString(), timestamp));
-        mpesaRequestDto.setTimestamp(timestamp);
+        requestDto.setMpesaRequestType(mpesaRequestType);
+        requestDto.setPassword(stkPassword(requestDto.getBusinessShortCode().toString(), timestamp));
+        requestDto.setTimestamp(timestamp);
         //add to MpesaRequest
         MpesaRequest mpesaRequest = new MpesaRequest();
-        mpesaRequest.setMpesaRequestDto(mpesaRequestDto);
+        mpesaRequest.setMpesaRequestDto(requestDto);
         return mpesaRequest;
     }
 
-    private ApiClient<MpesaRequest, MpesaResponse> buildRequest(@NotNull ApiClient<MpesaRequest, MpesaResponse> apiClient, @NotNull MpesaRequest mpesaRequest, @NotNull MpesaURL mpesaURL) throws Exception {
-        String accessToken = generateAccessToken().getAccessToken();
-        return apiClient.toBuilder()
+    private ApiClient<MpesaRequest, MpesaResponse> buildRequest(String accessToken, @NotNull MpesaRequest mpesaRequest, @NotNull MpesaURL mpesaURL) {
+        return new ApiClient<MpesaRequest, MpesaResponse>(transport()).toBuilder()
                 .reqClass(mpesaRequest)
                 .responseClass(MpesaResponse.class)
-                .baseUri(Helpers.buildUrl(null, environment.getValue(), mpesaURL.getUrl()).toString())
+                .baseUri(Helpers.buildUrl(null, resolveBaseUrl(), mpesaURL.getUrl()).toString())
                 .headers(Collections.singletonList(new Header("Authorization", Helpers.bindBearerToken(accessToken))))
+                .retryPolicy(retryRules != null ? retryRules.getRetryPolicy(mpesaRequest.getMpesaRequestDto().getMpesaRequestType()) : null)
+                .circuitBreaker(circuitBreaker(mpesaURL))
+                .exchangeMetrics(exchangeMetrics(mpesaURL))
+                .interceptors(interceptors)
                 .build();
     }
 
-    private void B2BPaymentValidation() throws NoSuchPaddingException, IllegalBlockSizeException, CertificateException, IOException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException {
+    /**
+     * Forwards http and parse timings of the endpoint to the metrics, null with the no-op metrics so ApiClient skips timing
+     */
+    private ExchangeMetrics exchangeMetrics(@NotNull MpesaURL mpesaURL) {
+        MpesaMetrics mpesaMetrics = metrics();
+        if (mpesaMetrics == MpesaMetrics.noop()) {
+            return null;
+        }
+        return new ExchangeMetrics() {
+            @Override
+            public void onHttp(long durationNanos, int statusCode) {
+                mpesaMetrics.recordLatency(mpesaURL, MpesaMetrics.Phase.HTTP, durationNanos);
+            }
+
+            @Override
+            public void onParse(long durationNanos) {
+                mpesaMetrics.recordLatency(mpesaURL, MpesaMetrics.Phase.PARSE, durationNanos);
+            }
+        };
+    }
+
+    private MpesaResponse execute(@NotNull MpesaRequest mpesaRequest, @NotNull MpesaURL mpesaURL) throws Exception {
+        MpesaMetrics mpesaMetrics = metrics();
+        long startedAt = System.nanoTime();
+        mpesaMetrics.onRequest(mpesaURL);
+        MpesaResponse mpesaResponse;
+        try {
+            permit(mpesaURL);
+            long permittedAt = System.nanoTime();
+            mpesaMetrics.recordLatency(mpesaURL, MpesaMetrics.Phase.PERMIT, permittedAt - startedAt);
+            String accessToken = accessToken();
+            mpesaMetrics.recordLatency(mpesaURL, MpesaMetrics.Phase.TOKEN, System.nanoTime() - permittedAt);
+            mpesaResponse = post(accessToken, mpesaRequest, mpesaURL);
+            if (isRejectedToken(mpesaResponse)) {
+                tokenCache().invalidate(resolveBaseUrl(), consumerKey, accessToken);
+                mpesaResponse = post(accessToken(), mpesaRequest, mpesaURL);
+            }
+        } catch (Exception e) {
+            recordOutcome(mpesaMetrics, mpesaURL, startedAt, null, e);
+            throw e;
+        }
+        recordOutcome(mpesaMetrics, mpesaURL, startedAt, mpesaResponse, null);
+        return mpesaResponse;
+    }
+
+    private CompletableFuture<MpesaResponse> executeAsync(@NotNull Callable<MpesaRequest> requestPreparer, @NotNull MpesaURL mpesaURL) {
+        MpesaRequest mpesaRequest;
+        try {
+            mpesaRequest = requestPreparer.call();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        MpesaMetrics mpesaMetrics = metrics();
+        if (mpesaMetrics == MpesaMetrics.noop()) {
+            return permitAsync(mpesaURL)
+                    .thenCompose(permit -> accessTokenAsync())
+                    .thenCompose(accessToken -> postAsync(accessToken, mpesaRequest, mpesaURL));
+        }
+        long startedAt = System.nanoTime();
+        mpesaMetrics.onRequest(mpesaURL);
+        return permitAsync(mpesaURL)
+                .thenCompose(permit -> {
+                    long permittedAt = System.nanoTime();
+                    mpesaMetrics.recordLatency(mpesaURL, MpesaMetrics.Phase.PERMIT, permittedAt - startedAt);
+                    return accessTokenAsync().whenComplete((accessToken, throwable) ->
+                            mpesaMetrics.recordLatency(mpesaURL, MpesaMetrics.Phase.TOKEN, System.nanoTime() - permittedAt));
+                })
+                .thenCompose(accessToken -> postAsync(accessToken, mpesaRequest, mpesaURL))
+                .whenComplete((mpesaResponse, throwable) -> recordOutcome(mpesaMetrics, mpesaURL, startedAt, mpesaResponse, throwable));
+    }
+
+    private MpesaResponse post(String accessToken, @NotNull MpesaRequest mpesaRequest, @NotNull MpesaURL mpesaURL) throws Exception {
+        try (ApiClient<MpesaRequest, MpesaResponse> build = buildRequest(accessToken, mpesaRequest, mpesaURL)) {
+            return build.post();
+        }
+    }
+
+    /**
+     * Non blocking variant of post(...), a rejected token is dropped from the cache and the request sent once more with a fresh one
+     */
+    private CompletableFuture<MpesaResponse> postAsync(String accessToken, @NotNull MpesaRequest mpesaRequest, @NotNull MpesaURL mpesaURL) {
+        return buildRequest(accessToken, mpesaRequest, mpesaURL).postAsync().thenCompose(mpesaResponse -> {
+            if (!isRejectedToken(mpesaResponse)) {
+                return CompletableFuture.completedFuture(mpesaResponse);
+            }
+            tokenCache().invalidate(resolveBaseUrl(), consumerKey, accessToken);
+            return accessTokenAsync().thenCompose(freshToken -> buildRequest(freshToken, mpesaRequest, mpesaURL).postAsync());
+        });
+    }
+
+    /**
+     * Whether DARAJA rejected the access token, e.g. one revoked before its expires_in ran out.
+     * The request was refused before processing, so sending it again cannot duplicate a payment
+     */
+    private static boolean isRejectedToken(@NotNull MpesaResponse mpesaResponse) {
+        String errorCode = mpesaResponse.getErrorCode();
+        return errorCode != null && (errorCode.equals(INVALID_ACCESS_TOKEN) || errorCode.startsWith("401."));
+    }
+
+    /**
+     * Records the total latency of a call and its DARAJA errorCode or exception
+     */
+    private static void recordOutcome(MpesaMetrics mpesaMetrics, MpesaURL mpesaURL, long startedAt, MpesaResponse mpesaResponse, Throwable throwable) {
+        mpesaMetrics.recordLatency(mpesaURL, MpesaMetrics.Phase.TOTAL, System.nanoTime() - startedAt);
+        if (throwable != null) {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            mpesaMetrics.onError(mpesaURL, cause.getClass().getSimpleName());
+        } else if (mpesaResponse != null && mpesaResponse.getErrorCode() != null) {
+            mpesaMetrics.onError(mpesaURL, mpesaResponse.getErrorCode());
+        }
+    }
+
+    private MpesaResponse responseCodeStatus(@NotNull MpesaResponse mpesaResponse) {
+        Integer responseCode = mpesaResponse.getResponseCode();
+        mpesaResponse.setInternalStatus(responseCode != null && responseCode == 0);
+        return mpesaResponse;
+    }
+
+    private MpesaResponse stkQueryStatus(@NotNull MpesaResponse mpesaResponse) {
+        Integer responseCode = mpesaResponse.getResponseCode();
+        String resultCode = mpesaResponse.getResultCode();
+        mpesaResponse.setInternalStatus(responseCode != null && responseCode == 0 && resultCode != null && resultCode.equals("0"));
+        return mpesaResponse;
+    }
+
+    private MpesaResponse B2BStkStatus(@NotNull MpesaResponse mpesaResponse) {
+        ResponseBody responseBody = mpesaResponse.getResponseBody();
+        Integer code = responseBody != null ? responseBody.getCode() : null;
+        String status = responseBody != null ? responseBody.getStatus() : null;
+        mpesaResponse.setInternalStatus(code != null && code == 0);
+
+        if (!mpesaResponse.isInternalStatus() && code != null) {
+            mpesaResponse.setErrorCode(code.toString());
+        }
+        if (!mpesaResponse.isInternalStatus() && status != null) {
+            mpesaResponse.setErrorMessage(status);
+        }
+        return mpesaResponse;
+    }
+
+    private void B2BPaymentValidation(@NotNull MpesaRequestDto requestDto) throws NoSuchPaddingException, IllegalBlockSizeException, CertificateException, IOException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException {
         if (initiatorPassword == null || initiatorPassword.isEmpty() || environment == null) {
             throw new RuntimeException("Initiator password and environment must be provided");
         }
-        MpesaRequestType mpesaRequestType = mpesaRequestDto.getMpesaRequestType();
+        MpesaRequestType mpesaRequestType = requestDto.getMpesaRequestType();
         List<String> allowedMpesaRequestTypes = List.of(MpesaRequestType.B2B_PAY_BILL.toString(), MpesaRequestType.B2B_BUY_GOODS.toString());
         if (!allowedMpesaRequestTypes.contains(mpesaRequestType.toString())) {
             throw new RuntimeException("Either B2B_PAY_BILL & B2B_BUY_GOODS allowed");
         }
 
         //generate security credentials
-        String securityCredentials = Helpers.generateSecurityCredentials(initiatorPassword, environment == Environment.DEVELOPMENT ? Helpers.MPESA_CERT_DEV : Helpers.MPESA_CERT_PROD);
-        mpesaRequestDto.setSecurityCredential(securityCredentials);
+        String securityCredentials = securityCredential();
+        requestDto.setSecurityCredential(securityCredentials);
 
-        mpesaRequestDto.setInitiator(initiatorName);
-        mpesaRequestDto.setSenderIdentifierType("4");
-        mpesaRequestDto.setRecieverIdentifierType("4");
+        requestDto.setInitiator(initiatorName);
+        requestDto.setSenderIdentifierType("4");
+        requestDto.setRecieverIdentifierType("4");
     }
 
     /**
@@ -97,17 +423,80 @@ public class MpesaClient {
      * @throws Exception
      */
     public MpesaResponse generateAccessToken() throws Exception {
-        String basicAuth = Helpers.generateBasicAuth(consumerKey, consumerSecret);
-        try (ApiClient<MpesaRequest, MpesaResponse> apiClient = new ApiClient<>();
-             ApiClient<MpesaRequest, MpesaResponse> apiClientBuild = apiClient.toBuilder()
-                     .responseClass(MpesaResponse.class)
-                     .baseUri(Helpers.buildUrl(null, environment.getValue(), MpesaURL.AUTH.getUrl()).toString())
-                     .headers(Collections.singletonList(new Header("Authorization", "Basic " + basicAuth)))
-                     .build()) {
-            MpesaResponse mpesaResponse = apiClientBuild.get();
+        permit(MpesaURL.AUTH);
+        TokenFetchEvent event = new TokenFetchEvent();
+        event.begin();
+        long startedAt = System.nanoTime();
+        MpesaResponse mpesaResponse = null;
+        try (ApiClient<MpesaRequest, MpesaResponse> apiClientBuild = buildAuthRequest()) {
+            mpesaResponse = apiClientBuild.get();
             mpesaResponse.setInternalStatus(mpesaResponse.getAccessToken() != null);
+            metrics().onTokenRefresh(System.nanoTime() - startedAt, mpesaResponse.isInternalStatus());
             return mpesaResponse;
+        } catch (Exception e) {
+            metrics().onTokenRefresh(System.nanoTime() - startedAt, false);
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                commit(event, mpesaResponse);
+            }
+        }
+    }
+
+    /**
+     * Generate access_token from DARAJA api without blocking the calling thread
+     *
+     * @return Future of MpesaResponse {accessToken, expiresIn}
+     */
+    public CompletableFuture<MpesaResponse> generateAccessTokenAsync() {
+        MpesaMetrics mpesaMetrics = metrics();
+        return permitAsync(MpesaURL.AUTH).thenCompose(permit -> {
+            long startedAt = System.nanoTime();
+            CompletableFuture<MpesaResponse> response = buildAuthRequest().getAsync().whenComplete((mpesaResponse, throwable) ->
+                    mpesaMetrics.onTokenRefresh(System.nanoTime() - startedAt, throwable == null && mpesaResponse.getAccessToken() != null));
+            if (!TokenFetchEvent.enabled()) {
+                return response;
+            }
+            TokenFetchEvent event = new TokenFetchEvent();
+            event.begin();
+            return response.whenComplete((mpesaResponse, throwable) -> {
+                event.end();
+                if (event.shouldCommit()) {
+                    commit(event, throwable == null ? mpesaResponse : null);
+                }
+            });
+        }).thenApply(mpesaResponse -> {
+            mpesaResponse.setInternalStatus(mpesaResponse.getAccessToken() != null);
+            return mpesaResponse;
+        });
+    }
+
+    /**
+     * Fills in and commits the TokenFetch event of one token request
+     *
+     * @param event         Ended event
+     * @param mpesaResponse Token response, null when the request failed
+     */
+    private void commit(TokenFetchEvent event, MpesaResponse mpesaResponse) {
+        event.baseUrl = resolveBaseUrl();
+        if (mpesaResponse != null) {
+            event.successful = mpesaResponse.getAccessToken() != null;
+            event.expiresIn = mpesaResponse.getExpiresIn() != null ? mpesaResponse.getExpiresIn() : 0;
         }
+        event.commit();
+    }
+
+    private ApiClient<MpesaRequest, MpesaResponse> buildAuthRequest() {
+        String basicAuth = Helpers.generateBasicAuth(consumerKey, consumerSecret);
+        return new ApiClient<MpesaRequest, MpesaResponse>(transport()).toBuilder()
+                .responseClass(MpesaResponse.class)
+                .baseUri(Helpers.buildUrl(null, resolveBaseUrl(), MpesaURL.AUTH.getUrl()).toString())
+                .headers(Collections.singletonList(new Header("Authorization", "Basic " + basicAuth)))
+                .circuitBreaker(circuitBreaker(MpesaURL.AUTH))
+                .exchangeMetrics(exchangeMetrics(MpesaURL.AUTH))
+                .interceptors(interceptors)
+                .build();
     }
 
     /**
@@ -118,14 +507,38 @@ public class MpesaClient {
      * @throws Exception if there is an error during the request
      */
     public MpesaResponse stkSend() throws Exception {
-        MpesaRequest mpesaRequest = initialStkSetup(MpesaRequestType.STK_SEND);
-        try (ApiClient<MpesaRequest, MpesaResponse> apiClient = new ApiClient<>();
-             ApiClient<MpesaRequest, MpesaResponse> build = buildRequest(apiClient, mpesaRequest, MpesaURL.STK_SEND)) {
-            MpesaResponse mpesaResponse = build.post();
-            Integer responseCode = mpesaResponse.getResponseCode();
-            mpesaResponse.setInternalStatus(responseCode != null && responseCode == 0);
-            return mpesaResponse;
-        }
+        return stkSend(mpesaRequestDto);
+    }
+
+    /**
+     * Initiates STK push request, safe to call concurrently on a shared client.
+     *
+     * @param stkPushRequest Per call request
+     * @return MpesaResponse Success{ internalStatus=true, merchantRequestID, checkoutRequestID, responseCode, responseDescription, customerMessage } ||
+     * MpesaResponse Failed{ internalStatus=false, requestId, errorCode, errorMessage }
+     * @throws Exception if there is an error during the request
+     */
+    public MpesaResponse stkSend(@NotNull StkPushRequest stkPushRequest) throws Exception {
+        return stkSend(stkPushRequest.toMpesaRequestDto());
+    }
+
+    /**
+     * Initiates STK push request without blocking the calling thread.
+     *
+     * @param stkPushRequest Per call request
+     * @return Future of MpesaResponse Success{ internalStatus=true, merchantRequestID, checkoutRequestID, responseCode, responseDescription, customerMessage } ||
+     * MpesaResponse Failed{ internalStatus=false, requestId, errorCode, errorMessage }
+     */
+    public CompletableFuture<MpesaResponse> stkSendAsync(@NotNull StkPushRequest stkPushRequest) {
+        return executeAsync(() -> prepareStkSend(stkPushRequest.toMpesaRequestDto()), MpesaURL.STK_SEND).thenApply(this::responseCodeStatus);
+    }
+
+    private MpesaResponse stkSend(@NotNull MpesaRequestDto requestDto) throws Exception {
+        return responseCodeStatus(execute(prepareStkSend(requestDto), MpesaURL.STK_SEND));
+    }
+
+    private MpesaRequest prepareStkSend(@NotNull MpesaRequestDto requestDto) throws Exception {
+        return initialStkSetup(requestDto, MpesaRequestType.STK_SEND);
     }
 
     /**
@@ -134,11 +547,14 @@ public class MpesaClient {
      * ResponseParserType.B2B_PAYMENT MpesaResponse{ internalStatus=true | false, Result }
      * ResponseParserType.B2B_STK MpesaResponse{ internalStatus=true | false, resultCode, resultDesc,requestId, amount, paymentReference, resultType, conversationId, transactionId, status }
      * ResponseParserType.B2C MpesaResponse{ internalStatus=true | false, result }
+     * Registered CallbackListeners are notified once the response is parsed.
      *
      * @param mpesaResponse
      * @param responseParserType
      */
     public void responseParser(@NotNull MpesaResponse mpesaResponse, @NotNull ResponseParserType responseParserType) {
+        CallbackParseEvent event = new CallbackParseEvent();
+        event.begin();
         switch (responseParserType) {
             case ResponseParserType.C2B_STK -> {
                 mpesaResponse.setInternalStatus(mpesaResponse.getBody().getStkCallback().getResultCode() == 0);
@@ -204,6 +620,51 @@ public class MpesaClient {
                 }
             }
         }
+        if (event.shouldCommit()) {
+            event.parserType = responseParserType.name();
+            event.successful = mpesaResponse.isInternalStatus();
+            event.commit();
+        }
+        for (CallbackListener callbackListener : callbackListeners) {
+            callbackListener.onCallback(mpesaResponse, responseParserType);
+        }
+    }
+
+    /**
+     * Notifies CallbackListeners of a callback already read into a CallbackResult, e.g. by StkCallbackParser.
+     * Listeners receive callbackResult.toMpesaResponse(), which is only built when a listener is registered.
+     *
+     * @param callbackResult     Parsed callback
+     * @param responseParserType Type of the callback
+     */
+    public void responseParser(@NotNull CallbackResult callbackResult, @NotNull ResponseParserType responseParserType) {
+        if (callbackListeners.isEmpty()) {
+            return;
+        }
+        MpesaResponse mpesaResponse = callbackResult.toMpesaResponse();
+        for (CallbackListener callbackListener : callbackListeners) {
+            callbackListener.onCallback(mpesaResponse, responseParserType);
+        }
+    }
+
+    /**
+     * Registers a listener that receives every callback parsed by responseParser(...)
+     *
+     * @param callbackListener Listener
+     * @return MpesaClient
+     */
+    public MpesaClient addCallbackListener(@NotNull CallbackListener callbackListener) {
+        callbackListeners.add(callbackListener);
+        return this;
+    }
+
+    /**
+     * @param callbackListener Listener added with addCallbackListener(...)
+     * @return MpesaClient
+     */
+    public MpesaClient removeCallbackListener(@NotNull CallbackListener callbackListener) {
+        callbackListeners.remove(callbackListener);
+        return this;
     }
 
     /**
@@ -213,15 +674,36 @@ public class MpesaClient {
      * @throws Exception
      */
     public MpesaResponse stkQuery() throws Exception {
-        MpesaRequest mpesaRequest = initialStkSetup(MpesaRequestType.STK_QUERY);
-        try (ApiClient<MpesaRequest, MpesaResponse> apiClient = new ApiClient<>();
-             ApiClient<MpesaRequest, MpesaResponse> build = buildRequest(apiClient, mpesaRequest, MpesaURL.STK_QUERY)) {
-            MpesaResponse mpesaResponse = build.post();
-            Integer responseCode = mpesaResponse.getResponseCode();
-            String resultCode = mpesaResponse.getResultCode();
-            mpesaResponse.setInternalStatus(responseCode != null && responseCode == 0 && resultCode != null && resultCode.equals("0"));
-            return mpesaResponse;
-        }
+        return stkQuery(mpesaRequestDto);
+    }
+
+    /**
+     * Checks the status of an  STK push, safe to call concurrently on a shared client.
+     *
+     * @param stkQueryRequest Per call request
+     * @return MpesaResponse { internalStatus=true|false, responseCode, responseDescription, merchantRequestID, checkoutRequestID, resultCode, resultDesc }
+     * @throws Exception
+     */
+    public MpesaResponse stkQuery(@NotNull StkQueryRequest stkQueryRequest) throws Exception {
+        return stkQuery(stkQueryRequest.toMpesaRequestDto());
+    }
+
+    /**
+     * Checks the status of an  STK push without blocking the calling thread.
+     *
+     * @param stkQueryRequest Per call request
+     * @return Future of MpesaResponse { internalStatus=true|false, responseCode, responseDescription, merchantRequestID, checkoutRequestID, resultCode, resultDesc }
+     */
+    public CompletableFuture<MpesaResponse> stkQueryAsync(@NotNull StkQueryRequest stkQueryRequest) {
+        return executeAsync(() -> prepareStkQuery(stkQueryRequest.toMpesaRequestDto()), MpesaURL.STK_QUERY).thenApply(this::stkQueryStatus);
+    }
+
+    private MpesaResponse stkQuery(@NotNull MpesaRequestDto requestDto) throws Exception {
+        return stkQueryStatus(execute(prepareStkQuery(requestDto), MpesaURL.STK_QUERY));
+    }
+
+    private MpesaRequest prepareStkQuery(@NotNull MpesaRequestDto requestDto) throws Exception {
+        return initialStkSetup(requestDto, MpesaRequestType.STK_QUERY);
     }
 
     /**
@@ -229,16 +711,39 @@ public class MpesaClient {
      * @throws Exception
      */
     public MpesaResponse C2BRegisterURL() throws Exception {
+        return C2BRegisterURL(mpesaRequestDto);
+    }
+
+    /**
+     * Registers the validation and confirmation URLs, safe to call concurrently on a shared client.
+     *
+     * @param c2BRegisterURLRequest Per call request
+     * @return MpesaResponse { internalStatus=true|false, responseCode, originatorCoversationID, responseDescription }
+     * @throws Exception
+     */
+    public MpesaResponse C2BRegisterURL(@NotNull C2BRegisterURLRequest c2BRegisterURLRequest) throws Exception {
+        return C2BRegisterURL(c2BRegisterURLRequest.toMpesaRequestDto());
+    }
+
+    /**
+     * Registers the validation and confirmation URLs without blocking the calling thread.
+     *
+     * @param c2BRegisterURLRequest Per call request
+     * @return Future of MpesaResponse { internalStatus=true|false, responseCode, originatorCoversationID, responseDescription }
+     */
+    public CompletableFuture<MpesaResponse> C2BRegisterURLAsync(@NotNull C2BRegisterURLRequest c2BRegisterURLRequest) {
+        return executeAsync(() -> prepareC2BRegisterURL(c2BRegisterURLRequest.toMpesaRequestDto()), MpesaURL.C2B_REGISTER_URL).thenApply(this::responseCodeStatus);
+    }
+
+    private MpesaResponse C2BRegisterURL(@NotNull MpesaRequestDto requestDto) throws Exception {
+        return responseCodeStatus(execute(prepareC2BRegisterURL(requestDto), MpesaURL.C2B_REGISTER_URL));
+    }
+
+    private MpesaRequest prepareC2BRegisterURL(@NotNull MpesaRequestDto requestDto) throws Exception {
         MpesaRequest mpesaRequest = new MpesaRequest();
-        mpesaRequestDto.setMpesaRequestType(MpesaRequestType.C2B_REGISTER_URL);
-        mpesaRequest.setMpesaRequestDto(mpesaRequestDto);
-        try (ApiClient<MpesaRequest, MpesaResponse> apiClient = new ApiClient<>();
-             ApiClient<MpesaRequest, MpesaResponse> build = buildRequest(apiClient, mpesaRequest, MpesaURL.C2B_REGISTER_URL)) {
-            MpesaResponse mpesaResponse = build.post();
-            Integer responseCode = mpesaResponse.getResponseCode();
-            mpesaResponse.setInternalStatus(responseCode != null && responseCode == 0);
-            return mpesaResponse;
-        }
+        requestDto.setMpesaRequestType(MpesaRequestType.C2B_REGISTER_URL);
+        mpesaRequest.setMpesaRequestDto(requestDto);
+        return mpesaRequest;
     }
 
     /**
@@ -246,21 +751,44 @@ public class MpesaClient {
      * @throws Exception
      */
     public MpesaResponse C2BTransactionStatus() throws Exception {
+        return C2BTransactionStatus(mpesaRequestDto);
+    }
+
+    /**
+     * Checks the status of a transaction, safe to call concurrently on a shared client.
+     *
+     * @param transactionStatusRequest Per call request
+     * @return MpesaResponse { internalStatus=true|false, originatorConversationId, conversationId, responseCode, responseDescription }
+     * @throws Exception
+     */
+    public MpesaResponse C2BTransactionStatus(@NotNull TransactionStatusRequest transactionStatusRequest) throws Exception {
+        return C2BTransactionStatus(transactionStatusRequest.toMpesaRequestDto());
+    }
+
+    /**
+     * Checks the status of a transaction without blocking the calling thread.
+     *
+     * @param transactionStatusRequest Per call request
+     * @return Future of MpesaResponse { internalStatus=true|false, originatorConversationId, conversationId, responseCode, responseDescription }
+     */
+    public CompletableFuture<MpesaResponse> C2BTransactionStatusAsync(@NotNull TransactionStatusRequest transactionStatusRequest) {
+        return executeAsync(() -> prepareC2BTransactionStatus(transactionStatusRequest.toMpesaRequestDto()), MpesaURL.C2B_TRANSACTION_STATUS_URL).thenApply(this::responseCodeStatus);
+    }
+
+    private MpesaResponse C2BTransactionStatus(@NotNull MpesaRequestDto requestDto) throws Exception {
+        return responseCodeStatus(execute(prepareC2BTransactionStatus(requestDto), MpesaURL.C2B_TRANSACTION_STATUS_URL));
+    }
+
+    private MpesaRequest prepareC2BTransactionStatus(@NotNull MpesaRequestDto requestDto) throws Exception {
         //generate security credentials
-        String securityCredentials = Helpers.generateSecurityCredentials(initiatorPassword, environment == Environment.DEVELOPMENT ? Helpers.MPESA_CERT_DEV : Helpers.MPESA_CERT_PROD);
-        mpesaRequestDto.setSecurityCredential(securityCredentials);
-        mpesaRequestDto.setInitiator(initiatorName);
+        String securityCredentials = securityCredential();
+        requestDto.setSecurityCredential(securityCredentials);
+        requestDto.setInitiator(initiatorName);
 
         MpesaRequest mpesaRequest = new MpesaRequest();
-        mpesaRequestDto.setMpesaRequestType(MpesaRequestType.C2B_TRANSACTION_STATUS);
-        mpesaRequest.setMpesaRequestDto(mpesaRequestDto);
-        try (ApiClient<MpesaRequest, MpesaResponse> apiClient = new ApiClient<>();
-             ApiClient<MpesaRequest, MpesaResponse> build = buildRequest(apiClient, mpesaRequest, MpesaURL.C2B_TRANSACTION_STATUS_URL)) {
-            MpesaResponse mpesaResponse = build.post();
-            Integer responseCode = mpesaResponse.getResponseCode();
-            mpesaResponse.setInternalStatus(responseCode != null && responseCode == 0);
-            return mpesaResponse;
-        }
+        requestDto.setMpesaRequestType(MpesaRequestType.C2B_TRANSACTION_STATUS);
+        mpesaRequest.setMpesaRequestDto(requestDto);
+        return mpesaRequest;
     }
 
     /**
@@ -302,17 +830,41 @@ public class MpesaClient {
      * @throws Exception
      */
     public MpesaResponse B2BPayment() throws Exception {
-        B2BPaymentValidation();
-        MpesaRequest mpesaRequest = new MpesaRequest();
-        mpesaRequest.setMpesaRequestDto(mpesaRequestDto);
+        return B2BPayment(mpesaRequestDto);
+    }
 
-        try (ApiClient<MpesaRequest, MpesaResponse> apiClient = new ApiClient<>();
-             ApiClient<MpesaRequest, MpesaResponse> build = buildRequest(apiClient, mpesaRequest, MpesaURL.B2B_PAYMENT)) {
-            MpesaResponse mpesaResponse = build.post();
-            Integer responseCode = mpesaResponse.getResponseCode();
-            mpesaResponse.setInternalStatus(responseCode != null && responseCode == 0);
-            return mpesaResponse;
-        }
+    /**
+     * Make payment from paybill or buy goods to paybill or buy goods account, safe to call concurrently on a shared client.
+     *
+     * @param b2BPaymentRequest Per call request
+     * @return MpesaResponse Success{ internalStatus=true, responseCode, originatorConversationId, conversationId, responseDescription  } ||
+     * MpesaResponse Failed{ internalStatus=false, requestId, errorCode, errorMessage }
+     * @throws Exception
+     */
+    public MpesaResponse B2BPayment(@NotNull B2BPaymentRequest b2BPaymentRequest) throws Exception {
+        return B2BPayment(b2BPaymentRequest.toMpesaRequestDto());
+    }
+
+    /**
+     * Make payment from paybill or buy goods to paybill or buy goods account without blocking the calling thread.
+     *
+     * @param b2BPaymentRequest Per call request
+     * @return Future of MpesaResponse Success{ internalStatus=true, responseCode, originatorConversationId, conversationId, responseDescription  } ||
+     * MpesaResponse Failed{ internalStatus=false, requestId, errorCode, errorMessage }
+     */
+    public CompletableFuture<MpesaResponse> B2BPaymentAsync(@NotNull B2BPaymentRequest b2BPaymentRequest) {
+        return executeAsync(() -> prepareB2BPayment(b2BPaymentRequest.toMpesaRequestDto()), MpesaURL.B2B_PAYMENT).thenApply(this::responseCodeStatus);
+    }
+
+    private MpesaResponse B2BPayment(@NotNull MpesaRequestDto requestDto) throws Exception {
+        return responseCodeStatus(execute(prepareB2BPayment(requestDto), MpesaURL.B2B_PAYMENT));
+    }
+
+    private MpesaRequest prepareB2BPayment(@NotNull MpesaRequestDto requestDto) throws Exception {
+        B2BPaymentValidation(requestDto);
+        MpesaRequest mpesaRequest = new MpesaRequest();
+        mpesaRequest.setMpesaRequestDto(requestDto);
+        return mpesaRequest;
     }
 
 
@@ -324,31 +876,45 @@ public class MpesaClient {
      * @throws Exception
      */
     public MpesaResponse B2BStk() throws Exception {
-        if (mpesaRequestDto.getAmt() < MIN_B2B_AMOUNT) {
-            throw new RuntimeException("Amt should be greater or equal to " + MIN_B2B_AMOUNT);
-        }
+        return B2BStk(mpesaRequestDto);
+    }
 
-        mpesaRequestDto.setMpesaRequestType(MpesaRequestType.B2B_STK);
-        MpesaRequest mpesaRequest = new MpesaRequest();
-        mpesaRequest.setMpesaRequestDto(mpesaRequestDto);
+    /**
+     * Make payment from paybill or buy goods to paybill or buy goods account using USSDPUSH, safe to call concurrently on a shared client.
+     *
+     * @param b2BStkRequest Per call request
+     * @return MpesaResponse Success{ internalStatus=true, ResponseBody  } ||
+     * MpesaResponse Failed{ internalStatus=false, errorCode, errorMessage, ResponseBody }
+     * @throws Exception
+     */
+    public MpesaResponse B2BStk(@NotNull B2BStkRequest b2BStkRequest) throws Exception {
+        return B2BStk(b2BStkRequest.toMpesaRequestDto());
+    }
 
-        try (ApiClient<MpesaRequest, MpesaResponse> apiClient = new ApiClient<>();
-             ApiClient<MpesaRequest, MpesaResponse> build = buildRequest(apiClient, mpesaRequest, MpesaURL.B2B_STK)) {
-            MpesaResponse mpesaResponse = build.post();
+    /**
+     * Make payment from paybill or buy goods to paybill or buy goods account using USSDPUSH without blocking the calling thread.
+     *
+     * @param b2BStkRequest Per call request
+     * @return Future of MpesaResponse Success{ internalStatus=true, ResponseBody  } ||
+     * MpesaResponse Failed{ internalStatus=false, errorCode, errorMessage, ResponseBody }
+     */
+    public CompletableFuture<MpesaResponse> B2BStkAsync(@NotNull B2BStkRequest b2BStkRequest) {
+        return executeAsync(() -> prepareB2BStk(b2BStkRequest.toMpesaRequestDto()), MpesaURL.B2B_STK).thenApply(this::B2BStkStatus);
+    }
 
-            ResponseBody responseBody = mpesaResponse.getResponseBody();
-            Integer code = responseBody != null ? responseBody.getCode() : null;
-            String status = responseBody != null ? responseBody.getStatus() : null;
-            mpesaResponse.setInternalStatus(code != null && code == 0);
+    private MpesaResponse B2BStk(@NotNull MpesaRequestDto requestDto) throws Exception {
+        return B2BStkStatus(execute(prepareB2BStk(requestDto), MpesaURL.B2B_STK));
+    }
 
-            if (!mpesaResponse.isInternalStatus() && code != null) {
-                mpesaResponse.setErrorCode(code.toString());
-            }
-            if (!mpesaResponse.isInternalStatus() && status != null) {
-                mpesaResponse.setErrorMessage(status);
-            }
-            return mpesaResponse;
+    private MpesaRequest prepareB2BStk(@NotNull MpesaRequestDto requestDto) throws Exception {
+        if (requestDto.getAmt() < MIN_B2B_AMOUNT) {
+            throw new RuntimeException("Amt should be greater or equal to " + MIN_B2B_AMOUNT);
         }
+
+        requestDto.setMpesaRequestType(MpesaRequestType.B2B_STK);
+        MpesaRequest mpesaRequest = new MpesaRequest();
+        mpesaRequest.setMpesaRequestDto(requestDto);
+        return mpesaRequest;
     }
 
     /**
@@ -359,21 +925,46 @@ public class MpesaClient {
      * @throws Exception
      */
     public MpesaResponse B2CDisbursement() throws Exception {
+        return B2CDisbursement(mpesaRequestDto);
+    }
+
+    /**
+     * Disburse cash from business to customer, safe to call concurrently on a shared client.
+     *
+     * @param b2CRequest Per call request
+     * @return MpesaResponse Success{ internalStatus=true, responseCode, originatorConversationId, conversationId, responseDescription  } ||
+     * MpesaResponse Failed{ internalStatus=false, errorCode, errorMessage, requestId }
+     * @throws Exception
+     */
+    public MpesaResponse B2CDisbursement(@NotNull B2CRequest b2CRequest) throws Exception {
+        return B2CDisbursement(b2CRequest.toMpesaRequestDto());
+    }
+
+    /**
+     * Disburse cash from business to customer without blocking the calling thread.
+     *
+     * @param b2CRequest Per call request
+     * @return Future of MpesaResponse Success{ internalStatus=true, responseCode, originatorConversationId, conversationId, responseDescription  } ||
+     * MpesaResponse Failed{ internalStatus=false, errorCode, errorMessage, requestId }
+     */
+    public CompletableFuture<MpesaResponse> B2CDisbursementAsync(@NotNull B2CRequest b2CRequest) {
+        return executeAsync(() -> prepareB2CDisbursement(b2CRequest.toMpesaRequestDto()), MpesaURL.B2C).thenApply(this::responseCodeStatus);
+    }
+
+    private MpesaResponse B2CDisbursement(@NotNull MpesaRequestDto requestDto) throws Exception {
+        return responseCodeStatus(execute(prepareB2CDisbursement(requestDto), MpesaURL.B2C));
+    }
+
+    private MpesaRequest prepareB2CDisbursement(@NotNull MpesaRequestDto requestDto) throws Exception {
         //generate security credentials
-        String securityCredentials = Helpers.generateSecurityCredentials(initiatorPassword, environment == Environment.DEVELOPMENT ? Helpers.MPESA_CERT_DEV : Helpers.MPESA_CERT_PROD);
-        mpesaRequestDto.setSecurityCredential(securityCredentials);
-        mpesaRequestDto.setInitiatorName(initiatorName);
+        String securityCredentials = securityCredential();
+        requestDto.setSecurityCredential(securityCredentials);
+        requestDto.setInitiatorName(initiatorName);
 
         MpesaRequest mpesaRequest = new MpesaRequest();
-        mpesaRequestDto.setMpesaRequestType(MpesaRequestType.B2C);
-        mpesaRequest.setMpesaRequestDto(mpesaRequestDto);
-        try (ApiClient<MpesaRequest, MpesaResponse> apiClient = new ApiClient<>();
-             ApiClient<MpesaRequest, MpesaResponse> build = buildRequest(apiClient, mpesaRequest, MpesaURL.B2C)) {
-            MpesaResponse mpesaResponse = build.post();
-            Integer responseCode = mpesaResponse.getResponseCode();
-            mpesaResponse.setInternalStatus(responseCode != null && responseCode == 0);
-            return mpesaResponse;
-        }
+        requestDto.setMpesaRequestType(MpesaRequestType.B2C);
+        mpesaRequest.setMpesaRequestDto(requestDto);
+        return mpesaRequest;
     }
 
     /**
@@ -384,25 +975,50 @@ public class MpesaClient {
      * @throws Exception
      */
     public MpesaResponse remitTax() throws Exception {
+        return remitTax(mpesaRequestDto);
+    }
+
+    /**
+     * Remit tax to tax organization, safe to call concurrently on a shared client.
+     *
+     * @param taxRemittanceRequest Per call request
+     * @return MpesaResponse Success{ internalStatus=true, responseCode, originatorConversationId, conversationId, responseDescription  } ||
+     * MpesaResponse Failed{ internalStatus=false, errorCode, errorMessage, requestId }
+     * @throws Exception
+     */
+    public MpesaResponse remitTax(@NotNull TaxRemittanceRequest taxRemittanceRequest) throws Exception {
+        return remitTax(taxRemittanceRequest.toMpesaRequestDto());
+    }
+
+    /**
+     * Remit tax to tax organization without blocking the calling thread.
+     *
+     * @param taxRemittanceRequest Per call request
+     * @return Future of MpesaResponse Success{ internalStatus=true, responseCode, originatorConversationId, conversationId, responseDescription  } ||
+     * MpesaResponse Failed{ internalStatus=false, errorCode, errorMessage, requestId }
+     */
+    public CompletableFuture<MpesaResponse> remitTaxAsync(@NotNull TaxRemittanceRequest taxRemittanceRequest) {
+        return executeAsync(() -> prepareRemitTax(taxRemittanceRequest.toMpesaRequestDto()), MpesaURL.TAX_REMITTANCE).thenApply(this::responseCodeStatus);
+    }
+
+    private MpesaResponse remitTax(@NotNull MpesaRequestDto requestDto) throws Exception {
+        return responseCodeStatus(execute(prepareRemitTax(requestDto), MpesaURL.TAX_REMITTANCE));
+    }
+
+    private MpesaRequest prepareRemitTax(@NotNull MpesaRequestDto requestDto) throws Exception {
         //generate security credentials
-        String securityCredentials = Helpers.generateSecurityCredentials(initiatorPassword, environment == Environment.DEVELOPMENT ? Helpers.MPESA_CERT_DEV : Helpers.MPESA_CERT_PROD);
-        mpesaRequestDto.setSecurityCredential(securityCredentials);
-        mpesaRequestDto.setInitiator(initiatorName);
-        mpesaRequestDto.setCommandId(TAX_COMMAND_ID);
-        mpesaRequestDto.setSenderIdentifierType(SENDER_IDENTIFIER_TYPE);
-        mpesaRequestDto.setRecieverIdentifierType(RECEIVER_IDENTIFIER_TYPE);
-        mpesaRequestDto.setPartyB(TAX_ORG_BUSINESS_SHORTCODE);
+        String securityCredentials = securityCredential();
+        requestDto.setSecurityCredential(securityCredentials);
+        requestDto.setInitiator(initiatorName);
+        requestDto.setCommandId(TAX_COMMAND_ID);
+        requestDto.setSenderIdentifierType(SENDER_IDENTIFIER_TYPE);
+        requestDto.setRecieverIdentifierType(RECEIVER_IDENTIFIER_TYPE);
+        requestDto.setPartyB(TAX_ORG_BUSINESS_SHORTCODE);
 
         MpesaRequest mpesaRequest = new MpesaRequest();
-        mpesaRequestDto.setMpesaRequestType(MpesaRequestType.TAX_REMITTANCE);
-        mpesaRequest.setMpesaRequestDto(mpesaRequestDto);
-        try (ApiClient<MpesaRequest, MpesaResponse> apiClient = new ApiClient<>();
-             ApiClient<MpesaRequest, MpesaResponse> build = buildRequest(apiClient, mpesaRequest, MpesaURL.TAX_REMITTANCE)) {
-            MpesaResponse mpesaResponse = build.post();
-            Integer responseCode = mpesaResponse.getResponseCode();
-            mpesaResponse.setInternalStatus(responseCode != null && responseCode == 0);
-            return mpesaResponse;
-        }
+        requestDto.setMpesaRequestType(MpesaRequestType.TAX_REMITTANCE);
+        mpesaRequest.setMpesaRequestDto(requestDto);
+        return mpesaRequest;
     }
 
     /**
@@ -413,16 +1029,41 @@ public class MpesaClient {
      * @throws Exception
      */
     public MpesaResponse generateDynamicQrCode() throws Exception {
+        return generateDynamicQrCode(mpesaRequestDto);
+    }
+
+    /**
+     * Generate dynamic QR Code, safe to call concurrently on a shared client.
+     *
+     * @param dynamicQrRequest Per call request
+     * @return MpesaResponse Success{ internalStatus=true, responseCode, requestID, responseDescription, qrCode  } ||
+     * MpesaResponse Failed{ internalStatus=false, errorCode, errorMessage, requestId }
+     * @throws Exception
+     */
+    public MpesaResponse generateDynamicQrCode(@NotNull DynamicQrRequest dynamicQrRequest) throws Exception {
+        return generateDynamicQrCode(dynamicQrRequest.toMpesaRequestDto());
+    }
+
+    /**
+     * Generate dynamic QR Code without blocking the calling thread.
+     *
+     * @param dynamicQrRequest Per call request
+     * @return Future of MpesaResponse Success{ internalStatus=true, responseCode, requestID, responseDescription, qrCode  } ||
+     * MpesaResponse Failed{ internalStatus=false, errorCode, errorMessage, requestId }
+     */
+    public CompletableFuture<MpesaResponse> generateDynamicQrCodeAsync(@NotNull DynamicQrRequest dynamicQrRequest) {
+        return executeAsync(() -> prepareDynamicQrCode(dynamicQrRequest.toMpesaRequestDto()), MpesaURL.DYNAMIC_QR).thenApply(this::responseCodeStatus);
+    }
+
+    private MpesaResponse generateDynamicQrCode(@NotNull MpesaRequestDto requestDto) throws Exception {
+        return responseCodeStatus(execute(prepareDynamicQrCode(requestDto), MpesaURL.DYNAMIC_QR));
+    }
+
+    private MpesaRequest prepareDynamicQrCode(@NotNull MpesaRequestDto requestDto) throws Exception {
         MpesaRequest mpesaRequest = new MpesaRequest();
-        mpesaRequestDto.setMpesaRequestType(MpesaRequestType.DYNAMIC_QR);
-        mpesaRequest.setMpesaRequestDto(mpesaRequestDto);
-        try (ApiClient<MpesaRequest, MpesaResponse> apiClient = new ApiClient<>();
-             ApiClient<MpesaRequest, MpesaResponse> build = buildRequest(apiClient, mpesaRequest, MpesaURL.DYNAMIC_QR)) {
-            MpesaResponse mpesaResponse = build.post();
-            Integer responseCode = mpesaResponse.getResponseCode();
-            mpesaResponse.setInternalStatus(responseCode != null && responseCode == 0);
-            return mpesaResponse;
-        }
+        requestDto.setMpesaRequestType(MpesaRequestType.DYNAMIC_QR);
+        mpesaRequest.setMpesaRequestDto(requestDto);
+        return mpesaRequest;
     }
 
 }
@@ -1,143 +1,155 @@
 package mpesa;
 
+import base.JsonCodec;
 import base.Request;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import mpesa.dto.MpesaRequestDto;
 import mpesa.util.CommandID;
 import mpesa.util.MpesaRequestType;
 import mpesa.util.TrxCodeType;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class MpesaRequest implements Request {
+    /**
+     * Fits the largest payload, a B2C or B2B request with its SecurityCredential, in the first block
+     */
+    private static final int INITIAL_BUFFER_SIZE = 1024;
 
     private MpesaRequestDto mpesaRequestDto;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String generatedOriginatorConversationId;
+
+    /**
+     * Id generated once per request, so every serialization and retry carries the same OriginatorConversationID
+     */
+    private synchronized String generatedOriginatorConversationId() {
+        if (generatedOriginatorConversationId == null) {
+            generatedOriginatorConversationId = UUID.randomUUID().toString();
+        }
+        return generatedOriginatorConversationId;
+    }
 
-    private MpesaRequestDto stkSendRequestPayload() {
-        MpesaRequestDto stkRequest = new MpesaRequestDto();
-        stkRequest.setBusinessShortCode(mpesaRequestDto.getBusinessShortCode());
-        stkRequest.setPassword(mpesaRequestDto.getPassword());
-        stkRequest.setTimestamp(mpesaRequestDto.getTimestamp());
-        stkRequest.setTransactionType(mpesaRequestDto.getStkTransactionType().getValue());
-        stkRequest.setAmount(mpesaRequestDto.getAmount());
-        stkRequest.setPartyA(mpesaRequestDto.getPhoneNumber());
-        stkRequest.setPartyB(Long.valueOf(mpesaRequestDto.getBusinessShortCode()));
-        stkRequest.setPhoneNumber(mpesaRequestDto.getPhoneNumber());
-        stkRequest.setCallbackURL(mpesaRequestDto.getCallbackURL());
-        stkRequest.setAccountReference(mpesaRequestDto.getAccountReference());
-        stkRequest.setTransactionDesc(mpesaRequestDto.getTransactionDesc());
-        return stkRequest;
-    }
-
-    private MpesaRequestDto stkQueryRequestPayload() {
-        MpesaRequestDto stkRequest = new MpesaRequestDto();
-        stkRequest.setBusinessShortCode(mpesaRequestDto.getBusinessShortCode());
-        stkRequest.setPassword(mpesaRequestDto.getPassword());
-        stkRequest.setTimestamp(mpesaRequestDto.getTimestamp());
-        stkRequest.setCheckoutRequestID(mpesaRequestDto.getCheckoutRequestID());
-        return stkRequest;
-    }
-
-    private MpesaRequestDto C2BRegisterURLPayload() {
-        MpesaRequestDto requestPayload = new MpesaRequestDto();
-        requestPayload.setShortCode(mpesaRequestDto.getBusinessShortCode());
-        requestPayload.setResponseType(mpesaRequestDto.getRegisterURLResponseType().getValue());
-        requestPayload.setConfirmationURL(mpesaRequestDto.getConfirmationURL());
-        requestPayload.setValidationURL(mpesaRequestDto.getValidationURL());
-        return requestPayload;
-    }
-    private MpesaRequestDto C2TransactionStatusPayload() {
-        MpesaRequestDto requestPayload = new MpesaRequestDto();
-        requestPayload.setCommandId("TransactionStatusQuery");
-        requestPayload.setOriginatorConversationId(UUID.randomUUID().toString());
-        requestPayload.setIdentifierType("4");
-        requestPayload.setInitiator(mpesaRequestDto.getInitiator());
-        requestPayload.setSecurityCredential(mpesaRequestDto.getSecurityCredential());
-        requestPayload.setTransactionId(mpesaRequestDto.getTransactionId());
-        requestPayload.setPartyA(Long.valueOf(mpesaRequestDto.getBusinessShortCode()));
-        requestPayload.setResultURL(mpesaRequestDto.getResultURL());
-        requestPayload.setQueueTimeOutURL(mpesaRequestDto.getQueueTimeOutURL());
-        requestPayload.setRemarks(mpesaRequestDto.getRemarks());
-        requestPayload.setOccassion(mpesaRequestDto.getOccassion());
-        return requestPayload;
-    }
-
-    private MpesaRequestDto B2BPaymentRequest() {
-        MpesaRequestDto requestPayload = new MpesaRequestDto();
+    private void writeStkSendPayload(JsonGenerator generator) throws IOException {
+        writeNumber(generator, "BusinessShortCode", mpesaRequestDto.getBusinessShortCode());
+        writeString(generator, "Password", mpesaRequestDto.getPassword());
+        writeString(generator, "Timestamp", mpesaRequestDto.getTimestamp());
+        writeString(generator, "TransactionType", mpesaRequestDto.getStkTransactionType().getValue());
+        generator.writeNumberField("Amount", mpesaRequestDto.getAmount());
+        writeNumber(generator, "PartyA", mpesaRequestDto.getPhoneNumber());
+        writeNumber(generator, "PartyB", mpesaRequestDto.getBusinessShortCode());
+        writeNumber(generator, "PhoneNumber", mpesaRequestDto.getPhoneNumber());
+        writeString(generator, "CallBackURL", mpesaRequestDto.getCallbackURL());
+        writeString(generator, "AccountReference", mpesaRequestDto.getAccountReference());
+        writeString(generator, "TransactionDesc", mpesaRequestDto.getTransactionDesc());
+    }
+
+    private void writeStkQueryPayload(JsonGenerator generator) throws IOException {
+        writeNumber(generator, "BusinessShortCode", mpesaRequestDto.getBusinessShortCode());
+        writeString(generator, "Password", mpesaRequestDto.getPassword());
+        writeString(generator, "Timestamp", mpesaRequestDto.getTimestamp());
+        writeString(generator, "CheckoutRequestID", mpesaRequestDto.getCheckoutRequestID());
+    }
+
+    private void writeC2BRegisterURLPayload(JsonGenerator generator) throws IOException {
+        writeNumber(generator, "ShortCode", mpesaRequestDto.getBusinessShortCode());
+        writeString(generator, "ResponseType", mpesaRequestDto.getRegisterURLResponseType().getValue());
+        writeString(generator, "ConfirmationURL", mpesaRequestDto.getConfirmationURL());
+        writeString(generator, "ValidationURL", mpesaRequestDto.getValidationURL());
+    }
+
+    private void writeC2TransactionStatusPayload(JsonGenerator generator) throws IOException {
+        writeNumber(generator, "PartyA", mpesaRequestDto.getBusinessShortCode());
+        writeString(generator, "Initiator", mpesaRequestDto.getInitiator());
+        writeString(generator, "SecurityCredential", mpesaRequestDto.getSecurityCredential());
+        generator.writeStringField("CommandID", "TransactionStatusQuery");
+        writeString(generator, "TransactionID", mpesaRequestDto.getTransactionId());
+        generator.writeStringField("IdentifierType", "4");
+        writeString(generator, "Remarks", mpesaRequestDto.getRemarks());
+        writeString(generator, "QueueTimeOutURL", mpesaRequestDto.getQueueTimeOutURL());
+        writeString(generator, "ResultURL", mpesaRequestDto.getResultURL());
+        writeString(generator, "Occassion", mpesaRequestDto.getOccassion());
+        generator.writeStringField("OriginatorConversationID", mpesaRequestDto.getOriginatorConversationId() != null
+                ? mpesaRequestDto.getOriginatorConversationId() : generatedOriginatorConversationId());
+    }
+
+    private void writeB2BPaymentPayload(JsonGenerator generator) throws IOException {
+        generator.writeNumberField("Amount", mpesaRequestDto.getAmount());
+        writeNumber(generator, "PartyA", mpesaRequestDto.getPartyA());
+        writeNumber(generator, "PartyB", mpesaRequestDto.getPartyB());
+        writeString(generator, "AccountReference", mpesaRequestDto.getAccountReference());
+        writeString(generator, "Initiator", mpesaRequestDto.getInitiator());
+        writeString(generator, "SecurityCredential", mpesaRequestDto.getSecurityCredential());
         if (mpesaRequestDto.getMpesaRequestType() == MpesaRequestType.B2B_PAY_BILL) {
-            requestPayload.setCommandId(CommandID.PAY_BILL.getValue());
+            generator.writeStringField("CommandID", CommandID.PAY_BILL.getValue());
         } else {
-            requestPayload.setCommandId(CommandID.BUY_GOODS.getValue());
+            generator.writeStringField("CommandID", CommandID.BUY_GOODS.getValue());
         }
-        requestPayload.setInitiator(mpesaRequestDto.getInitiator());
-        requestPayload.setSecurityCredential(mpesaRequestDto.getSecurityCredential());
-        requestPayload.setSenderIdentifierType(mpesaRequestDto.getSenderIdentifierType());
-        requestPayload.setRecieverIdentifierType(mpesaRequestDto.getRecieverIdentifierType());
-        requestPayload.setAmount(mpesaRequestDto.getAmount());
-        requestPayload.setPartyA(mpesaRequestDto.getPartyA());
-        requestPayload.setPartyB(mpesaRequestDto.getPartyB());
-        requestPayload.setAccountReference(mpesaRequestDto.getAccountReference());
-        requestPayload.setRequester(mpesaRequestDto.getPhoneNumber());
-        requestPayload.setRemarks(mpesaRequestDto.getRemarks());
-        requestPayload.setQueueTimeOutURL(mpesaRequestDto.getQueueTimeOutURL());
-        requestPayload.setResultURL(mpesaRequestDto.getResultURL());
-        return requestPayload;
-    }
-
-    private MpesaRequestDto B2BStkPayload() {
-        MpesaRequestDto requestPayload = new MpesaRequestDto();
-        requestPayload.setSendingPartyShortCode(mpesaRequestDto.getSendingPartyShortCode());
-        requestPayload.setReceivingPartyShortCode(mpesaRequestDto.getReceivingPartyShortCode());
-        requestPayload.setReceivingPartyName(mpesaRequestDto.getReceivingPartyName());
-        requestPayload.setAmt(mpesaRequestDto.getAmt());
-        requestPayload.setPaymentRef(mpesaRequestDto.getPaymentRef());
-        requestPayload.setCallback(mpesaRequestDto.getCallback());
-        requestPayload.setRequestRefId(mpesaRequestDto.getRequestRefId());
-        return requestPayload;
-    }
-
-    private MpesaRequestDto B2CPayload() {
-        MpesaRequestDto requestPayload = new MpesaRequestDto();
-        requestPayload.setOriginatorConversationId(mpesaRequestDto.getOriginatorConversationId());
-        requestPayload.setInitiatorName(mpesaRequestDto.getInitiatorName());
-        requestPayload.setSecurityCredential(mpesaRequestDto.getSecurityCredential());
-        requestPayload.setCommandId(mpesaRequestDto.getB2CCommandID().getValue());
-        requestPayload.setAmount(mpesaRequestDto.getAmount());
-        requestPayload.setPartyA(Long.valueOf(mpesaRequestDto.getBusinessShortCode()));
-        requestPayload.setPartyB(mpesaRequestDto.getPhoneNumber());
-        requestPayload.setRemarks(mpesaRequestDto.getRemarks());
-        requestPayload.setQueueTimeOutURL(mpesaRequestDto.getQueueTimeOutURL());
-        requestPayload.setResultURL(mpesaRequestDto.getResultURL());
-        requestPayload.setOccassion(mpesaRequestDto.getOccassion());
-        return requestPayload;
-    }
-
-    private MpesaRequestDto TaxRemittancePayload() {
-        MpesaRequestDto requestPayload = new MpesaRequestDto();
-        requestPayload.setInitiator(mpesaRequestDto.getInitiator());
-        requestPayload.setSecurityCredential(mpesaRequestDto.getSecurityCredential());
-        requestPayload.setCommandId(mpesaRequestDto.getCommandId());
-        requestPayload.setSenderIdentifierType(mpesaRequestDto.getSenderIdentifierType());
-        requestPayload.setRecieverIdentifierType(mpesaRequestDto.getRecieverIdentifierType());
-        requestPayload.setAmount(mpesaRequestDto.getAmount());
-        requestPayload.setPartyA(Long.valueOf(mpesaRequestDto.getBusinessShortCode()));
-        requestPayload.setPartyB(mpesaRequestDto.getPartyB());
-        requestPayload.setAccountReference(mpesaRequestDto.getTaxPRN());
-        requestPayload.setRemarks(mpesaRequestDto.getRemarks());
-        requestPayload.setQueueTimeOutURL(mpesaRequestDto.getQueueTimeOutURL());
-        requestPayload.setResultURL(mpesaRequestDto.getResultURL());
-
-        return requestPayload;
-    }
-
-    private MpesaRequestDto dynamicQRPayload() {
-        MpesaRequestDto requestPayload = new MpesaRequestDto();
+        writeString(generator, "SenderIdentifierType", mpesaRequestDto.getSenderIdentifierType());
+        writeString(generator, "RecieverIdentifierType", mpesaRequestDto.getRecieverIdentifierType());
+        writeNumber(generator, "Requester", mpesaRequestDto.getPhoneNumber());
+        writeString(generator, "Remarks", mpesaRequestDto.getRemarks());
+        writeString(generator, "QueueTimeOutURL", mpesaRequestDto.getQueueTimeOutURL());
+        writeString(generator, "ResultURL", mpesaRequestDto.getResultURL());
+    }
+
+    private void writeB2BStkPayload(JsonGenerator generator) throws IOException {
+        generator.writeNumberField("amount", mpesaRequestDto.getAmt());
+        writeNumber(generator, "primaryShortCode", mpesaRequestDto.getSendingPartyShortCode());
+        writeNumber(generator, "receiverShortCode", mpesaRequestDto.getReceivingPartyShortCode());
+        writeString(generator, "paymentRef", mpesaRequestDto.getPaymentRef());
+        writeString(generator, "callbackUrl", mpesaRequestDto.getCallback());
+        writeString(generator, "partnerName", mpesaRequestDto.getReceivingPartyName());
+        writeString(generator, "RequestRefID", mpesaRequestDto.getRequestRefId());
+    }
+
+    private void writeB2CPayload(JsonGenerator generator) throws IOException {
+        generator.writeNumberField("Amount", mpesaRequestDto.getAmount());
+        writeNumber(generator, "PartyA", mpesaRequestDto.getBusinessShortCode());
+        writeNumber(generator, "PartyB", mpesaRequestDto.getPhoneNumber());
+        writeString(generator, "InitiatorName", mpesaRequestDto.getInitiatorName());
+        writeString(generator, "SecurityCredential", mpesaRequestDto.getSecurityCredential());
+        writeString(generator, "CommandID", mpesaRequestDto.getB2CCommandID().getValue());
+        writeString(generator, "Remarks", mpesaRequestDto.getRemarks());
+        writeString(generator, "QueueTimeOutURL", mpesaRequestDto.getQueueTimeOutURL());
+        writeString(generator, "ResultURL", mpesaRequestDto.getResultURL());
+        writeString(generator, "Occassion", mpesaRequestDto.getOccassion());
+        writeString(generator, "OriginatorConversationID", mpesaRequestDto.getOriginatorConversationId());
+    }
+
+    private void writeTaxRemittancePayload(JsonGenerator generator) throws IOException {
+        generator.writeNumberField("Amount", mpesaRequestDto.getAmount());
+        writeNumber(generator, "PartyA", mpesaRequestDto.getBusinessShortCode());
+        writeNumber(generator, "PartyB", mpesaRequestDto.getPartyB());
+        writeString(generator, "AccountReference", mpesaRequestDto.getTaxPRN());
+        writeString(generator, "Initiator", mpesaRequestDto.getInitiator());
+        writeString(generator, "SecurityCredential", mpesaRequestDto.getSecurityCredential());
+        writeString(generator, "CommandID", mpesaRequestDto.getCommandId());
+        writeString(generator, "SenderIdentifierType", mpesaRequestDto.getSenderIdentifierType());
+        writeString(generator, "RecieverIdentifierType", mpesaRequestDto.getRecieverIdentifierType());
+        writeString(generator, "Remarks", mpesaRequestDto.getRemarks());
+        writeString(generator, "QueueTimeOutURL", mpesaRequestDto.getQueueTimeOutURL());
+        writeString(generator, "ResultURL", mpesaRequestDto.getResultURL());
+    }
 
+    private void writeDynamicQRPayload(JsonGenerator generator) throws IOException {
         TrxCodeType trxCodeType=mpesaRequestDto.getTrxCodeType();
         Long phoneNumber = mpesaRequestDto.getPhoneNumber();
         Integer businessShortCode = mpesaRequestDto.getBusinessShortCode();
@@ -148,47 +160,79 @@ public class MpesaRequest implements Request {
             throw new RuntimeException("trxCodeType must be provided");
         }
 
+        String cpI = null;
         if(trxCodeType == TrxCodeType.SEND_MONEY_MOBILE_NUMBER && phoneNumber != null){
-            requestPayload.setCpI(phoneNumber.toString());
+            cpI = phoneNumber.toString();
         }else if(trxCodeType == TrxCodeType.WITHDRAW_CASH_AGENT_TILL && agentTill != null){
-            requestPayload.setCpI(agentTill.toString());
+            cpI = agentTill.toString();
         }else if(businessShortCode != null){
-            requestPayload.setCpI(businessShortCode.toString());
+            cpI = businessShortCode.toString();
         }
 
-        if(requestPayload.getCpI() == null){
+        if(cpI == null){
             throw new RuntimeException("Please provide phoneNumber or businessShortCode or agentTill depending on the trxCodeType provided");
         }
 
-        requestPayload.setTrxCode(trxCodeType.getValue());
-        requestPayload.setAmount(mpesaRequestDto.getAmount());
-        requestPayload.setMerchantName(mpesaRequestDto.getMerchantName());
-        requestPayload.setRefNo(mpesaRequestDto.getRefNo());
-        requestPayload.setSize(mpesaRequestDto.getSize());
-        return requestPayload;
+        generator.writeNumberField("Amount", mpesaRequestDto.getAmount());
+        writeString(generator, "MerchantName", mpesaRequestDto.getMerchantName());
+        writeString(generator, "RefNo", mpesaRequestDto.getRefNo());
+        generator.writeStringField("TrxCode", trxCodeType.getValue());
+        generator.writeStringField("CPI", cpI);
+        writeString(generator, "Size", mpesaRequestDto.getSize());
     }
 
-    @Override
-    public String getPostBody() {
-        MpesaRequestDto mpesaReqPayload;
-        switch (mpesaRequestDto.getMpesaRequestType()) {
-            case MpesaRequestType.STK_SEND -> mpesaReqPayload = stkSendRequestPayload();
-            case MpesaRequestType.STK_QUERY -> mpesaReqPayload = stkQueryRequestPayload();
-            case MpesaRequestType.C2B_REGISTER_URL -> mpesaReqPayload = C2BRegisterURLPayload();
-            case MpesaRequestType.C2B_TRANSACTION_STATUS -> mpesaReqPayload = C2TransactionStatusPayload();
-            case MpesaRequestType.B2B_PAY_BILL, MpesaRequestType.B2B_BUY_GOODS -> mpesaReqPayload = B2BPaymentRequest();
-            case MpesaRequestType.B2B_STK -> mpesaReqPayload = B2BStkPayload();
-            case MpesaRequestType.B2C -> mpesaReqPayload = B2CPayload();
-            case MpesaRequestType.TAX_REMITTANCE -> mpesaReqPayload = TaxRemittancePayload();
-            case MpesaRequestType.DYNAMIC_QR -> mpesaReqPayload = dynamicQRPayload();
-            default -> mpesaReqPayload = new MpesaRequestDto();
+    private static void writeString(JsonGenerator generator, String fieldName, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(fieldName, value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, String fieldName, Integer value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(fieldName, value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, String fieldName, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(fieldName, value);
         }
+    }
 
-        try {
-            return new ObjectMapper().writeValueAsString(mpesaReqPayload);
-        } catch (JsonProcessingException e) {
-            System.out.println(e);
-            return "";
+    /**
+     * Writes the wire payload of the request type straight to json bytes, skipping NON_NULL fields like the dto would
+     * @return UTF-8 json payload
+     * @throws UncheckedIOException When the payload cannot be written
+     */
+    public byte[] getPostBodyBytes() {
+        ByteArrayBuilder buffer = new ByteArrayBuilder(INITIAL_BUFFER_SIZE);
+        try (JsonGenerator generator = JsonCodec.getDefault().getFactory().createGenerator(buffer)) {
+            generator.writeStartObject();
+            switch (mpesaRequestDto.getMpesaRequestType()) {
+                case MpesaRequestType.STK_SEND -> writeStkSendPayload(generator);
+                case MpesaRequestType.STK_QUERY -> writeStkQueryPayload(generator);
+                case MpesaRequestType.C2B_REGISTER_URL -> writeC2BRegisterURLPayload(generator);
+                case MpesaRequestType.C2B_TRANSACTION_STATUS -> writeC2TransactionStatusPayload(generator);
+                case MpesaRequestType.B2B_PAY_BILL, MpesaRequestType.B2B_BUY_GOODS -> writeB2BPaymentPayload(generator);
+                case MpesaRequestType.B2B_STK -> writeB2BStkPayload(generator);
+                case MpesaRequestType.B2C -> writeB2CPayload(generator);
+                case MpesaRequestType.TAX_REMITTANCE -> writeTaxRemittancePayload(generator);
+                case MpesaRequestType.DYNAMIC_QR -> writeDynamicQRPayload(generator);
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return buffer.toByteArray();
+    }
+
+    @Override
+    public String getPostBody() {
+        return new String(getPostBodyBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public HttpRequest.BodyPublisher getBodyPublisher() {
+        return HttpRequest.BodyPublishers.ofByteArray(getPostBodyBytes());
     }
 }
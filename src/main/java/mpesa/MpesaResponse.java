@@ -1,5 +1,6 @@
 package mpesa;
 
+import base.MpesaTimestamp;
 import base.Response;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -17,15 +18,12 @@ import mpesa.stk.Body;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
-import static base.Helpers.MPESA_TIMESTAMP_FORMAT;
 
 class LocalDateTimeDeserializer extends JsonDeserializer<LocalDateTime> {
     @Override
     public LocalDateTime deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException, JacksonException {
         String dateTimeString = jsonParser.getText();
-        return LocalDateTime.parse(dateTimeString, DateTimeFormatter.ofPattern(MPESA_TIMESTAMP_FORMAT));
+        return MpesaTimestamp.parse(dateTimeString);
     }
 }
 
@@ -0,0 +1,47 @@
+package mpesa;
+
+import base.RateLimiter;
+import mpesa.util.MpesaURL;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one RateLimiter per (MpesaURL, consumerKey), mirroring how DARAJA throttles each endpoint separately.
+ * Endpoints without a configured limit are not limited.
+ */
+public class RateLimiterRegistry {
+    private final Map<MpesaURL, RateLimiter.Config> configs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Key, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    private record Key(MpesaURL mpesaURL, String consumerKey) {
+    }
+
+    /**
+     * Sets the limit applied to each consumer key calling the endpoint, replacing any limiters already created for it
+     *
+     * @param mpesaURL Endpoint
+     * @param config   Limit
+     * @return RateLimiterRegistry
+     */
+    public RateLimiterRegistry limit(MpesaURL mpesaURL, RateLimiter.Config config) {
+        configs.put(mpesaURL, config);
+        rateLimiters.keySet().removeIf(key -> key.mpesaURL() == mpesaURL);
+        return this;
+    }
+
+    /**
+     * Limiter for the endpoint and consumer key, created on first use
+     *
+     * @param mpesaURL    Endpoint
+     * @param consumerKey Consumer key
+     * @return RateLimiter, null when the endpoint is not limited
+     */
+    public RateLimiter getRateLimiter(MpesaURL mpesaURL, String consumerKey) {
+        RateLimiter.Config config = configs.get(mpesaURL);
+        if (config == null) {
+            return null;
+        }
+        return rateLimiters.computeIfAbsent(new Key(mpesaURL, consumerKey), key -> new RateLimiter(config));
+    }
+}
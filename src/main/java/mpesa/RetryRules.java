@@ -0,0 +1,73 @@
+package mpesa;
+
+import base.RetryPolicy;
+import mpesa.util.MpesaRequestType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Retry policy per MpesaRequestType.
+ * Requests that move money (STK push, B2B, B2C, tax remittance) must never be sent twice, so by default they are only
+ * retried when DARAJA cannot have received them (connection failures) or throttled them (429).
+ * A 503 may come from a gateway after the payment was accepted, so it is only retried for payments by a policy the caller sets.
+ * Queries and registrations are idempotent and are also retried on lost responses and gateway errors.
+ */
+public class RetryRules {
+    private final Map<MpesaRequestType, RetryPolicy> retryPolicies = new EnumMap<>(MpesaRequestType.class);
+
+    /**
+     * Rules without any retries, add policies with retry(...)
+     */
+    public RetryRules() {
+    }
+
+    /**
+     * Default rules for every MpesaRequestType
+     *
+     * @return RetryRules
+     */
+    public static RetryRules defaults() {
+        RetryPolicy paymentPolicy = RetryPolicy.builder()
+                .retryableStatusCodes(Set.of(429))
+                .build();
+        RetryPolicy idempotentPolicy = RetryPolicy.builder()
+                .retryOnResponseLoss(true)
+                .retryableStatusCodes(Set.of(429, 500, 502, 503, 504))
+                .build();
+
+        RetryRules retryRules = new RetryRules();
+        for (MpesaRequestType mpesaRequestType : MpesaRequestType.values()) {
+            retryRules.retry(mpesaRequestType, switch (mpesaRequestType) {
+                case STK_QUERY, C2B_REGISTER_URL, C2B_TRANSACTION_STATUS, DYNAMIC_QR -> idempotentPolicy;
+                case STK_SEND, B2B_PAY_BILL, B2B_BUY_GOODS, B2B_STK, B2C, TAX_REMITTANCE -> paymentPolicy;
+            });
+        }
+        return retryRules;
+    }
+
+    /**
+     * Sets the policy for a request type
+     *
+     * @param mpesaRequestType Request type
+     * @param retryPolicy      Policy, null disables retries
+     * @return RetryRules
+     */
+    public RetryRules retry(MpesaRequestType mpesaRequestType, RetryPolicy retryPolicy) {
+        if (retryPolicy == null) {
+            retryPolicies.remove(mpesaRequestType);
+        } else {
+            retryPolicies.put(mpesaRequestType, retryPolicy);
+        }
+        return this;
+    }
+
+    /**
+     * @param mpesaRequestType Request type
+     * @return RetryPolicy, null when the request type is not retried
+     */
+    public RetryPolicy getRetryPolicy(MpesaRequestType mpesaRequestType) {
+        return retryPolicies.get(mpesaRequestType);
+    }
+}
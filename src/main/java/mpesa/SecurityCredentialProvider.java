@@ -0,0 +1,109 @@
+package mpesa;
+
+import base.Helpers;
+import mpesa.metrics.MpesaMetrics;
+import mpesa.util.Environment;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the encrypted SecurityCredential per (environment, initiatorPassword).
+ * The RSA encryption runs once per password, call invalidate(...) when the initiator password is rotated.
+ */
+public class SecurityCredentialProvider {
+    private static final SecurityCredentialProvider DEFAULT = new SecurityCredentialProvider();
+
+    private final ConcurrentHashMap<Key, String> credentials = new ConcurrentHashMap<>();
+
+    private record Key(Environment environment, String initiatorPassword) {
+    }
+
+    /**
+     * Process wide provider shared by every MpesaClient that has not been given its own
+     *
+     * @return SecurityCredentialProvider
+     */
+    public static SecurityCredentialProvider getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Certificate used to encrypt credentials for the environment
+     *
+     * @param environment Environment
+     * @return classpath location of the certificate
+     */
+    public static String certificatePath(Environment environment) {
+        return environment == Environment.DEVELOPMENT ? Helpers.MPESA_CERT_DEV : Helpers.MPESA_CERT_PROD;
+    }
+
+    /**
+     * Returns the cached credential, generating it on first use
+     *
+     * @param environment       Environment whose certificate encrypts the password
+     * @param initiatorPassword The M-Pesa API operator password
+     * @return SecurityCredential
+     * @throws IOException               While processing
+     * @throws CertificateException      While processing
+     * @throws NoSuchPaddingException    While processing
+     * @throws NoSuchAlgorithmException  While processing
+     * @throws InvalidKeyException       While processing
+     * @throws IllegalBlockSizeException While processing
+     * @throws BadPaddingException       While processing
+     */
+    public String getSecurityCredential(Environment environment, String initiatorPassword) throws IOException, CertificateException, NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        return getSecurityCredential(environment, initiatorPassword, MpesaMetrics.noop());
+    }
+
+    /**
+     * Returns the cached credential, generating it on first use and reporting the generation to the metrics
+     *
+     * @param environment       Environment whose certificate encrypts the password
+     * @param initiatorPassword The M-Pesa API operator password
+     * @param mpesaMetrics      Metrics notified when a credential is generated
+     * @return SecurityCredential
+     * @throws IOException               While processing
+     * @throws CertificateException      While processing
+     * @throws NoSuchPaddingException    While processing
+     * @throws NoSuchAlgorithmException  While processing
+     * @throws InvalidKeyException       While processing
+     * @throws IllegalBlockSizeException While processing
+     * @throws BadPaddingException       While processing
+     */
+    public String getSecurityCredential(Environment environment, String initiatorPassword, MpesaMetrics mpesaMetrics) throws IOException, CertificateException, NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        Key key = new Key(environment, initiatorPassword);
+        String securityCredential = credentials.get(key);
+        if (securityCredential != null) {
+            return securityCredential;
+        }
+        long startedAt = System.nanoTime();
+        securityCredential = Helpers.generateSecurityCredentials(initiatorPassword, certificatePath(environment));
+        mpesaMetrics.onCredentialGeneration(System.nanoTime() - startedAt);
+        String existing = credentials.putIfAbsent(key, securityCredential);
+        return existing != null ? existing : securityCredential;
+    }
+
+    /**
+     * Drops the credential generated for the password, e.g. after it was rotated
+     *
+     * @param environment       Environment
+     * @param initiatorPassword The old M-Pesa API operator password
+     */
+    public void invalidate(Environment environment, String initiatorPassword) {
+        credentials.remove(new Key(environment, initiatorPassword));
+    }
+
+    /**
+     * Drops every cached credential
+     */
+    public void invalidateAll() {
+        credentials.clear();
+    }
+}
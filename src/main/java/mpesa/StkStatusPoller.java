@@ -0,0 +1,167 @@
+package mpesa;
+
+import base.HashedTimerWheel;
+import lombok.Builder;
+import mpesa.request.StkQueryRequest;
+import mpesa.stk.StkCallback;
+import mpesa.util.ResponseParserType;
+import mpesa.util.ResultCode;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Polls STK_QUERY for outstanding STK pushes whose callback has not arrived.
+ * Every checkout is tracked on a shared HashedTimerWheel instead of a sleeping thread, and is polled on a growing
+ * interval until DARAJA reports a terminal ResultCode, the STK callback is parsed by the MpesaClient, or the deadline passes.
+ * Polls go through the client's rate limiter, so the poller stays within the STK_QUERY budget.
+ */
+public class StkStatusPoller implements CallbackListener, AutoCloseable {
+    private static final String CLIENT_ERROR_PREFIX = "400.";
+
+    private final MpesaClient mpesaClient;
+    private final HashedTimerWheel timerWheel;
+    private final boolean ownsTimerWheel;
+    private final Duration initialDelay;
+    private final double multiplier;
+    private final Duration maxInterval;
+    private final Duration deadline;
+    private final ConcurrentHashMap<String, Checkout> checkouts = new ConcurrentHashMap<>();
+
+    private static final class Checkout {
+        private final StkQueryRequest stkQueryRequest;
+        private final CompletableFuture<MpesaResponse> result = new CompletableFuture<>();
+        private final long deadlineNanos;
+        private Duration interval;
+        private volatile HashedTimerWheel.Timeout timeout;
+
+        private Checkout(StkQueryRequest stkQueryRequest, Duration interval, long deadlineNanos) {
+            this.stkQueryRequest = stkQueryRequest;
+            this.interval = interval;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    /**
+     * Creates the poller and registers it as a CallbackListener on the client
+     *
+     * @param mpesaClient  Client used for STK_QUERY calls
+     * @param timerWheel   Shared wheel, a private one is created and closed with the poller when null
+     * @param initialDelay Wait before the first poll, defaults to 15s
+     * @param multiplier   Growth of the interval after each poll, defaults to 1.5
+     * @param maxInterval  Upper bound of the interval, defaults to 30s
+     * @param deadline     Time after which a checkout fails with TimeoutException, defaults to 3 minutes
+     */
+    @Builder
+    private StkStatusPoller(@NotNull MpesaClient mpesaClient, HashedTimerWheel timerWheel, Duration initialDelay,
+                            double multiplier, Duration maxInterval, Duration deadline) {
+        this.mpesaClient = mpesaClient;
+        this.ownsTimerWheel = timerWheel == null;
+        this.timerWheel = timerWheel != null ? timerWheel : HashedTimerWheel.builder().build();
+        this.initialDelay = initialDelay != null ? initialDelay : Duration.ofSeconds(15);
+        this.multiplier = multiplier >= 1 ? multiplier : 1.5;
+        this.maxInterval = maxInterval != null ? maxInterval : Duration.ofSeconds(30);
+        this.deadline = deadline != null ? deadline : Duration.ofMinutes(3);
+        mpesaClient.addCallbackListener(this);
+    }
+
+    /**
+     * Starts tracking a checkout, tracking the same CheckoutRequestID again returns the existing future
+     *
+     * @param stkQueryRequest Checkout to poll
+     * @return Future of the STK_QUERY response with a ResultCode or the parsed STK callback,
+     * failed with TimeoutException when the deadline passes first
+     */
+    public CompletableFuture<MpesaResponse> track(@NotNull StkQueryRequest stkQueryRequest) {
+        Checkout checkout = checkouts.computeIfAbsent(stkQueryRequest.checkoutRequestID(), checkoutRequestID -> {
+            Checkout created = new Checkout(stkQueryRequest, initialDelay, System.nanoTime() + deadline.toNanos());
+            created.timeout = timerWheel.schedule(() -> poll(created), initialDelay);
+            return created;
+        });
+        return checkout.result;
+    }
+
+    /**
+     * @return Checkouts still being polled
+     */
+    public int getOutstanding() {
+        return checkouts.size();
+    }
+
+    /**
+     * Completes the matching checkout with a parsed STK callback
+     */
+    @Override
+    public void onCallback(MpesaResponse mpesaResponse, ResponseParserType responseParserType) {
+        if (responseParserType != ResponseParserType.C2B_STK || mpesaResponse.getBody() == null) {
+            return;
+        }
+        StkCallback stkCallback = mpesaResponse.getBody().getStkCallback();
+        if (stkCallback != null && stkCallback.getCheckoutRequestID() != null) {
+            Checkout checkout = checkouts.remove(stkCallback.getCheckoutRequestID());
+            if (checkout != null) {
+                checkout.timeout.cancel();
+                checkout.result.complete(mpesaResponse);
+            }
+        }
+    }
+
+    /**
+     * Stops polling and unregisters from the client, outstanding futures are cancelled
+     */
+    @Override
+    public void close() {
+        mpesaClient.removeCallbackListener(this);
+        checkouts.values().forEach(checkout -> {
+            checkout.timeout.cancel();
+            checkout.result.cancel(false);
+        });
+        checkouts.clear();
+        if (ownsTimerWheel) {
+            timerWheel.close();
+        }
+    }
+
+    private void poll(Checkout checkout) {
+        if (checkout.result.isDone()) {
+            return;
+        }
+        mpesaClient.stkQueryAsync(checkout.stkQueryRequest).whenComplete((mpesaResponse, throwable) -> {
+            if (checkout.result.isDone()) {
+                return;
+            }
+            if (throwable == null && isTerminal(mpesaResponse)) {
+                finish(checkout, mpesaResponse, null);
+            } else if (System.nanoTime() - checkout.deadlineNanos >= 0) {
+                finish(checkout, null, new TimeoutException("No STK result for " + checkout.stkQueryRequest.checkoutRequestID() + " within " + deadline));
+            } else {
+                checkout.interval = Duration.ofMillis(Math.min(maxInterval.toMillis(), (long) (checkout.interval.toMillis() * multiplier)));
+                checkout.timeout = timerWheel.schedule(() -> poll(checkout), checkout.interval);
+            }
+        });
+    }
+
+    private void finish(Checkout checkout, MpesaResponse mpesaResponse, Throwable throwable) {
+        checkouts.remove(checkout.stkQueryRequest.checkoutRequestID(), checkout);
+        if (throwable != null) {
+            checkout.result.completeExceptionally(throwable);
+        } else {
+            checkout.result.complete(mpesaResponse);
+        }
+    }
+
+    /**
+     * A terminal ResultCode means the push concluded, 4999 (still under processing) does not.
+     * 400.x errors (e.g. an unknown CheckoutRequestID) never change on retry, while 500.x errors such as
+     * 500.001.1001 (the transaction is being processed) are polled again.
+     */
+    private static boolean isTerminal(MpesaResponse mpesaResponse) {
+        if (mpesaResponse.getResultCode() != null) {
+            return ResultCode.of(mpesaResponse.getResultCode()).isTerminal();
+        }
+        return mpesaResponse.getErrorCode() != null && mpesaResponse.getErrorCode().startsWith(CLIENT_ERROR_PREFIX);
+    }
+}
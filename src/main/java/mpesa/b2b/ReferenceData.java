@@ -1,18 +1,21 @@
 package mpesa.b2b;
 
-import base.Helpers;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JacksonException;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import lombok.Data;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Streams ReferenceData in one pass, ReferenceItem is either a single object or an array of objects
+ */
 class ReferenceItemDeserializer extends StdDeserializer<ReferenceData> {
     public ReferenceItemDeserializer() {
         this(null);
@@ -25,15 +28,48 @@ class ReferenceItemDeserializer extends StdDeserializer<ReferenceData> {
     @Override
     public ReferenceData deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException, JacksonException {
         ReferenceData referenceData = new ReferenceData();
-        TreeNode referenceItemNode = jsonParser.readValueAsTree().get("ReferenceItem");
-        if (referenceItemNode.isArray()) {
-            referenceData.setReferenceItem(Helpers.jsonToList(ReferenceItem.class, referenceItemNode.toString()));
-        } else {
-            List<ReferenceItem> listItem = List.of(Helpers.jsonToPOJO(ReferenceItem.class, referenceItemNode.toString()));
-            referenceData.setReferenceItem(listItem);
+        JsonToken token = jsonParser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = jsonParser.nextToken();
+        }
+        for (; token == JsonToken.FIELD_NAME; token = jsonParser.nextToken()) {
+            String field = jsonParser.currentName();
+            JsonToken valueToken = jsonParser.nextToken();
+            if (!"ReferenceItem".equals(field)) {
+                jsonParser.skipChildren();
+            } else if (valueToken == JsonToken.START_ARRAY) {
+                List<ReferenceItem> referenceItems = new ArrayList<>();
+                while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                    referenceItems.add(readReferenceItem(jsonParser, deserializationContext));
+                }
+                referenceData.setReferenceItem(referenceItems);
+            } else if (valueToken == JsonToken.START_OBJECT) {
+                referenceData.setReferenceItem(List.of(readReferenceItem(jsonParser, deserializationContext)));
+            } else if (valueToken != JsonToken.VALUE_NULL) {
+                deserializationContext.reportWrongTokenException(ReferenceData.class, JsonToken.START_OBJECT, "ReferenceItem must be an object or an array");
+            }
         }
         return referenceData;
     }
+
+    private ReferenceItem readReferenceItem(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+        if (jsonParser.currentToken() != JsonToken.START_OBJECT) {
+            deserializationContext.reportWrongTokenException(ReferenceItem.class, JsonToken.START_OBJECT, "ReferenceItem must be an object");
+        }
+        ReferenceItem referenceItem = new ReferenceItem();
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jsonParser.currentName();
+            JsonToken valueToken = jsonParser.nextToken();
+            if (valueToken.isScalarValue() && "Key".equals(field)) {
+                referenceItem.setKey(jsonParser.getValueAsString());
+            } else if (valueToken.isScalarValue() && "Value".equals(field)) {
+                referenceItem.setValue(jsonParser.getValueAsString());
+            } else {
+                jsonParser.skipChildren();
+            }
+        }
+        return referenceItem;
+    }
 }
 
 @Data
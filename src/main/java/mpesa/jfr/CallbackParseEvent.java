@@ -0,0 +1,31 @@
+package mpesa.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parsing of a DARAJA callback, by MpesaClient.responseParser or StkCallbackParser
+ */
+@Name("mpesa.CallbackParse")
+@Label("Callback Parse")
+@Category({"M-Pesa SDK", "Callbacks"})
+@Description("Callback parsed into its result")
+@StackTrace(false)
+public final class CallbackParseEvent extends Event {
+    @Label("Parser Type")
+    public String parserType;
+
+    @Label("Bytes")
+    @Description("Size of the raw body, 0 when parsing an already bound MpesaResponse")
+    @DataAmount
+    public long bytes;
+
+    @Label("Successful")
+    @Description("Whether the callback reports a successful transaction")
+    public boolean successful;
+}
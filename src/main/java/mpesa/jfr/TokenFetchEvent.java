@@ -0,0 +1,36 @@
+package mpesa.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Call to the DARAJA OAuth endpoint
+ */
+@Name("mpesa.TokenFetch")
+@Label("OAuth Token Fetch")
+@Category({"M-Pesa SDK", "OAuth"})
+@Description("Access token requested from the auth endpoint")
+public final class TokenFetchEvent extends Event {
+    @Label("Base Url")
+    public String baseUrl;
+
+    @Label("Successful")
+    public boolean successful;
+
+    @Label("Expires In")
+    @Timespan(Timespan.SECONDS)
+    public long expiresIn;
+
+    /**
+     * For async fetches whose event would escape into a callback, the probe instance is scalar replaced
+     *
+     * @return Whether a running recording has the event enabled
+     */
+    public static boolean enabled() {
+        return new TokenFetchEvent().isEnabled();
+    }
+}
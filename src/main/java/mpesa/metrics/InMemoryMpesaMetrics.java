@@ -0,0 +1,123 @@
+package mpesa.metrics;
+
+import mpesa.util.MpesaURL;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Built-in MpesaMetrics keeping a LatencyHistogram per (MpesaURL, Phase) and counters in memory.
+ * Histograms and per endpoint counters are allocated up front, so recording does not allocate.
+ */
+public class InMemoryMpesaMetrics implements MpesaMetrics {
+    private final LatencyHistogram[][] latencies = new LatencyHistogram[MpesaURL.values().length][Phase.values().length];
+    private final LongAdder[] requests = new LongAdder[MpesaURL.values().length];
+    private final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder tokenRefreshes = new LongAdder();
+    private final LongAdder tokenRefreshFailures = new LongAdder();
+    private final LatencyHistogram tokenRefreshLatency = new LatencyHistogram();
+    private final LongAdder credentialGenerations = new LongAdder();
+    private final LatencyHistogram credentialGenerationLatency = new LatencyHistogram();
+
+    public InMemoryMpesaMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            requests[i] = new LongAdder();
+            for (int j = 0; j < latencies[i].length; j++) {
+                latencies[i][j] = new LatencyHistogram();
+            }
+        }
+    }
+
+    @Override
+    public void onRequest(MpesaURL mpesaURL) {
+        requests[mpesaURL.ordinal()].increment();
+    }
+
+    @Override
+    public void recordLatency(MpesaURL mpesaURL, Phase phase, long durationNanos) {
+        latencies[mpesaURL.ordinal()][phase.ordinal()].record(durationNanos);
+    }
+
+    @Override
+    public void onError(MpesaURL mpesaURL, String errorCode) {
+        errors.computeIfAbsent(errorCode, key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void onTokenRefresh(long durationNanos, boolean successful) {
+        tokenRefreshes.increment();
+        if (!successful) {
+            tokenRefreshFailures.increment();
+        }
+        tokenRefreshLatency.record(durationNanos);
+    }
+
+    @Override
+    public void onCredentialGeneration(long durationNanos) {
+        credentialGenerations.increment();
+        credentialGenerationLatency.record(durationNanos);
+    }
+
+    /**
+     * @param mpesaURL Endpoint
+     * @param phase    Phase
+     * @return Latency histogram of the phase
+     */
+    public LatencyHistogram getLatency(MpesaURL mpesaURL, Phase phase) {
+        return latencies[mpesaURL.ordinal()][phase.ordinal()];
+    }
+
+    /**
+     * @param mpesaURL Endpoint
+     * @return Calls made to the endpoint
+     */
+    public long getRequests(MpesaURL mpesaURL) {
+        return requests[mpesaURL.ordinal()].sum();
+    }
+
+    /**
+     * @return Errors counted per errorCode, sorted by errorCode
+     */
+    public Map<String, Long> getErrors() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        errors.forEach((errorCode, counter) -> snapshot.put(errorCode, counter.sum()));
+        return snapshot;
+    }
+
+    /**
+     * @return Calls made to the auth endpoint
+     */
+    public long getTokenRefreshes() {
+        return tokenRefreshes.sum();
+    }
+
+    /**
+     * @return Calls to the auth endpoint that did not issue a token
+     */
+    public long getTokenRefreshFailures() {
+        return tokenRefreshFailures.sum();
+    }
+
+    /**
+     * @return Latency of the auth endpoint
+     */
+    public LatencyHistogram getTokenRefreshLatency() {
+        return tokenRefreshLatency;
+    }
+
+    /**
+     * @return SecurityCredentials generated, cached ones excluded
+     */
+    public long getCredentialGenerations() {
+        return credentialGenerations.sum();
+    }
+
+    /**
+     * @return Latency of SecurityCredential generation
+     */
+    public LatencyHistogram getCredentialGenerationLatency() {
+        return credentialGenerationLatency;
+    }
+}
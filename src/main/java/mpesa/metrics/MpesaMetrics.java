@@ -0,0 +1,85 @@
+package mpesa.metrics;
+
+import mpesa.util.MpesaURL;
+
+/**
+ * Metrics SPI of MpesaClient, implement it to bridge the SDK to a metrics system.
+ * Every method has an empty default, so an implementation only overrides what it needs.
+ * Methods are called on the request path and must not block.
+ */
+public interface MpesaMetrics {
+    /**
+     * No-op metrics, MpesaClient skips timing its async stages when this instance is configured
+     */
+    MpesaMetrics NOOP = new MpesaMetrics() {
+    };
+
+    /**
+     * Phase of a call whose latency is recorded
+     */
+    enum Phase {
+        /**
+         * Waiting for a rate limiter permit
+         */
+        PERMIT,
+        /**
+         * Obtaining the access token, a cache hit unless the token had to be refreshed
+         */
+        TOKEN,
+        /**
+         * One http attempt, from sending the request to receiving the body
+         */
+        HTTP,
+        /**
+         * Parsing the response body
+         */
+        PARSE,
+        /**
+         * The whole call, retries included
+         */
+        TOTAL
+    }
+
+    /**
+     * @return Shared no-op instance
+     */
+    static MpesaMetrics noop() {
+        return NOOP;
+    }
+
+    /**
+     * @param mpesaURL Endpoint called
+     */
+    default void onRequest(MpesaURL mpesaURL) {
+    }
+
+    /**
+     * @param mpesaURL      Endpoint called
+     * @param phase         Phase
+     * @param durationNanos Duration of the phase
+     */
+    default void recordLatency(MpesaURL mpesaURL, Phase phase, long durationNanos) {
+    }
+
+    /**
+     * A call that ended with a DARAJA error or an exception
+     *
+     * @param mpesaURL  Endpoint called
+     * @param errorCode DARAJA errorCode, e.g. 404.001.03, or the simple name of the exception thrown
+     */
+    default void onError(MpesaURL mpesaURL, String errorCode) {
+    }
+
+    /**
+     * @param durationNanos Time taken by the auth endpoint
+     * @param successful    Whether a token was issued
+     */
+    default void onTokenRefresh(long durationNanos, boolean successful) {
+    }
+
+    /**
+     * @param durationNanos Time taken to encrypt the initiator password
+     */
+    default void onCredentialGeneration(long durationNanos) {
+    }
+}
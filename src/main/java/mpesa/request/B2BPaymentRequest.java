@@ -0,0 +1,39 @@
+package mpesa.request;
+
+import lombok.Builder;
+import mpesa.dto.MpesaRequestDto;
+import mpesa.util.MpesaRequestType;
+
+/**
+ * Immutable B2B pay bill or buy goods request
+ *
+ * @param mpesaRequestType MpesaRequestType.B2B_PAY_BILL | MpesaRequestType.B2B_BUY_GOODS
+ */
+@Builder(toBuilder = true)
+public record B2BPaymentRequest(MpesaRequestType mpesaRequestType,
+                                double amount,
+                                Long partyA,
+                                Long partyB,
+                                String accountReference,
+                                Long phoneNumber,
+                                String remarks,
+                                String queueTimeOutURL,
+                                String resultURL) {
+
+    /**
+     * @return New MpesaRequestDto owned by the caller
+     */
+    public MpesaRequestDto toMpesaRequestDto() {
+        MpesaRequestDto mpesaRequestDto = new MpesaRequestDto();
+        mpesaRequestDto.setMpesaRequestType(mpesaRequestType);
+        mpesaRequestDto.setAmount(amount);
+        mpesaRequestDto.setPartyA(partyA);
+        mpesaRequestDto.setPartyB(partyB);
+        mpesaRequestDto.setAccountReference(accountReference);
+        mpesaRequestDto.setPhoneNumber(phoneNumber);
+        mpesaRequestDto.setRemarks(remarks);
+        mpesaRequestDto.setQueueTimeOutURL(queueTimeOutURL);
+        mpesaRequestDto.setResultURL(resultURL);
+        return mpesaRequestDto;
+    }
+}
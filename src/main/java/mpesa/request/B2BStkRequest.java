@@ -0,0 +1,32 @@
+package mpesa.request;
+
+import lombok.Builder;
+import mpesa.dto.MpesaRequestDto;
+
+/**
+ * Immutable B2B USSD push request
+ */
+@Builder(toBuilder = true)
+public record B2BStkRequest(Integer sendingPartyShortCode,
+                            Integer receivingPartyShortCode,
+                            String receivingPartyName,
+                            double amt,
+                            String paymentRef,
+                            String callback,
+                            String requestRefId) {
+
+    /**
+     * @return New MpesaRequestDto owned by the caller
+     */
+    public MpesaRequestDto toMpesaRequestDto() {
+        MpesaRequestDto mpesaRequestDto = new MpesaRequestDto();
+        mpesaRequestDto.setSendingPartyShortCode(sendingPartyShortCode);
+        mpesaRequestDto.setReceivingPartyShortCode(receivingPartyShortCode);
+        mpesaRequestDto.setReceivingPartyName(receivingPartyName);
+        mpesaRequestDto.setAmt(amt);
+        mpesaRequestDto.setPaymentRef(paymentRef);
+        mpesaRequestDto.setCallback(callback);
+        mpesaRequestDto.setRequestRefId(requestRefId);
+        return mpesaRequestDto;
+    }
+}
@@ -0,0 +1,37 @@
+package mpesa.request;
+
+import lombok.Builder;
+import mpesa.dto.MpesaRequestDto;
+import mpesa.util.B2CCommandID;
+
+/**
+ * Immutable B2C disbursement request
+ */
+@Builder(toBuilder = true)
+public record B2CRequest(String originatorConversationId,
+                         B2CCommandID b2CCommandID,
+                         double amount,
+                         Integer businessShortCode,
+                         Long phoneNumber,
+                         String remarks,
+                         String queueTimeOutURL,
+                         String resultURL,
+                         String occassion) {
+
+    /**
+     * @return New MpesaRequestDto owned by the caller
+     */
+    public MpesaRequestDto toMpesaRequestDto() {
+        MpesaRequestDto mpesaRequestDto = new MpesaRequestDto();
+        mpesaRequestDto.setOriginatorConversationId(originatorConversationId);
+        mpesaRequestDto.setB2CCommandID(b2CCommandID);
+        mpesaRequestDto.setAmount(amount);
+        mpesaRequestDto.setBusinessShortCode(businessShortCode);
+        mpesaRequestDto.setPhoneNumber(phoneNumber);
+        mpesaRequestDto.setRemarks(remarks);
+        mpesaRequestDto.setQueueTimeOutURL(queueTimeOutURL);
+        mpesaRequestDto.setResultURL(resultURL);
+        mpesaRequestDto.setOccassion(occassion);
+        return mpesaRequestDto;
+    }
+}
@@ -0,0 +1,27 @@
+package mpesa.request;
+
+import lombok.Builder;
+import mpesa.dto.MpesaRequestDto;
+import mpesa.util.RegisterURLResponseType;
+
+/**
+ * Immutable C2B validation and confirmation URL registration request
+ */
+@Builder(toBuilder = true)
+public record C2BRegisterURLRequest(Integer businessShortCode,
+                                    RegisterURLResponseType registerURLResponseType,
+                                    String confirmationURL,
+                                    String validationURL) {
+
+    /**
+     * @return New MpesaRequestDto owned by the caller
+     */
+    public MpesaRequestDto toMpesaRequestDto() {
+        MpesaRequestDto mpesaRequestDto = new MpesaRequestDto();
+        mpesaRequestDto.setBusinessShortCode(businessShortCode);
+        mpesaRequestDto.setRegisterURLResponseType(registerURLResponseType);
+        mpesaRequestDto.setConfirmationURL(confirmationURL);
+        mpesaRequestDto.setValidationURL(validationURL);
+        return mpesaRequestDto;
+    }
+}
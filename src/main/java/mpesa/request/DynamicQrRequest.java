@@ -0,0 +1,39 @@
+package mpesa.request;
+
+import lombok.Builder;
+import mpesa.dto.MpesaRequestDto;
+import mpesa.util.TrxCodeType;
+
+/**
+ * Immutable dynamic QR code request
+ *
+ * @param businessShortCode Required unless trxCodeType is SEND_MONEY_MOBILE_NUMBER or WITHDRAW_CASH_AGENT_TILL
+ * @param agentTill         Required when trxCodeType is WITHDRAW_CASH_AGENT_TILL
+ * @param phoneNumber       Required when trxCodeType is SEND_MONEY_MOBILE_NUMBER
+ */
+@Builder(toBuilder = true)
+public record DynamicQrRequest(double amount,
+                               String merchantName,
+                               String refNo,
+                               TrxCodeType trxCodeType,
+                               Integer businessShortCode,
+                               Integer agentTill,
+                               Long phoneNumber,
+                               String size) {
+
+    /**
+     * @return New MpesaRequestDto owned by the caller
+     */
+    public MpesaRequestDto toMpesaRequestDto() {
+        MpesaRequestDto mpesaRequestDto = new MpesaRequestDto();
+        mpesaRequestDto.setAmount(amount);
+        mpesaRequestDto.setMerchantName(merchantName);
+        mpesaRequestDto.setRefNo(refNo);
+        mpesaRequestDto.setTrxCodeType(trxCodeType);
+        mpesaRequestDto.setBusinessShortCode(businessShortCode);
+        mpesaRequestDto.setAgentTill(agentTill);
+        mpesaRequestDto.setPhoneNumber(phoneNumber);
+        mpesaRequestDto.setSize(size);
+        return mpesaRequestDto;
+    }
+}
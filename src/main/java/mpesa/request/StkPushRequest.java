@@ -0,0 +1,33 @@
+package mpesa.request;
+
+import lombok.Builder;
+import mpesa.dto.MpesaRequestDto;
+import mpesa.util.STKTransactionType;
+
+/**
+ * Immutable STK push request
+ */
+@Builder(toBuilder = true)
+public record StkPushRequest(STKTransactionType stkTransactionType,
+                             Integer businessShortCode,
+                             double amount,
+                             Long phoneNumber,
+                             String callbackURL,
+                             String accountReference,
+                             String transactionDesc) {
+
+    /**
+     * @return New MpesaRequestDto owned by the caller
+     */
+    public MpesaRequestDto toMpesaRequestDto() {
+        MpesaRequestDto mpesaRequestDto = new MpesaRequestDto();
+        mpesaRequestDto.setStkTransactionType(stkTransactionType);
+        mpesaRequestDto.setBusinessShortCode(businessShortCode);
+        mpesaRequestDto.setAmount(amount);
+        mpesaRequestDto.setPhoneNumber(phoneNumber);
+        mpesaRequestDto.setCallbackURL(callbackURL);
+        mpesaRequestDto.setAccountReference(accountReference);
+        mpesaRequestDto.setTransactionDesc(transactionDesc);
+        return mpesaRequestDto;
+    }
+}
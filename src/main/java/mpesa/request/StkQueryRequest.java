@@ -0,0 +1,22 @@
+package mpesa.request;
+
+import lombok.Builder;
+import mpesa.dto.MpesaRequestDto;
+
+/**
+ * Immutable STK push status request
+ */
+@Builder(toBuilder = true)
+public record StkQueryRequest(Integer businessShortCode,
+                              String checkoutRequestID) {
+
+    /**
+     * @return New MpesaRequestDto owned by the caller
+     */
+    public MpesaRequestDto toMpesaRequestDto() {
+        MpesaRequestDto mpesaRequestDto = new MpesaRequestDto();
+        mpesaRequestDto.setBusinessShortCode(businessShortCode);
+        mpesaRequestDto.setCheckoutRequestID(checkoutRequestID);
+        return mpesaRequestDto;
+    }
+}
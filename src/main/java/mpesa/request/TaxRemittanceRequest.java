@@ -0,0 +1,30 @@
+package mpesa.request;
+
+import lombok.Builder;
+import mpesa.dto.MpesaRequestDto;
+
+/**
+ * Immutable KRA tax remittance request
+ */
+@Builder(toBuilder = true)
+public record TaxRemittanceRequest(String taxPRN,
+                                   Integer businessShortCode,
+                                   double amount,
+                                   String remarks,
+                                   String queueTimeOutURL,
+                                   String resultURL) {
+
+    /**
+     * @return New MpesaRequestDto owned by the caller
+     */
+    public MpesaRequestDto toMpesaRequestDto() {
+        MpesaRequestDto mpesaRequestDto = new MpesaRequestDto();
+        mpesaRequestDto.setTaxPRN(taxPRN);
+        mpesaRequestDto.setBusinessShortCode(businessShortCode);
+        mpesaRequestDto.setAmount(amount);
+        mpesaRequestDto.setRemarks(remarks);
+        mpesaRequestDto.setQueueTimeOutURL(queueTimeOutURL);
+        mpesaRequestDto.setResultURL(resultURL);
+        return mpesaRequestDto;
+    }
+}
@@ -0,0 +1,32 @@
+package mpesa.request;
+
+import lombok.Builder;
+import mpesa.dto.MpesaRequestDto;
+
+/**
+ * Immutable C2B transaction status request
+ */
+@Builder(toBuilder = true)
+public record TransactionStatusRequest(Integer businessShortCode,
+                                       String transactionId,
+                                       String resultURL,
+                                       String queueTimeOutURL,
+                                       String remarks,
+                                       String occassion,
+                                       String originatorConversationId) {
+
+    /**
+     * @return New MpesaRequestDto owned by the caller
+     */
+    public MpesaRequestDto toMpesaRequestDto() {
+        MpesaRequestDto mpesaRequestDto = new MpesaRequestDto();
+        mpesaRequestDto.setBusinessShortCode(businessShortCode);
+        mpesaRequestDto.setTransactionId(transactionId);
+        mpesaRequestDto.setResultURL(resultURL);
+        mpesaRequestDto.setQueueTimeOutURL(queueTimeOutURL);
+        mpesaRequestDto.setRemarks(remarks);
+        mpesaRequestDto.setOccassion(occassion);
+        mpesaRequestDto.setOriginatorConversationId(originatorConversationId);
+        return mpesaRequestDto;
+    }
+}
@@ -0,0 +1,58 @@
+package mpesa.result;
+
+import mpesa.MpesaResponse;
+
+/**
+ * Compact B2B USSD push result (ResponseParserType B2B_STK)
+ *
+ * @param resultCode       resultCode, 0 when the payment succeeded, -1 when missing or not numeric
+ * @param resultDesc       resultDesc
+ * @param requestId        requestId, the RequestRefID that was sent
+ * @param amount           amount, 0 when absent
+ * @param paymentReference paymentReference
+ * @param conversationId   conversationID
+ * @param transactionId    transactionId
+ * @param status           status
+ */
+public record B2BStkResult(int resultCode,
+                           String resultDesc,
+                           String requestId,
+                           double amount,
+                           String paymentReference,
+                           String conversationId,
+                           String transactionId,
+                           String status) implements CallbackResult {
+
+    /**
+     * Converts a B2B USSD push result bound to MpesaResponse
+     *
+     * @param mpesaResponse B2B USSD push callback
+     * @return B2BStkResult
+     */
+    public static B2BStkResult from(MpesaResponse mpesaResponse) {
+        int resultCode;
+        try {
+            resultCode = mpesaResponse.getResultCode() != null ? Integer.parseInt(mpesaResponse.getResultCode().trim()) : -1;
+        } catch (NumberFormatException e) {
+            resultCode = -1;
+        }
+        return new B2BStkResult(resultCode, mpesaResponse.getResultDesc(), mpesaResponse.getRequestId(),
+                mpesaResponse.getAmount() != null ? mpesaResponse.getAmount() : 0, mpesaResponse.getPaymentReference(),
+                mpesaResponse.getConversationId(), mpesaResponse.getTransactionId(), mpesaResponse.getStatus());
+    }
+
+    @Override
+    public MpesaResponse toMpesaResponse() {
+        MpesaResponse mpesaResponse = new MpesaResponse();
+        mpesaResponse.setResultCode(Integer.toString(resultCode));
+        mpesaResponse.setResultDesc(resultDesc);
+        mpesaResponse.setRequestId(requestId);
+        mpesaResponse.setAmount(amount);
+        mpesaResponse.setPaymentReference(paymentReference);
+        mpesaResponse.setConversationId(conversationId);
+        mpesaResponse.setTransactionId(transactionId);
+        mpesaResponse.setStatus(status);
+        mpesaResponse.setInternalStatus(isSuccessful());
+        return mpesaResponse;
+    }
+}
@@ -0,0 +1,55 @@
+package mpesa.result;
+
+import mpesa.MpesaResponse;
+import mpesa.util.ResponseParserType;
+import mpesa.util.ResultCode;
+
+/**
+ * Compact immutable view of a callback, one record per ResponseParserType
+ */
+public sealed interface CallbackResult permits StkCallbackResult, TransactionResult, TransactionStatusResult, B2BStkResult {
+
+    /**
+     * @return ResultCode as sent by DARAJA
+     */
+    int resultCode();
+
+    /**
+     * @return ResultCode mapped to the precomputed enum
+     */
+    default ResultCode result() {
+        return ResultCode.of(resultCode());
+    }
+
+    /**
+     * @return Whether the transaction succeeded
+     */
+    default boolean isSuccessful() {
+        return resultCode() == 0;
+    }
+
+    /**
+     * Compatibility shim for code written against MpesaResponse.
+     * Allocates a new MpesaResponse (and its Body or Result) on every call with the fields MpesaClient.responseParser(...)
+     * would have set, sharing this record's strings. Keep the record itself on hot paths and in long lived collections.
+     *
+     * @return MpesaResponse
+     */
+    MpesaResponse toMpesaResponse();
+
+    /**
+     * Converts a callback bound to MpesaResponse, sharing its strings
+     *
+     * @param mpesaResponse      Callback bound to MpesaResponse
+     * @param responseParserType Type of the callback
+     * @return CallbackResult
+     */
+    static CallbackResult from(MpesaResponse mpesaResponse, ResponseParserType responseParserType) {
+        return switch (responseParserType) {
+            case C2B_STK -> StkCallbackResult.from(mpesaResponse);
+            case B2B_PAYMENT, B2C, TAX_REMITTANCE -> TransactionResult.from(mpesaResponse);
+            case C2B_TRANSACTION_STATUS -> TransactionStatusResult.from(mpesaResponse);
+            case B2B_STK -> B2BStkResult.from(mpesaResponse);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package mpesa.result;
+
+/**
+ * Lenient reading of numeric callback metadata, a malformed value is treated like an absent item
+ */
+final class MetadataValues {
+
+    private MetadataValues() {
+    }
+
+    /**
+     * @param value Text as sent by DARAJA
+     * @return Value, 0 when it is not a number
+     */
+    static double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * @param value Text as sent by DARAJA
+     * @return Value, 0 when it is not a whole number
+     */
+    static long parseLong(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
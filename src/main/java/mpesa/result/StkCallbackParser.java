@@ -0,0 +1,197 @@
+package mpesa.result;
+
+import base.JsonCodec;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import mpesa.jfr.CallbackParseEvent;
+import mpesa.util.ResponseParserType;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Single pass token streaming parser for STK callbacks.
+ * Reads Body.stkCallback and its CallbackMetadata items straight into a StkCallbackResult without binding
+ * MpesaResponse, Body, StkCallback, CallbackMetadata or the Item list.
+ */
+public final class StkCallbackParser {
+
+    private StkCallbackParser() {
+    }
+
+    /**
+     * @param json Raw STK callback body
+     * @return StkCallbackResult
+     * @throws IOException When the body is not a valid STK callback
+     */
+    public static StkCallbackResult parse(byte[] json) throws IOException {
+        try (JsonParser parser = JsonCodec.getDefault().getFactory().createParser(json)) {
+            return parse(parser);
+        }
+    }
+
+    /**
+     * @param json Raw STK callback body
+     * @return StkCallbackResult
+     * @throws IOException When the body is not a valid STK callback
+     */
+    public static StkCallbackResult parse(InputStream json) throws IOException {
+        try (JsonParser parser = JsonCodec.getDefault().getFactory().createParser(json)) {
+            return parse(parser);
+        }
+    }
+
+    private static StkCallbackResult parse(JsonParser parser) throws IOException {
+        CallbackParseEvent event = new CallbackParseEvent();
+        event.begin();
+        StkCallbackResult stkCallbackResult = parseBody(parser);
+        if (event.shouldCommit()) {
+            event.parserType = ResponseParserType.C2B_STK.name();
+            event.bytes = parser.currentLocation().getByteOffset();
+            event.successful = stkCallbackResult.isSuccessful();
+            event.commit();
+        }
+        return stkCallbackResult;
+    }
+
+    private static StkCallbackResult parseBody(JsonParser parser) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("Body".equals(field) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String bodyField = parser.currentName();
+                    JsonToken bodyToken = parser.nextToken();
+                    if ("stkCallback".equals(bodyField) && bodyToken == JsonToken.START_OBJECT) {
+                        return parseStkCallback(parser);
+                    }
+                    parser.skipChildren();
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        throw new JsonParseException(parser, "Missing Body.stkCallback");
+    }
+
+    private static StkCallbackResult parseStkCallback(JsonParser parser) throws IOException {
+        String merchantRequestID = null;
+        String checkoutRequestID = null;
+        int resultCode = -1;
+        String resultDesc = null;
+        Metadata metadata = new Metadata();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "MerchantRequestID" -> merchantRequestID = parser.getValueAsString();
+                case "CheckoutRequestID" -> checkoutRequestID = parser.getValueAsString();
+                case "ResultCode" -> resultCode = token == JsonToken.VALUE_STRING ? parseResultCode(parser) : parser.getIntValue();
+                case "ResultDesc" -> resultDesc = parser.getValueAsString();
+                case "CallbackMetadata" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        parseCallbackMetadata(parser, metadata);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (resultCode < 0) {
+            throw new JsonParseException(parser, "Missing stkCallback.ResultCode");
+        }
+        return new StkCallbackResult(merchantRequestID, checkoutRequestID, resultCode, resultDesc,
+                metadata.amount, metadata.mpesaReceiptNumber, metadata.phoneNumber, metadata.transactionDate);
+    }
+
+    private static void parseCallbackMetadata(JsonParser parser, Metadata metadata) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && "Item".equals(field)) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    parseItem(parser, metadata);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Items are written Name first, a Value that precedes its Name is kept as text until the Name is known
+     */
+    private static void parseItem(JsonParser parser, Metadata metadata) throws IOException {
+        String name = null;
+        String pendingValue = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("Name".equals(field)) {
+                name = parser.getValueAsString();
+                if (pendingValue != null) {
+                    metadata.set(name, pendingValue);
+                }
+            } else if ("Value".equals(field)) {
+                if (name != null) {
+                    metadata.set(parser, name, token);
+                } else if (token.isScalarValue()) {
+                    pendingValue = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static int parseResultCode(JsonParser parser) throws IOException {
+        try {
+            return Integer.parseInt(parser.getText().trim());
+        } catch (NumberFormatException e) {
+            throw new JsonParseException(parser, "Invalid stkCallback.ResultCode " + parser.getText(), e);
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+
+    private static final class Metadata {
+        private double amount;
+        private String mpesaReceiptNumber;
+        private long phoneNumber;
+        private long transactionDate;
+
+        private void set(JsonParser parser, String name, JsonToken token) throws IOException {
+            if (!token.isScalarValue()) {
+                parser.skipChildren();
+                return;
+            }
+            switch (name) {
+                case "Amount" -> amount = token.isNumeric() ? parser.getDoubleValue() : MetadataValues.parseDouble(parser.getText());
+                case "MpesaReceiptNumber" -> mpesaReceiptNumber = parser.getValueAsString();
+                case "PhoneNumber" -> phoneNumber = token.isNumeric() ? parser.getLongValue() : MetadataValues.parseLong(parser.getText());
+                case "TransactionDate" -> transactionDate = token.isNumeric() ? parser.getLongValue() : MetadataValues.parseLong(parser.getText());
+                default -> {
+                }
+            }
+        }
+
+        private void set(String name, String value) {
+            switch (name) {
+                case "Amount" -> amount = MetadataValues.parseDouble(value);
+                case "MpesaReceiptNumber" -> mpesaReceiptNumber = value;
+                case "PhoneNumber" -> phoneNumber = MetadataValues.parseLong(value);
+                case "TransactionDate" -> transactionDate = MetadataValues.parseLong(value);
+                default -> {
+                }
+            }
+        }
+    }
+}
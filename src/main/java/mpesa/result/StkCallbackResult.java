@@ -0,0 +1,104 @@
+package mpesa.result;
+
+import base.MpesaTimestamp;
+import mpesa.MpesaResponse;
+import mpesa.stk.Body;
+import mpesa.stk.Item;
+import mpesa.stk.StkCallback;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Compact STK callback, primitives hold 0 when the CallbackMetadata did not contain the item (e.g. cancelled pushes)
+ * or its value was not a number
+ *
+ * @param merchantRequestID  MerchantRequestID
+ * @param checkoutRequestID  CheckoutRequestID
+ * @param resultCode         ResultCode, 0 when the payment succeeded
+ * @param resultDesc         ResultDesc
+ * @param amount             Amount
+ * @param mpesaReceiptNumber MpesaReceiptNumber
+ * @param phoneNumber        PhoneNumber
+ * @param transactionDate    TransactionDate as sent by DARAJA, yyyyMMddHHmmss
+ */
+public record StkCallbackResult(String merchantRequestID,
+                                String checkoutRequestID,
+                                int resultCode,
+                                String resultDesc,
+                                double amount,
+                                String mpesaReceiptNumber,
+                                long phoneNumber,
+                                long transactionDate) implements CallbackResult {
+
+    /**
+     * Converts an STK callback bound to MpesaResponse
+     *
+     * @param mpesaResponse STK callback
+     * @return StkCallbackResult
+     */
+    public static StkCallbackResult from(MpesaResponse mpesaResponse) {
+        StkCallback stkCallback = mpesaResponse.getBody().getStkCallback();
+        double amount = 0;
+        String mpesaReceiptNumber = null;
+        long phoneNumber = 0;
+        long transactionDate = 0;
+        if (stkCallback.getCallbackMetadata() != null && stkCallback.getCallbackMetadata().getItems() != null) {
+            for (Item item : stkCallback.getCallbackMetadata().getItems()) {
+                if (item.getName() == null || item.getValue() == null) {
+                    continue;
+                }
+                switch (item.getName()) {
+                    case "Amount" -> amount = MetadataValues.parseDouble(item.getValue());
+                    case "MpesaReceiptNumber" -> mpesaReceiptNumber = item.getValue();
+                    case "PhoneNumber" -> phoneNumber = MetadataValues.parseLong(item.getValue());
+                    case "TransactionDate" -> transactionDate = MetadataValues.parseLong(item.getValue());
+                    default -> {
+                    }
+                }
+            }
+        }
+        return new StkCallbackResult(stkCallback.getMerchantRequestID(), stkCallback.getCheckoutRequestID(),
+                stkCallback.getResultCode() != null ? stkCallback.getResultCode() : -1, stkCallback.getResultDesc(),
+                amount, mpesaReceiptNumber, phoneNumber, transactionDate);
+    }
+
+    @Override
+    public MpesaResponse toMpesaResponse() {
+        StkCallback stkCallback = new StkCallback();
+        stkCallback.setMerchantRequestID(merchantRequestID);
+        stkCallback.setCheckoutRequestID(checkoutRequestID);
+        stkCallback.setResultCode(resultCode);
+        stkCallback.setResultDesc(resultDesc);
+        Body body = new Body();
+        body.setStkCallback(stkCallback);
+
+        MpesaResponse mpesaResponse = new MpesaResponse();
+        mpesaResponse.setBody(body);
+        mpesaResponse.setInternalStatus(isSuccessful());
+        if (mpesaReceiptNumber != null) {
+            mpesaResponse.setAmount(amount);
+            mpesaResponse.setMpesaReference(mpesaReceiptNumber);
+        }
+        if (phoneNumber != 0) {
+            mpesaResponse.setPhoneNumber(Long.toString(phoneNumber));
+        }
+        mpesaResponse.setTransactionDate(transactionInstant());
+        return mpesaResponse;
+    }
+
+    /**
+     * @return TransactionDate in the system time zone, like Helpers.formatDateTimeToInstant(...), null when absent or not a valid date
+     */
+    public Instant transactionInstant() {
+        if (transactionDate == 0) {
+            return null;
+        }
+        try {
+            return MpesaTimestamp.parse(transactionDate).atZone(ZoneId.systemDefault()).toInstant();
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package mpesa.result;
+
+import mpesa.MpesaResponse;
+import mpesa.b2b.Result;
+import mpesa.b2b.ResultParameter;
+
+/**
+ * Compact result of a B2C disbursement, B2B payment or tax remittance (ResponseParserType B2C, B2B_PAYMENT, TAX_REMITTANCE)
+ *
+ * @param resultType               ResultType
+ * @param resultCode               ResultCode, 0 when the transaction succeeded
+ * @param resultDesc               ResultDesc
+ * @param originatorConversationId OriginatorConversationID
+ * @param conversationId           ConversationID
+ * @param transactionId            TransactionID
+ * @param amount                   TransactionAmount (B2C) or Amount (B2B, tax), 0 when absent or not a number
+ * @param receiverPartyPublicName  ReceiverPartyPublicName
+ * @param completedTime            TransactionCompletedDateTime (B2C) or TransCompletedTime (B2B, tax) as sent by DARAJA
+ */
+public record TransactionResult(int resultType,
+                                int resultCode,
+                                String resultDesc,
+                                String originatorConversationId,
+                                String conversationId,
+                                String transactionId,
+                                double amount,
+                                String receiverPartyPublicName,
+                                String completedTime) implements CallbackResult {
+
+    /**
+     * Converts a result bound to MpesaResponse
+     *
+     * @param mpesaResponse Result callback
+     * @return TransactionResult
+     */
+    public static TransactionResult from(MpesaResponse mpesaResponse) {
+        Result result = mpesaResponse.getResult();
+        double amount = 0;
+        String receiverPartyPublicName = null;
+        String completedTime = null;
+        if (result.getResultParameters() != null && result.getResultParameters().getResultParameter() != null) {
+            for (ResultParameter resultParameter : result.getResultParameters().getResultParameter()) {
+                if (resultParameter.getKey() == null || resultParameter.getValue() == null) {
+                    continue;
+                }
+                switch (resultParameter.getKey()) {
+                    case "TransactionAmount", "Amount" -> amount = MetadataValues.parseDouble(resultParameter.getValue());
+                    case "ReceiverPartyPublicName" -> receiverPartyPublicName = resultParameter.getValue();
+                    case "TransactionCompletedDateTime", "TransCompletedTime" -> completedTime = resultParameter.getValue();
+                    default -> {
+                    }
+                }
+            }
+        }
+        return new TransactionResult(result.getResultType(), result.getResultCode(), result.getResultDesc(),
+                result.getOriginatorConversationId(), result.getConversationId(), result.getTransactionId(),
+                amount, receiverPartyPublicName, completedTime);
+    }
+
+    @Override
+    public MpesaResponse toMpesaResponse() {
+        Result result = new Result();
+        result.setResultType(resultType);
+        result.setResultCode(resultCode);
+        result.setResultDesc(resultDesc);
+        result.setOriginatorConversationId(originatorConversationId);
+        result.setConversationId(conversationId);
+        result.setTransactionId(transactionId);
+
+        MpesaResponse mpesaResponse = new MpesaResponse();
+        mpesaResponse.setResult(result);
+        mpesaResponse.setInternalStatus(isSuccessful());
+        return mpesaResponse;
+    }
+}
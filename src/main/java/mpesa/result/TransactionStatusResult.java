@@ -0,0 +1,107 @@
+package mpesa.result;
+
+import base.Helpers;
+import mpesa.MpesaResponse;
+import mpesa.b2b.Result;
+import mpesa.b2b.ResultParameter;
+
+import java.time.DateTimeException;
+
+/**
+ * Compact C2B transaction status result (ResponseParserType C2B_TRANSACTION_STATUS)
+ *
+ * @param resultType               ResultType
+ * @param resultCode               ResultCode, 0 when the query succeeded
+ * @param resultDesc               ResultDesc
+ * @param originatorConversationId OriginatorConversationID
+ * @param conversationId           ConversationID
+ * @param transactionId            TransactionID
+ * @param amount                   Amount, 0 when absent or not a number
+ * @param receiptNo                ReceiptNo
+ * @param phoneNumber              Phone number from DebitPartyName
+ * @param fullNames                Names from DebitPartyName
+ * @param finalisedTime            FinalisedTime as sent by DARAJA, yyyyMMddHHmmss, 0 when absent or not a number
+ */
+public record TransactionStatusResult(int resultType,
+                                      int resultCode,
+                                      String resultDesc,
+                                      String originatorConversationId,
+                                      String conversationId,
+                                      String transactionId,
+                                      double amount,
+                                      String receiptNo,
+                                      String phoneNumber,
+                                      String fullNames,
+                                      long finalisedTime) implements CallbackResult {
+
+    /**
+     * Converts a transaction status result bound to MpesaResponse
+     *
+     * @param mpesaResponse Transaction status callback
+     * @return TransactionStatusResult
+     */
+    public static TransactionStatusResult from(MpesaResponse mpesaResponse) {
+        Result result = mpesaResponse.getResult();
+        double amount = 0;
+        String receiptNo = null;
+        String phoneNumber = null;
+        String fullNames = null;
+        long finalisedTime = 0;
+        if (result.getResultParameters() != null && result.getResultParameters().getResultParameter() != null) {
+            for (ResultParameter resultParameter : result.getResultParameters().getResultParameter()) {
+                if (resultParameter.getKey() == null || resultParameter.getValue() == null) {
+                    continue;
+                }
+                switch (resultParameter.getKey()) {
+                    case "Amount" -> amount = MetadataValues.parseDouble(resultParameter.getValue());
+                    case "ReceiptNo" -> receiptNo = resultParameter.getValue();
+                    case "FinalisedTime" -> finalisedTime = MetadataValues.parseLong(resultParameter.getValue());
+                    case "DebitPartyName" -> {
+                        //format: <phone> - <names>
+                        String debitPartyName = resultParameter.getValue();
+                        int separator = debitPartyName.indexOf('-');
+                        String phone = (separator < 0 ? debitPartyName : debitPartyName.substring(0, separator)).trim();
+                        phoneNumber = phone.isEmpty() ? null : phone;
+                        if (separator >= 0) {
+                            String names = debitPartyName.substring(separator + 1).trim();
+                            fullNames = names.isEmpty() ? null : names;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        return new TransactionStatusResult(result.getResultType(), result.getResultCode(), result.getResultDesc(),
+                result.getOriginatorConversationId(), result.getConversationId(), result.getTransactionId(),
+                amount, receiptNo, phoneNumber, fullNames, finalisedTime);
+    }
+
+    @Override
+    public MpesaResponse toMpesaResponse() {
+        Result result = new Result();
+        result.setResultType(resultType);
+        result.setResultCode(resultCode);
+        result.setResultDesc(resultDesc);
+        result.setOriginatorConversationId(originatorConversationId);
+        result.setConversationId(conversationId);
+        result.setTransactionId(transactionId);
+
+        MpesaResponse mpesaResponse = new MpesaResponse();
+        mpesaResponse.setResult(result);
+        mpesaResponse.setInternalStatus(isSuccessful());
+        if (receiptNo != null) {
+            mpesaResponse.setAmount(amount);
+            mpesaResponse.setMpesaReference(receiptNo);
+        }
+        mpesaResponse.setPhoneNumber(phoneNumber);
+        mpesaResponse.setFullNames(fullNames);
+        if (finalisedTime != 0) {
+            try {
+                mpesaResponse.setTransactionDate(Helpers.formatDateTimeToInstant(Long.toString(finalisedTime)));
+            } catch (DateTimeException e) {
+            }
+        }
+        return mpesaResponse;
+    }
+}
@@ -0,0 +1,498 @@
+package mpesa.simulator;
+
+import base.ContentType;
+import base.HashedTimerWheel;
+import base.Helpers;
+import base.HttpTransport;
+import base.JsonCodec;
+import base.MpesaTimestamp;
+import base.RateLimiter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Builder;
+import mpesa.util.MpesaURL;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embeddable simulator of the DARAJA endpoints in MpesaURL for offline load and latency testing.
+ * Point an MpesaClient at it with baseUrl(simulator.getBaseUrl()). Every endpoint follows an EndpointBehavior
+ * (latency, injected errors, throttling) and asynchronous APIs post a realistic callback to the request's
+ * CallBackURL, ResultURL or callbackUrl after the configured delay.
+ * Requests run on one virtual thread each by default, so simulated latency does not hold platform threads.
+ */
+public class DarajaSimulator implements AutoCloseable {
+    private static final String ACCEPTED = "Accept the service request successfully.";
+    private static final String PROCESSED = "The service request is processed successfully.";
+    private static final int MAX_STK_RESULTS = 100_000;
+    private static final char[] RECEIPT_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+    private static final String QR_CODE = "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==";
+
+    private final HttpServer httpServer;
+    private final ExecutorService ownedExecutor;
+    private final HttpTransport callbackTransport;
+    private final HashedTimerWheel timerWheel;
+    private final EndpointBehavior defaultBehavior;
+    private final long tokenLifetimeSeconds;
+    private final Map<MpesaURL, EndpointBehavior> behaviors = new ConcurrentHashMap<>();
+    private final Map<MpesaURL, RateLimiter> throttles = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> accessTokens = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, StkResult> stkResults = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder callbacksSent = new LongAdder();
+    private final LongAdder callbacksFailed = new LongAdder();
+
+    /**
+     * Creates the simulator, configure endpoints and call start()
+     *
+     * @param address         Address to listen on, defaults to an ephemeral port on the loopback interface
+     * @param backlog         Socket backlog, system default when 0
+     * @param executor        Executor for requests, one virtual thread per request when null
+     * @param defaultBehavior Behavior of endpoints that were not configured, defaults to no latency, errors or throttling
+     * @param tokenLifetime   expires_in of issued access tokens, defaults to 3599 seconds
+     * @throws IOException When the address cannot be bound
+     */
+    @Builder
+    private DarajaSimulator(InetSocketAddress address, int backlog, Executor executor, EndpointBehavior defaultBehavior, Duration tokenLifetime) throws IOException {
+        this.httpServer = HttpServer.create(address != null ? address : new InetSocketAddress("127.0.0.1", 0), backlog);
+        this.ownedExecutor = executor == null ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.httpServer.setExecutor(executor != null ? executor : ownedExecutor);
+        this.defaultBehavior = defaultBehavior != null ? defaultBehavior : EndpointBehavior.builder().build();
+        this.tokenLifetimeSeconds = tokenLifetime != null ? tokenLifetime.toSeconds() : 3599;
+        this.callbackTransport = HttpTransport.builder()
+                .httpVersion(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .requestTimeout(Duration.ofSeconds(30))
+                .virtualThreads(true)
+                .build();
+        this.timerWheel = HashedTimerWheel.builder().tickDuration(Duration.ofMillis(10)).build();
+        for (MpesaURL mpesaURL : MpesaURL.values()) {
+            httpServer.createContext("/" + mpesaURL.getUrl().split("\\?")[0], exchange -> handle(exchange, mpesaURL));
+        }
+    }
+
+    /**
+     * Overrides the default behavior for one endpoint, may be called while the simulator is running
+     *
+     * @param mpesaURL         Endpoint
+     * @param endpointBehavior Behavior
+     * @return DarajaSimulator
+     */
+    public DarajaSimulator configure(@NotNull MpesaURL mpesaURL, @NotNull EndpointBehavior endpointBehavior) {
+        behaviors.put(mpesaURL, endpointBehavior);
+        throttles.remove(mpesaURL);
+        return this;
+    }
+
+    /**
+     * Starts accepting requests
+     *
+     * @return DarajaSimulator
+     */
+    public DarajaSimulator start() {
+        httpServer.start();
+        return this;
+    }
+
+    /**
+     * @return Address the simulator is bound to
+     */
+    public InetSocketAddress getAddress() {
+        return httpServer.getAddress();
+    }
+
+    /**
+     * @return Url to pass to MpesaClient.baseUrl(...)
+     */
+    public String getBaseUrl() {
+        InetSocketAddress address = httpServer.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    /**
+     * @return Requests received, including rejected ones
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return Requests answered with an injected 500
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return Requests answered with 429
+     */
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    /**
+     * @return Callbacks acknowledged with a 2xx status
+     */
+    public long getCallbacksSent() {
+        return callbacksSent.sum();
+    }
+
+    /**
+     * @return Callbacks that could not be delivered or were not acknowledged with a 2xx status
+     */
+    public long getCallbacksFailed() {
+        return callbacksFailed.sum();
+    }
+
+    /**
+     * Revokes every issued access token before its expiry, as DARAJA occasionally does, later calls with them get 401
+     */
+    public void revokeAccessTokens() {
+        accessTokens.clear();
+    }
+
+    /**
+     * Stops the simulator, callbacks not yet posted are discarded
+     */
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        timerWheel.close();
+        callbackTransport.close();
+        if (ownedExecutor != null) {
+            ownedExecutor.close();
+        }
+    }
+
+    /**
+     * Outcome of an STK push, reported by STK_QUERY once the callback is due
+     */
+    private record StkResult(int resultCode, long createdAt, long completesAt) {
+    }
+
+    /**
+     * Answer with a status other than 200
+     */
+    private record Reply(int status, Object body) {
+    }
+
+    private void handle(HttpExchange exchange, MpesaURL mpesaURL) throws IOException {
+        try (exchange) {
+            requests.increment();
+            if (!(mpesaURL == MpesaURL.AUTH ? "GET" : "POST").equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            EndpointBehavior behavior = behaviors.getOrDefault(mpesaURL, defaultBehavior);
+            if (behavior.throttle() != null && !throttle(mpesaURL, behavior).tryAcquire()) {
+                throttled.increment();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 429, error("500.003.03", "Spike arrest violation"));
+                return;
+            }
+            if (!sleep(behavior.latency().sampleNanos())) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            if (!authorized(exchange, mpesaURL)) {
+                respond(exchange, 401, mpesaURL == MpesaURL.AUTH
+                        ? error("400.008.01", "Invalid Authentication passed")
+                        : error("404.001.03", "Invalid Access Token"));
+                return;
+            }
+            if (behavior.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < behavior.errorRate()) {
+                errors.increment();
+                respond(exchange, 500, error("500.003.02", "System is busy. Please try again in few minutes."));
+                return;
+            }
+            JsonNode request = null;
+            if (mpesaURL != MpesaURL.AUTH) {
+                try (InputStream body = exchange.getRequestBody()) {
+                    request = JsonCodec.getDefault().reader(JsonNode.class).readValue(body.readAllBytes());
+                } catch (JsonProcessingException e) {
+                    request = null;
+                }
+                if (request == null || !request.isObject()) {
+                    respond(exchange, 400, error("400.002.02", "Bad Request - Invalid payload"));
+                    return;
+                }
+            }
+            Object answer = answer(mpesaURL, request, behavior);
+            if (answer instanceof Reply reply) {
+                respond(exchange, reply.status(), reply.body());
+            } else {
+                respond(exchange, 200, answer);
+            }
+        }
+    }
+
+    private RateLimiter throttle(MpesaURL mpesaURL, EndpointBehavior behavior) {
+        return throttles.computeIfAbsent(mpesaURL, key -> new RateLimiter(behavior.throttle().toBuilder().mode(RateLimiter.Mode.FAIL_FAST).build()));
+    }
+
+    private boolean authorized(HttpExchange exchange, MpesaURL mpesaURL) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (mpesaURL == MpesaURL.AUTH) {
+            return authorization != null && authorization.startsWith("Basic ") && authorization.length() > 6;
+        }
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return false;
+        }
+        String accessToken = authorization.substring(7);
+        Long expiresAt = accessTokens.get(accessToken);
+        if (expiresAt != null && System.nanoTime() - expiresAt >= 0) {
+            accessTokens.remove(accessToken);
+            return false;
+        }
+        return expiresAt != null;
+    }
+
+    private Object answer(MpesaURL mpesaURL, JsonNode request, EndpointBehavior behavior) {
+        return switch (mpesaURL) {
+            case AUTH -> accessToken();
+            case STK_SEND -> stkSend(request, behavior);
+            case STK_QUERY -> stkQuery(request);
+            case C2B_REGISTER_URL -> Map.of("OriginatorCoversationID", nextId(), "ResponseCode", "0", "ResponseDescription", "Success");
+            case C2B_TRANSACTION_STATUS_URL, B2B_PAYMENT, B2C, TAX_REMITTANCE -> resultRequest(mpesaURL, request, behavior);
+            case B2B_STK -> b2bStk(request, behavior);
+            case DYNAMIC_QR -> Map.of("ResponseCode", "00", "RequestID", nextId(), "ResponseDescription", PROCESSED, "QRCode", QR_CODE);
+        };
+    }
+
+    private Map<String, Object> accessToken() {
+        String accessToken = UUID.randomUUID().toString().replace("-", "");
+        accessTokens.put(accessToken, System.nanoTime() + TimeUnit.SECONDS.toNanos(tokenLifetimeSeconds));
+        return Map.of("access_token", accessToken, "expires_in", Long.toString(tokenLifetimeSeconds));
+    }
+
+    private Map<String, Object> stkSend(JsonNode request, EndpointBehavior behavior) {
+        long id = sequence.incrementAndGet();
+        String merchantRequestID = "29115-" + id + "-1";
+        String checkoutRequestID = "ws_CO_" + MpesaTimestamp.now() + id;
+        boolean failed = fails(behavior);
+        Duration callbackDelay = Duration.ofNanos(behavior.callbackDelay().sampleNanos());
+        if (stkResults.size() < MAX_STK_RESULTS) {
+            long createdAt = System.nanoTime();
+            stkResults.put(checkoutRequestID, new StkResult(failed ? 1032 : 0, createdAt, createdAt + callbackDelay.toNanos()));
+        }
+
+        Map<String, Object> stkCallback = new LinkedHashMap<>();
+        stkCallback.put("MerchantRequestID", merchantRequestID);
+        stkCallback.put("CheckoutRequestID", checkoutRequestID);
+        stkCallback.put("ResultCode", failed ? 1032 : 0);
+        stkCallback.put("ResultDesc", failed ? "Request cancelled by user" : PROCESSED);
+        if (!failed) {
+            stkCallback.put("CallbackMetadata", Map.of("Item", List.of(
+                    Map.of("Name", "Amount", "Value", request.path("Amount").asDouble()),
+                    Map.of("Name", "MpesaReceiptNumber", "Value", receiptNumber()),
+                    Map.of("Name", "TransactionDate", "Value", Long.parseLong(MpesaTimestamp.now())),
+                    Map.of("Name", "PhoneNumber", "Value", request.path("PhoneNumber").asLong()))));
+        }
+        scheduleCallback(request.path("CallBackURL").asText(null), callbackDelay, Map.of("Body", Map.of("stkCallback", stkCallback)));
+
+        return Map.of("MerchantRequestID", merchantRequestID,
+                "CheckoutRequestID", checkoutRequestID,
+                "ResponseCode", "0",
+                "ResponseDescription", "Success. Request accepted for processing",
+                "CustomerMessage", "Success. Request accepted for processing");
+    }
+
+    /**
+     * Before the callback is due the push is reported as being processed, with the 500.001.1001 error while the
+     * customer enters the PIN (first half of the delay) and with ResultCode 4999 afterwards. The result is answered once
+     */
+    private Object stkQuery(JsonNode request) {
+        String checkoutRequestID = request.path("CheckoutRequestID").asText("");
+        StkResult stkResult = stkResults.get(checkoutRequestID);
+        if (stkResult == null) {
+            return new Reply(400, error("400.002.02", "Bad Request - Invalid CheckoutRequestID"));
+        }
+        long now = System.nanoTime();
+        if (now - stkResult.completesAt() < 0) {
+            if (now - stkResult.createdAt() < (stkResult.completesAt() - stkResult.createdAt()) / 2) {
+                return new Reply(500, error("500.001.1001", "The transaction is being processed"));
+            }
+            return stkQueryResult(checkoutRequestID, "4999", "The transaction is still under processing");
+        }
+        stkResults.remove(checkoutRequestID, stkResult);
+        boolean failed = stkResult.resultCode() != 0;
+        return stkQueryResult(checkoutRequestID, Integer.toString(stkResult.resultCode()), failed ? "Request cancelled by user" : PROCESSED);
+    }
+
+    private Map<String, Object> stkQueryResult(String checkoutRequestID, String resultCode, String resultDesc) {
+        return Map.of("ResponseCode", "0",
+                "ResponseDescription", "The service request has been accepted successsfully",
+                "MerchantRequestID", nextId(),
+                "CheckoutRequestID", checkoutRequestID,
+                "ResultCode", resultCode,
+                "ResultDesc", resultDesc);
+    }
+
+    private Map<String, Object> resultRequest(MpesaURL mpesaURL, JsonNode request, EndpointBehavior behavior) {
+        String originatorConversationID = request.path("OriginatorConversationID").asText(nextId());
+        String conversationID = "AG_" + MpesaTimestamp.now().substring(0, 8) + "_" + Long.toHexString(sequence.incrementAndGet());
+        boolean failed = fails(behavior);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ResultType", 0);
+        result.put("ResultCode", failed ? 2001 : 0);
+        result.put("ResultDesc", failed ? "The initiator information is invalid." : PROCESSED);
+        result.put("OriginatorConversationID", originatorConversationID);
+        result.put("ConversationID", conversationID);
+        result.put("TransactionID", receiptNumber());
+        if (!failed) {
+            result.put("ResultParameters", Map.of("ResultParameter", resultParameters(mpesaURL, request)));
+        }
+        result.put("ReferenceData", Map.of("ReferenceItem", Map.of("Key", "QueueTimeoutURL", "Value", request.path("QueueTimeOutURL").asText(""))));
+        scheduleCallback(request.path("ResultURL").asText(null), behavior, Map.of("Result", result));
+
+        return Map.of("OriginatorConversationID", originatorConversationID,
+                "ConversationID", conversationID,
+                "ResponseCode", "0",
+                "ResponseDescription", ACCEPTED);
+    }
+
+    private List<Map<String, Object>> resultParameters(MpesaURL mpesaURL, JsonNode request) {
+        double amount = request.path("Amount").asDouble(1);
+        return switch (mpesaURL) {
+            case B2C -> List.of(
+                    parameter("TransactionAmount", amount),
+                    parameter("TransactionReceipt", receiptNumber()),
+                    parameter("B2CRecipientIsRegisteredCustomer", "Y"),
+                    parameter("ReceiverPartyPublicName", request.path("PartyB").asText() + " - Simulated Customer"),
+                    parameter("TransactionCompletedDateTime", Helpers.formatDateTime(LocalDateTime.now(), "dd.MM.yyyy HH:mm:ss")));
+            case C2B_TRANSACTION_STATUS_URL -> List.of(
+                    parameter("DebitPartyName", "254708374149 - Simulated Customer"),
+                    parameter("TransactionStatus", "Completed"),
+                    parameter("FinalisedTime", Long.parseLong(MpesaTimestamp.now())),
+                    parameter("Amount", amount),
+                    parameter("ReceiptNo", request.path("TransactionID").asText("")));
+            default -> List.of(
+                    parameter("Amount", String.format("%.2f", amount)),
+                    parameter("TransCompletedTime", MpesaTimestamp.now()),
+                    parameter("ReceiverPartyPublicName", request.path("PartyB").asText() + " - Simulated Business"),
+                    parameter("Currency", "KES"));
+        };
+    }
+
+    private Map<String, Object> b2bStk(JsonNode request, EndpointBehavior behavior) {
+        boolean failed = fails(behavior);
+        Map<String, Object> callback = new LinkedHashMap<>();
+        callback.put("resultCode", failed ? "4001" : "0");
+        callback.put("resultDesc", failed ? "User cancelled transaction" : PROCESSED);
+        callback.put("amount", request.path("amount").asText());
+        callback.put("requestId", request.path("RequestRefID").asText(nextId()));
+        callback.put("resultType", "0");
+        callback.put("conversationID", "AG_" + MpesaTimestamp.now().substring(0, 8) + "_" + Long.toHexString(sequence.incrementAndGet()));
+        callback.put("transactionId", receiptNumber());
+        callback.put("status", failed ? "FAILED" : "SUCCESS");
+        callback.put("paymentReference", request.path("paymentRef").asText(""));
+        scheduleCallback(request.path("callbackUrl").asText(null), behavior, callback);
+
+        return Map.of("ResponseBody", Map.of("code", "0", "status", "USSD Initiated Successfully"));
+    }
+
+    private void scheduleCallback(String url, EndpointBehavior behavior, Object callback) {
+        scheduleCallback(url, Duration.ofNanos(behavior.callbackDelay().sampleNanos()), callback);
+    }
+
+    private void scheduleCallback(String url, Duration delay, Object callback) {
+        if (url == null || url.isBlank()) {
+            return;
+        }
+        HttpRequest httpRequest;
+        try {
+            httpRequest = HttpRequest.newBuilder(URI.create(url))
+                    .header("Content-Type", ContentType.JSON.getValue())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(JsonCodec.getDefault().writer().writeValueAsBytes(callback)))
+                    .build();
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            callbacksFailed.increment();
+            return;
+        }
+        timerWheel.schedule(() -> callbackTransport.getHttpClient()
+                        .sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((httpResponse, throwable) -> {
+                            if (throwable == null && httpResponse.statusCode() / 100 == 2) {
+                                callbacksSent.increment();
+                            } else {
+                                callbacksFailed.increment();
+                            }
+                        }),
+                delay);
+    }
+
+    private static boolean fails(EndpointBehavior behavior) {
+        return behavior.callbackFailureRate() > 0 && ThreadLocalRandom.current().nextDouble() < behavior.callbackFailureRate();
+    }
+
+    private static boolean sleep(long nanos) {
+        if (nanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private String nextId() {
+        return "sim-" + sequence.incrementAndGet();
+    }
+
+    private static String receiptNumber() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] receipt = new char[10];
+        for (int i = 0; i < receipt.length; i++) {
+            receipt[i] = RECEIPT_CHARACTERS[random.nextInt(RECEIPT_CHARACTERS.length)];
+        }
+        return new String(receipt);
+    }
+
+    private static Map<String, Object> parameter(String key, Object value) {
+        return Map.of("Key", key, "Value", value);
+    }
+
+    private Map<String, Object> error(String errorCode, String errorMessage) {
+        return Map.of("requestId", nextId(), "errorCode", errorCode, "errorMessage", errorMessage);
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] response = JsonCodec.getDefault().writer().writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", ContentType.JSON.getValue());
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(response);
+        }
+    }
+}
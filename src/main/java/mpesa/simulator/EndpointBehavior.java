@@ -0,0 +1,28 @@
+package mpesa.simulator;
+
+import base.RateLimiter;
+import lombok.Builder;
+
+/**
+ * How the simulator answers one endpoint
+ *
+ * @param latency             Delay before the response is written, defaults to none
+ * @param errorRate           Fraction of requests, 0 to 1, answered with a 500 "System is busy" error
+ * @param throttle            Rate above which requests are answered with 429, unlimited when null. Only permitsPerSecond and burst apply
+ * @param callbackDelay       Delay between the response and the callback posted to CallBackURL or ResultURL, defaults to none
+ * @param callbackFailureRate Fraction of callbacks, 0 to 1, reporting a failed transaction, e.g. an STK push cancelled by the user
+ */
+@Builder(toBuilder = true)
+public record EndpointBehavior(LatencyDistribution latency,
+                               double errorRate,
+                               RateLimiter.Config throttle,
+                               LatencyDistribution callbackDelay,
+                               double callbackFailureRate) {
+    public EndpointBehavior {
+        if (errorRate < 0 || errorRate > 1 || callbackFailureRate < 0 || callbackFailureRate > 1) {
+            throw new IllegalArgumentException("errorRate and callbackFailureRate must be between 0 and 1");
+        }
+        latency = latency != null ? latency : LatencyDistribution.none();
+        callbackDelay = callbackDelay != null ? callbackDelay : LatencyDistribution.none();
+    }
+}
@@ -0,0 +1,63 @@
+package mpesa.simulator;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source of simulated delays, sampled once per request or callback
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+    /**
+     * @return Next delay in nanoseconds, never negative
+     */
+    long sampleNanos();
+
+    /**
+     * @return No delay
+     */
+    static LatencyDistribution none() {
+        return () -> 0;
+    }
+
+    /**
+     * @param latency Delay applied every time
+     * @return LatencyDistribution
+     */
+    static LatencyDistribution fixed(Duration latency) {
+        long nanos = Math.max(latency.toNanos(), 0);
+        return () -> nanos;
+    }
+
+    /**
+     * @param min Shortest delay
+     * @param max Longest delay
+     * @return Delays spread evenly between min and max
+     */
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long minNanos = Math.max(min.toNanos(), 0);
+        long maxNanos = Math.max(max.toNanos(), minNanos);
+        return () -> minNanos == maxNanos ? minNanos : ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1);
+    }
+
+    /**
+     * @param mean Mean delay
+     * @return Exponentially distributed delays, many short ones and a long tail
+     */
+    static LatencyDistribution exponential(Duration mean) {
+        double meanNanos = Math.max(mean.toNanos(), 0);
+        return () -> (long) (-meanNanos * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * Log-normal delays, the usual shape of network service latency
+     *
+     * @param median Median delay
+     * @param sigma  Spread of the underlying normal distribution, e.g. 0.5 puts p99 at about 3.2 times the median
+     * @return LatencyDistribution
+     */
+    static LatencyDistribution logNormal(Duration median, double sigma) {
+        double mu = Math.log(Math.max(median.toNanos(), 1));
+        return () -> (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+    }
+}
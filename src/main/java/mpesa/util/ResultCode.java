@@ -0,0 +1,83 @@
+package mpesa.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * ResultCodes returned by DARAJA in callbacks and STK queries
+ */
+@Getter
+@AllArgsConstructor
+public enum ResultCode {
+    SUCCESS(0, "The service request is processed successfully"),
+    INSUFFICIENT_FUNDS(1, "Insufficient funds"),
+    LESS_THAN_MINIMUM_TRANSACTION_VALUE(2, "Less than minimum transaction value"),
+    MORE_THAN_MAXIMUM_TRANSACTION_VALUE(3, "More than maximum transaction value"),
+    WOULD_EXCEED_DAILY_TRANSFER_LIMIT(4, "Would exceed daily transfer limit"),
+    WOULD_EXCEED_MINIMUM_BALANCE(5, "Would exceed minimum balance"),
+    UNRESOLVED_PRIMARY_PARTY(6, "Unresolved primary party"),
+    UNRESOLVED_RECEIVER_PARTY(7, "Unresolved receiver party"),
+    WOULD_EXCEED_MAXIMUM_BALANCE(8, "Would exceed maximum balance"),
+    DEBIT_ACCOUNT_INVALID(11, "Debit account invalid"),
+    CREDIT_ACCOUNT_INVALID(12, "Credit account invalid"),
+    UNRESOLVED_DEBIT_ACCOUNT(13, "Unresolved debit account"),
+    UNRESOLVED_CREDIT_ACCOUNT(14, "Unresolved credit account"),
+    DUPLICATE_DETECTED(15, "Duplicate detected"),
+    INTERNAL_FAILURE(17, "Internal failure"),
+    UNRESOLVED_INITIATOR(20, "Unresolved initiator"),
+    TRAFFIC_BLOCKING_CONDITION(26, "Traffic blocking condition in place"),
+    TRANSACTION_IN_PROGRESS(1001, "Unable to lock subscriber, a transaction is already in process"),
+    TRANSACTION_EXPIRED(1019, "Transaction has expired"),
+    PUSH_REQUEST_ERROR(1025, "An error occurred while sending the push request"),
+    CANCELLED_BY_USER(1032, "Request cancelled by user"),
+    USER_UNREACHABLE(1037, "DS timeout, user cannot be reached"),
+    INVALID_INITIATOR_INFORMATION(2001, "The initiator information is invalid"),
+    STILL_UNDER_PROCESSING(4999, "The transaction is still under processing", false),
+    UNKNOWN(-1, "Unknown result code");
+
+    private static final ResultCode[] BY_CODE = Arrays.stream(values())
+            .filter(resultCode -> resultCode != UNKNOWN)
+            .sorted(Comparator.comparingInt(ResultCode::getCode))
+            .toArray(ResultCode[]::new);
+    private static final int[] CODES = Arrays.stream(BY_CODE).mapToInt(ResultCode::getCode).toArray();
+
+    private final int code;
+    private final String description;
+    /**
+     * Whether the transaction concluded, false for codes reported while it is still in progress
+     */
+    private final boolean terminal;
+
+    ResultCode(int code, String description) {
+        this(code, description, true);
+    }
+
+    /**
+     * Looks the code up in a precomputed table without allocating
+     *
+     * @param code ResultCode
+     * @return ResultCode, UNKNOWN when the code is not listed
+     */
+    public static ResultCode of(int code) {
+        int index = Arrays.binarySearch(CODES, code);
+        return index >= 0 ? BY_CODE[index] : UNKNOWN;
+    }
+
+    /**
+     * @param code ResultCode as text, e.g. from B2B STK callbacks
+     * @return ResultCode, UNKNOWN when the code is missing, not numeric or not listed
+     */
+    public static ResultCode of(String code) {
+        if (code == null) {
+            return UNKNOWN;
+        }
+        try {
+            return of(Integer.parseInt(code.trim()));
+        } catch (NumberFormatException e) {
+            return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package base;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApiClientTest {
+
+    private static CircuitBreaker halfOpenCircuitBreaker() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", CircuitBreaker.Config.builder()
+                .slidingWindowSize(4)
+                .minimumCalls(1)
+                .failureRateThreshold(50)
+                .slowCallDuration(Duration.ofSeconds(1))
+                .waitInOpenState(Duration.ofMillis(10))
+                .permittedCallsInHalfOpenState(1)
+                .build());
+        circuitBreaker.acquirePermission();
+        circuitBreaker.onResult(0, true);
+        Thread.sleep(20);
+        return circuitBreaker;
+    }
+
+    @Test
+    void synchronousSendAsyncFailureReleasesTheHalfOpenPermit() throws InterruptedException {
+        HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenThrow(new IllegalArgumentException("unsupported request"));
+        CircuitBreaker circuitBreaker = halfOpenCircuitBreaker();
+        ApiClient<Request, Response> apiClient = ApiClient.<Request, Response>builder()
+                .baseUri("http://localhost/")
+                .httpClient(httpClient)
+                .circuitBreaker(circuitBreaker)
+                .build();
+
+        CompletionException completionException = assertThrows(CompletionException.class, () -> apiClient.getAsync().join());
+        assertInstanceOf(IllegalArgumentException.class, completionException.getCause());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertDoesNotThrow(circuitBreaker::acquirePermission);
+    }
+}
@@ -0,0 +1,125 @@
+package base;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+
+    private static CircuitBreaker circuitBreaker(Duration waitInOpenState) {
+        return new CircuitBreaker("test", CircuitBreaker.Config.builder()
+                .slidingWindowSize(10)
+                .minimumCalls(4)
+                .failureRateThreshold(50)
+                .slowCallDuration(Duration.ofSeconds(1))
+                .waitInOpenState(waitInOpenState)
+                .permittedCallsInHalfOpenState(2)
+                .build());
+    }
+
+    private static void call(CircuitBreaker circuitBreaker, boolean failed) {
+        circuitBreaker.acquirePermission();
+        circuitBreaker.onResult(FAST, failed);
+    }
+
+    @Test
+    void staysClosedUntilMinimumCallsAreRecorded() {
+        CircuitBreaker circuitBreaker = circuitBreaker(Duration.ofSeconds(30));
+        for (int i = 0; i < 3; i++) {
+            call(circuitBreaker, true);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        call(circuitBreaker, true);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void staysClosedBelowTheFailureRateThreshold() {
+        CircuitBreaker circuitBreaker = circuitBreaker(Duration.ofSeconds(30));
+        for (int i = 0; i < 10; i++) {
+            call(circuitBreaker, i % 3 == 2);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void slowCallsOpenTheBreaker() {
+        CircuitBreaker circuitBreaker = circuitBreaker(Duration.ofSeconds(30));
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.acquirePermission();
+            circuitBreaker.onResult(Duration.ofSeconds(2).toNanos(), false);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void openRefusesCallsUntilTheWaitHasPassed() {
+        CircuitBreaker circuitBreaker = circuitBreaker(Duration.ofSeconds(30));
+        for (int i = 0; i < 4; i++) {
+            call(circuitBreaker, true);
+        }
+        assertThrows(CallNotPermittedException.class, circuitBreaker::acquirePermission);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void halfOpenClosesAfterSuccessfulTrialCalls() throws InterruptedException {
+        List<CircuitBreaker.State> transitions = new ArrayList<>();
+        CircuitBreaker circuitBreaker = circuitBreaker(Duration.ofMillis(20));
+        circuitBreaker.addStateListener((breaker, from, to) -> transitions.add(to));
+        for (int i = 0; i < 4; i++) {
+            call(circuitBreaker, true);
+        }
+        Thread.sleep(40);
+
+        circuitBreaker.acquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.acquirePermission();
+        assertThrows(CallNotPermittedException.class, circuitBreaker::acquirePermission);
+
+        circuitBreaker.onResult(FAST, false);
+        circuitBreaker.onResult(FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(List.of(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.CLOSED), transitions);
+    }
+
+    @Test
+    void halfOpenReopensWhenTrialCallsFail() throws InterruptedException {
+        CircuitBreaker circuitBreaker = circuitBreaker(Duration.ofMillis(20));
+        for (int i = 0; i < 4; i++) {
+            call(circuitBreaker, true);
+        }
+        Thread.sleep(40);
+
+        call(circuitBreaker, true);
+        call(circuitBreaker, false);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(CallNotPermittedException.class, circuitBreaker::acquirePermission);
+    }
+
+    @Test
+    void releasedPermissionFreesAHalfOpenTrialCall() throws InterruptedException {
+        CircuitBreaker circuitBreaker = circuitBreaker(Duration.ofMillis(20));
+        for (int i = 0; i < 4; i++) {
+            call(circuitBreaker, true);
+        }
+        Thread.sleep(40);
+
+        circuitBreaker.acquirePermission();
+        circuitBreaker.acquirePermission();
+        circuitBreaker.releasePermission();
+        assertDoesNotThrow(circuitBreaker::acquirePermission);
+    }
+
+    @Test
+    void transportDefaultsTheRequestTimeout() {
+        try (HttpTransport httpTransport = HttpTransport.builder().build()) {
+            assertEquals(Duration.ofSeconds(30), httpTransport.getRequestTimeout());
+        }
+    }
+}
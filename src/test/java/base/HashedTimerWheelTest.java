@@ -0,0 +1,65 @@
+package base;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimerWheelTest {
+    private final HashedTimerWheel timerWheel = HashedTimerWheel.builder()
+            .tickDuration(Duration.ofMillis(10))
+            .wheelSize(4)
+            .executor(Runnable::run)
+            .build();
+
+    @AfterEach
+    void closeWheel() {
+        timerWheel.close();
+    }
+
+    @Test
+    void taskRunsAfterItsDelay() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        long startedAt = System.nanoTime();
+        timerWheel.schedule(ran::countDown, Duration.ofMillis(50));
+        assertEquals(1, timerWheel.size());
+
+        assertTrue(ran.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - startedAt >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(0, timerWheel.size());
+    }
+
+    @Test
+    void taskSpanningSeveralRoundsWaitsForAllOfThem() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        long startedAt = System.nanoTime();
+        timerWheel.schedule(ran::countDown, Duration.ofMillis(130));
+
+        assertTrue(ran.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - startedAt >= TimeUnit.MILLISECONDS.toNanos(130));
+    }
+
+    @Test
+    void cancelledTaskNeverRuns() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        HashedTimerWheel.Timeout timeout = timerWheel.schedule(() -> ran.set(true), Duration.ofMillis(30));
+        timeout.cancel();
+        assertTrue(timeout.isCancelled());
+
+        Thread.sleep(100);
+        assertFalse(ran.get());
+        assertEquals(0, timerWheel.size());
+    }
+
+    @Test
+    void closedWheelRefusesTasks() {
+        timerWheel.close();
+        assertThrows(IllegalStateException.class, () -> timerWheel.schedule(() -> {
+        }, Duration.ofMillis(10)));
+    }
+}
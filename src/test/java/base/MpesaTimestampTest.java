@@ -0,0 +1,59 @@
+package base;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpesaTimestampTest {
+
+    @Test
+    void formatPadsEveryField() {
+        assertEquals("20190102030405", MpesaTimestamp.format(LocalDateTime.of(2019, 1, 2, 3, 4, 5)));
+        assertEquals("20191219235959", MpesaTimestamp.format(LocalDateTime.of(2019, 12, 19, 23, 59, 59)));
+    }
+
+    @Test
+    void parseRoundTripsFormat() {
+        LocalDateTime dateTime = LocalDateTime.of(2024, 2, 29, 10, 21, 15);
+        assertEquals(dateTime, MpesaTimestamp.parse(MpesaTimestamp.format(dateTime)));
+        assertEquals(dateTime, MpesaTimestamp.parse(20240229102115L));
+    }
+
+    @Test
+    void nowIsTheLocalTimeAndIsSharedWithinASecond() {
+        String first = MpesaTimestamp.now();
+        String second = MpesaTimestamp.now();
+        if (first.equals(second)) {
+            assertSame(first, second);
+        }
+        Duration drift = Duration.between(MpesaTimestamp.parse(second), LocalDateTime.now());
+        assertFalse(drift.isNegative());
+        assertTrue(drift.compareTo(Duration.ofSeconds(2)) < 0);
+    }
+
+    @Test
+    void invalidTimestampsAreRejected() {
+        assertThrows(DateTimeParseException.class, () -> MpesaTimestamp.parse("2019121910211"));
+        assertThrows(DateTimeParseException.class, () -> MpesaTimestamp.parse("2019121910211x"));
+        assertThrows(DateTimeParseException.class, () -> MpesaTimestamp.parse("20191319102115"));
+        assertThrows(DateTimeParseException.class, () -> MpesaTimestamp.parse((CharSequence) null));
+        assertThrows(DateTimeParseException.class, () -> MpesaTimestamp.parse("20190132102115"));
+        assertThrows(DateTimeParseException.class, () -> MpesaTimestamp.parse("20190101240001"));
+        assertThrows(DateTimeParseException.class, () -> MpesaTimestamp.parse("00000101000000"));
+    }
+
+    @Test
+    void parseResolvesLikeTheSmartFormatterItReplaces() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(Helpers.MPESA_TIMESTAMP_FORMAT);
+        for (String timestamp : List.of("20240230102115", "20230229102115", "20240431000000", "20240101240000", "20241231240000")) {
+            assertEquals(LocalDateTime.parse(timestamp, formatter), MpesaTimestamp.parse(timestamp), timestamp);
+        }
+        assertEquals(LocalDateTime.of(2019, 2, 28, 10, 21, 15), MpesaTimestamp.parse(20190230102115L));
+    }
+}
@@ -0,0 +1,108 @@
+package base;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static RateLimiter rateLimiter(double permitsPerSecond, int burst, RateLimiter.Mode mode, int maxQueueDepth) {
+        return new RateLimiter(RateLimiter.Config.builder()
+                .permitsPerSecond(permitsPerSecond)
+                .burst(burst)
+                .mode(mode)
+                .maxQueueDepth(maxQueueDepth)
+                .build());
+    }
+
+    @Test
+    void burstIsHandedOutAtOnceThenTheBucketIsEmpty() {
+        RateLimiter rateLimiter = rateLimiter(1, 3, RateLimiter.Mode.FAIL_FAST, 0);
+        assertEquals(3, rateLimiter.getAvailablePermits());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.tryAcquire());
+        }
+        assertFalse(rateLimiter.tryAcquire());
+        assertEquals(3, rateLimiter.getAcquired());
+        assertEquals(1, rateLimiter.getRejected());
+    }
+
+    @Test
+    void failFastThrowsWhenNoPermitIsAvailable() throws InterruptedException {
+        RateLimiter rateLimiter = rateLimiter(1, 1, RateLimiter.Mode.FAIL_FAST, 0);
+        rateLimiter.acquire();
+        assertThrows(RateLimitExceededException.class, rateLimiter::acquire);
+        CompletionException completionException = assertThrows(CompletionException.class, () -> rateLimiter.acquireAsync().join());
+        assertInstanceOf(RateLimitExceededException.class, completionException.getCause());
+        assertEquals(2, rateLimiter.getRejected());
+    }
+
+    @Test
+    void blockWaitsForTheNextPermit() throws InterruptedException {
+        RateLimiter rateLimiter = rateLimiter(20, 1, RateLimiter.Mode.BLOCK, 0);
+        rateLimiter.acquire();
+        long startedAt = System.nanoTime();
+        rateLimiter.acquire();
+        assertTrue(System.nanoTime() - startedAt >= TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(0, rateLimiter.getQueueDepth());
+    }
+
+    @Test
+    void queueRefusesCallersOnceFull() {
+        RateLimiter rateLimiter = rateLimiter(1, 1, RateLimiter.Mode.QUEUE, 2);
+        assertTrue(rateLimiter.acquireAsync().isDone());
+        CompletableFuture<Void> first = rateLimiter.acquireAsync();
+        CompletableFuture<Void> second = rateLimiter.acquireAsync();
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(2, rateLimiter.getQueueDepth());
+
+        CompletionException completionException = assertThrows(CompletionException.class, () -> rateLimiter.acquireAsync().join());
+        assertInstanceOf(RateLimitExceededException.class, completionException.getCause());
+    }
+
+    @Test
+    void queueModeDefaultsToANonZeroDepth() {
+        RateLimiter rateLimiter = rateLimiter(1, 1, RateLimiter.Mode.QUEUE, 0);
+        assertEquals(16, rateLimiter.getConfig().maxQueueDepth());
+        assertTrue(rateLimiter.acquireAsync().isDone());
+        assertFalse(rateLimiter.acquireAsync().isCompletedExceptionally());
+    }
+
+    @Test
+    void invalidConfigIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter(0, 1, RateLimiter.Mode.BLOCK, 0));
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter(1, 1, RateLimiter.Mode.QUEUE, -1));
+    }
+
+    @Test
+    void permitsAreRefilledOverTime() throws InterruptedException {
+        RateLimiter rateLimiter = rateLimiter(50, 1, RateLimiter.Mode.FAIL_FAST, 0);
+        assertTrue(rateLimiter.tryAcquire());
+        assertFalse(rateLimiter.tryAcquire());
+        Thread.sleep(40);
+        assertTrue(rateLimiter.tryAcquire());
+    }
+
+    @Test
+    void interruptedWaiterHandsItsPermitBack() throws InterruptedException {
+        RateLimiter rateLimiter = rateLimiter(4, 1, RateLimiter.Mode.BLOCK, 0);
+        rateLimiter.acquire();
+        Thread waiter = new Thread(() -> assertThrows(InterruptedException.class, rateLimiter::acquire));
+        waiter.start();
+        while (rateLimiter.getQueueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+        waiter.interrupt();
+        waiter.join();
+        assertEquals(0, rateLimiter.getQueueDepth());
+        assertEquals(1, rateLimiter.getAcquired());
+
+        Thread.sleep(300);
+        assertEquals(1, rateLimiter.getAvailablePermits());
+    }
+}
@@ -0,0 +1,95 @@
+package mpesa;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessTokenCacheTest {
+    private static final String BASE_URL = "http://127.0.0.1:1";
+
+    private static MpesaResponse token(String accessToken, long expiresIn) {
+        MpesaResponse mpesaResponse = new MpesaResponse();
+        mpesaResponse.setAccessToken(accessToken);
+        mpesaResponse.setExpiresIn(expiresIn);
+        return mpesaResponse;
+    }
+
+    @Test
+    void concurrentCallersOnAColdCacheShareOneLoad() {
+        AccessTokenCache cache = new AccessTokenCache();
+        CompletableFuture<MpesaResponse> load = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            callers.add(cache.getAccessToken(BASE_URL, "key", () -> {
+                loads.incrementAndGet();
+                return load;
+            }));
+        }
+        load.complete(token("t1", 3599));
+
+        for (CompletableFuture<String> caller : callers) {
+            assertEquals("t1", caller.join());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getRefreshes());
+        assertEquals(10, cache.getMisses());
+    }
+
+    @Test
+    void cachedTokenIsServedWithoutLoading() {
+        AccessTokenCache cache = new AccessTokenCache();
+        assertEquals("t1", cache.getAccessToken(BASE_URL, "key", () -> CompletableFuture.completedFuture(token("t1", 3599))).join());
+        assertEquals("t1", cache.getAccessToken(BASE_URL, "key", () -> fail("loaded again")).join());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void tokensAreKeyedByBaseUrlAndConsumerKey() {
+        AccessTokenCache cache = new AccessTokenCache();
+        cache.getAccessToken(BASE_URL, "key", () -> CompletableFuture.completedFuture(token("t1", 3599))).join();
+        assertEquals("t2", cache.getAccessToken(BASE_URL, "other", () -> CompletableFuture.completedFuture(token("t2", 3599))).join());
+        assertEquals("t3", cache.getAccessToken("http://127.0.0.1:2", "key", () -> CompletableFuture.completedFuture(token("t3", 3599))).join());
+    }
+
+    @Test
+    void tokenCloseToExpiryIsServedWhileRefreshedInTheBackground() throws InterruptedException {
+        AccessTokenCache cache = new AccessTokenCache(Duration.ofHours(1), Runnable::run);
+        cache.getAccessToken(BASE_URL, "key", () -> CompletableFuture.completedFuture(token("t1", 4))).join();
+        CompletableFuture<MpesaResponse> refresh = new CompletableFuture<>();
+        // refresh ahead is capped at half the lifetime
+        Thread.sleep(2100);
+
+        assertEquals("t1", cache.getAccessToken(BASE_URL, "key", () -> refresh).join());
+        assertEquals(2, cache.getRefreshes());
+        refresh.complete(token("t2", 3599));
+        assertEquals("t2", cache.getAccessToken(BASE_URL, "key", () -> CompletableFuture.completedFuture(token("t3", 3599))).join());
+    }
+
+    @Test
+    void failedLoadIsReportedAndNotCached() {
+        AccessTokenCache cache = new AccessTokenCache();
+        CompletionException completionException = assertThrows(CompletionException.class,
+                () -> cache.getAccessToken(BASE_URL, "key", () -> CompletableFuture.failedFuture(new IllegalStateException("down"))).join());
+        assertInstanceOf(IllegalStateException.class, completionException.getCause());
+        assertEquals("t1", cache.getAccessToken(BASE_URL, "key", () -> CompletableFuture.completedFuture(token("t1", 3599))).join());
+    }
+
+    @Test
+    void invalidatingARejectedTokenKeepsANewerOne() {
+        AccessTokenCache cache = new AccessTokenCache();
+        cache.getAccessToken(BASE_URL, "key", () -> CompletableFuture.completedFuture(token("t1", 3599))).join();
+        cache.invalidate(BASE_URL, "key", "t1");
+        cache.getAccessToken(BASE_URL, "key", () -> CompletableFuture.completedFuture(token("t2", 3599))).join();
+
+        cache.invalidate(BASE_URL, "key", "t1");
+        assertEquals("t2", cache.getAccessToken(BASE_URL, "key", () -> fail("loaded again")).join());
+    }
+}
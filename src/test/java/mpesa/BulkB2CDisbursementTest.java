@@ -0,0 +1,94 @@
+package mpesa;
+
+import mpesa.request.B2CRequest;
+import mpesa.simulator.DarajaSimulator;
+import mpesa.util.B2CCommandID;
+import mpesa.util.Environment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkB2CDisbursementTest {
+    private DarajaSimulator simulator;
+    private MpesaClient mpesaClient;
+
+    @BeforeEach
+    void start() throws IOException {
+        simulator = DarajaSimulator.builder().build().start();
+        mpesaClient = new MpesaClient()
+                .environment(Environment.DEVELOPMENT)
+                .baseUrl(simulator.getBaseUrl())
+                .consumerKey("key")
+                .consumerSecret("secret")
+                .initiatorName("testapi")
+                .initiatorPassword("Safaricom999!*!")
+                .accessTokenCache(new AccessTokenCache());
+    }
+
+    @AfterEach
+    void stop() {
+        mpesaClient.close();
+        simulator.close();
+    }
+
+    private static B2CRequest payout(String originatorConversationId) {
+        return B2CRequest.builder()
+                .originatorConversationId(originatorConversationId)
+                .b2CCommandID(B2CCommandID.BUSINESS_PAYMENT)
+                .amount(100)
+                .businessShortCode(600000)
+                .phoneNumber(254708374149L)
+                .remarks("Salary")
+                .queueTimeOutURL("http://127.0.0.1:1/timeout")
+                .resultURL("http://127.0.0.1:1/result")
+                .occassion("Payroll")
+                .build();
+    }
+
+    private BulkB2CDisbursement bulk() {
+        return BulkB2CDisbursement.builder().mpesaClient(mpesaClient).maxConcurrency(4).build();
+    }
+
+    @Test
+    void everyPayoutIsKeyedByItsOriginatorConversationId() throws Exception {
+        BulkB2CDisbursement.Result result = bulk().disburse(IntStream.range(0, 20).mapToObj(i -> payout("payout-" + i)));
+
+        assertEquals(20, result.total());
+        assertEquals(20, result.accepted().size());
+        assertTrue(result.accepted().containsKey("payout-19"));
+    }
+
+    @Test
+    void duplicateIdIsNotSentAndStopsTheBatchWithThePartialResult() throws Exception {
+        long requestsBefore = simulator.getRequests();
+        List<B2CRequest> payouts = List.of(payout("a"), payout("b"), payout("a"), payout("c"));
+
+        BulkDisbursementException exception = assertThrows(BulkDisbursementException.class, () -> bulk().disburse(payouts));
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        assertEquals(2, exception.getPartialResult().total());
+        // the token request and the first two payouts
+        assertEquals(3, simulator.getRequests() - requestsBefore);
+    }
+
+    @Test
+    void failingInputStillAwaitsThePayoutsInFlight() {
+        Stream<B2CRequest> payouts = IntStream.range(0, 10).mapToObj(i -> {
+            if (i == 6) {
+                throw new IllegalStateException("source failed");
+            }
+            return payout("payout-" + i);
+        });
+
+        BulkDisbursementException exception = assertThrows(BulkDisbursementException.class, () -> bulk().disburse(payouts));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals(6, exception.getPartialResult().total());
+        assertEquals(6, exception.getPartialResult().accepted().size());
+    }
+}
@@ -0,0 +1,99 @@
+package mpesa;
+
+import base.HashedTimerWheel;
+import mpesa.util.ResponseParserType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallbackCorrelationRegistryTest {
+    private final HashedTimerWheel timerWheel = HashedTimerWheel.builder()
+            .tickDuration(Duration.ofMillis(10))
+            .build();
+    private final CallbackCorrelationRegistry callbackRegistry = CallbackCorrelationRegistry.builder()
+            .mpesaClient(new MpesaClient())
+            .timerWheel(timerWheel)
+            .ttl(Duration.ofSeconds(30))
+            .orphanTtl(Duration.ofSeconds(30))
+            .build();
+
+    @AfterEach
+    void close() {
+        callbackRegistry.close();
+        timerWheel.close();
+    }
+
+    private static MpesaResponse b2bStkCallback(String requestId) {
+        MpesaResponse mpesaResponse = new MpesaResponse();
+        mpesaResponse.setInternalStatus(true);
+        mpesaResponse.setRequestId(requestId);
+        return mpesaResponse;
+    }
+
+    @Test
+    void callbackCompletesTheRegisteredFuture() {
+        CompletableFuture<MpesaResponse> future = callbackRegistry.register("ref-1");
+        assertEquals(1, callbackRegistry.getOutstanding());
+
+        MpesaResponse callback = b2bStkCallback("ref-1");
+        callbackRegistry.onCallback(callback, ResponseParserType.B2B_STK);
+        assertSame(callback, future.join());
+        assertEquals(0, callbackRegistry.getOutstanding());
+    }
+
+    @Test
+    void callbackArrivingBeforeTheRegistrationIsKept() {
+        MpesaResponse callback = b2bStkCallback("ref-1");
+        callbackRegistry.onCallback(callback, ResponseParserType.B2B_STK);
+        assertEquals(1, callbackRegistry.getOutstanding());
+
+        CompletableFuture<MpesaResponse> future = callbackRegistry.register("ref-1");
+        assertSame(callback, future.getNow(null));
+        assertEquals(0, callbackRegistry.getOutstanding());
+    }
+
+    @Test
+    void missingCallbackTimesOut() {
+        CompletableFuture<MpesaResponse> future = callbackRegistry.register("ref-1", Duration.ofMillis(30));
+        MpesaResponse mpesaResponse = future.orTimeout(1, TimeUnit.SECONDS).join();
+        assertFalse(mpesaResponse.isInternalStatus());
+        assertEquals(CallbackCorrelationRegistry.CALLBACK_TIMEOUT, mpesaResponse.getErrorCode());
+        assertEquals(0, callbackRegistry.getOutstanding());
+    }
+
+    @Test
+    void callerCannotCompleteOrCancelTheRegisteredEntry() {
+        CompletableFuture<MpesaResponse> first = callbackRegistry.register("ref-1");
+        CompletableFuture<MpesaResponse> second = callbackRegistry.register("ref-1");
+        assertNotSame(first, second);
+
+        first.complete(new MpesaResponse());
+        second.cancel(false);
+        CompletableFuture<MpesaResponse> third = callbackRegistry.register("ref-1");
+        assertFalse(third.isDone());
+        assertEquals(1, callbackRegistry.getOutstanding());
+
+        MpesaResponse callback = b2bStkCallback("ref-1");
+        callbackRegistry.onCallback(callback, ResponseParserType.B2B_STK);
+        assertSame(callback, third.join());
+    }
+
+    @Test
+    void unregisterDropsTheEntryAndItsTimeout() {
+        CompletableFuture<MpesaResponse> future = callbackRegistry.register("ref-1");
+        assertEquals(1, timerWheel.size());
+
+        assertTrue(callbackRegistry.unregister("ref-1"));
+        assertFalse(callbackRegistry.unregister("ref-1"));
+        assertEquals(0, callbackRegistry.getOutstanding());
+        CompletionException completionException = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(CancellationException.class, completionException.getCause());
+    }
+}
@@ -0,0 +1,123 @@
+package mpesa;
+
+import mpesa.result.CallbackResult;
+import mpesa.result.StkCallbackResult;
+import mpesa.result.TransactionResult;
+import mpesa.util.ResponseParserType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallbackServerTest {
+    private static final String STK_CALLBACK = """
+            {"Body":{"stkCallback":{"MerchantRequestID":"29115-34620561-1","CheckoutRequestID":"ws_CO_191220191020363925",\
+            "ResultCode":0,"ResultDesc":"The service request is processed successfully.","CallbackMetadata":{"Item":[\
+            {"Name":"Amount","Value":1.00},{"Name":"MpesaReceiptNumber","Value":"NLJ7RT61SV"},{"Name":"Balance"},\
+            {"Name":"TransactionDate","Value":20191219102115},{"Name":"PhoneNumber","Value":254708374149}]}}}}""";
+    private static final String B2C_RESULT = """
+            {"Result":{"ResultType":0,"ResultCode":2001,"ResultDesc":"The initiator information is invalid.",\
+            "OriginatorConversationID":"10571-7910404-1","ConversationID":"AG_20191219_00004e48cf7e3533f581",\
+            "TransactionID":"NLJ41HAY6Q"}}""";
+
+    private final MpesaClient mpesaClient = new MpesaClient();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final AtomicReference<CallbackResult> received = new AtomicReference<>();
+    private CallbackServer callbackServer;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        callbackServer = CallbackServer.builder()
+                .mpesaClient(mpesaClient)
+                .address(new InetSocketAddress("127.0.0.1", 0))
+                .build()
+                .route("/stk/bound", ResponseParserType.C2B_STK, mpesaResponse -> received.set(CallbackResult.from(mpesaResponse, ResponseParserType.C2B_STK)))
+                .routeResult("/stk", ResponseParserType.C2B_STK, received::set)
+                .routeResult("/b2c", ResponseParserType.B2C, received::set)
+                .routeResult("/failing", ResponseParserType.B2C, callbackResult -> {
+                    throw new IllegalStateException("not processed");
+                })
+                .start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        callbackServer.close();
+        httpClient.close();
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        HttpRequest httpRequest = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + callbackServer.getAddress().getPort() + path))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void stkResultRouteHandsTheStreamedResultToTheHandler() throws Exception {
+        HttpResponse<String> httpResponse = post("/stk", STK_CALLBACK);
+        assertEquals(200, httpResponse.statusCode());
+        assertTrue(httpResponse.body().contains("\"ResultCode\":\"0\""));
+
+        StkCallbackResult stkCallbackResult = assertInstanceOf(StkCallbackResult.class, received.get());
+        assertEquals("ws_CO_191220191020363925", stkCallbackResult.checkoutRequestID());
+        assertEquals("NLJ7RT61SV", stkCallbackResult.mpesaReceiptNumber());
+        assertEquals(1.0, stkCallbackResult.amount());
+        assertEquals(254708374149L, stkCallbackResult.phoneNumber());
+        assertEquals(20191219102115L, stkCallbackResult.transactionDate());
+    }
+
+    @Test
+    void resultRouteMatchesTheBoundRoute() throws Exception {
+        assertEquals(200, post("/stk/bound", STK_CALLBACK).statusCode());
+        CallbackResult bound = received.get();
+        assertEquals(200, post("/stk", STK_CALLBACK).statusCode());
+        assertEquals(bound, received.get());
+    }
+
+    @Test
+    void otherTypesAreConvertedToTheirResult() throws Exception {
+        assertEquals(200, post("/b2c", B2C_RESULT).statusCode());
+        TransactionResult transactionResult = assertInstanceOf(TransactionResult.class, received.get());
+        assertEquals(2001, transactionResult.resultCode());
+        assertFalse(transactionResult.isSuccessful());
+        assertEquals("AG_20191219_00004e48cf7e3533f581", transactionResult.conversationId());
+    }
+
+    @Test
+    void callbackListenersAreNotifiedFromResultRoutes() throws Exception {
+        try (CallbackCorrelationRegistry callbackRegistry = CallbackCorrelationRegistry.builder().mpesaClient(mpesaClient).build()) {
+            CompletableFuture<MpesaResponse> stk = callbackRegistry.register("ws_CO_191220191020363925");
+            CompletableFuture<MpesaResponse> b2c = callbackRegistry.register("AG_20191219_00004e48cf7e3533f581");
+            post("/stk", STK_CALLBACK);
+            post("/b2c", B2C_RESULT);
+
+            assertTrue(stk.getNow(null).isInternalStatus());
+            assertEquals("NLJ7RT61SV", stk.getNow(null).getMpesaReference());
+            assertFalse(b2c.getNow(null).isInternalStatus());
+        }
+    }
+
+    @Test
+    void unreadableBodiesAreAnsweredWith400() throws Exception {
+        assertEquals(400, post("/stk", "{\"Body\":{}}").statusCode());
+        assertEquals(400, post("/stk", "not json").statusCode());
+        assertEquals(400, post("/b2c", "{}").statusCode());
+        assertNull(received.get());
+    }
+
+    @Test
+    void handlerFailuresAreAnsweredWith500() throws Exception {
+        assertEquals(500, post("/failing", B2C_RESULT).statusCode());
+    }
+}
@@ -0,0 +1,120 @@
+package mpesa;
+
+import base.Interceptor;
+import mpesa.simulator.DarajaSimulator;
+import mpesa.util.Environment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MpesaClientInterceptorTest {
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private DarajaSimulator simulator;
+    private MpesaClient mpesaClient;
+
+    @BeforeEach
+    void start() throws IOException {
+        simulator = DarajaSimulator.builder().build().start();
+    }
+
+    @AfterEach
+    void stop() {
+        if (mpesaClient != null) {
+            mpesaClient.close();
+        }
+        simulator.close();
+    }
+
+    private MpesaClient client(String baseUrl, Interceptor... interceptors) {
+        mpesaClient = new MpesaClient()
+                .environment(Environment.DEVELOPMENT)
+                .baseUrl(baseUrl)
+                .consumerKey("key")
+                .consumerSecret("secret")
+                .accessTokenCache(new AccessTokenCache())
+                .interceptors(List.of(interceptors));
+        return mpesaClient;
+    }
+
+    private Interceptor recording(String name) {
+        return new Interceptor() {
+            @Override
+            public HttpRequest onRequest(HttpRequest request) {
+                events.add(name + ".onRequest " + request.headers().firstValue("X-Trace").orElse("-"));
+                return HttpRequest.newBuilder(request, (header, value) -> true)
+                        .setHeader("X-Trace", request.headers().firstValue("X-Trace").orElse("") + name)
+                        .build();
+            }
+
+            @Override
+            public HttpResponse<byte[]> onResponse(HttpRequest request, HttpResponse<byte[]> response, long durationNanos) {
+                events.add(name + ".onResponse " + request.headers().firstValue("X-Trace").orElse("-"));
+                return response;
+            }
+
+            @Override
+            public void onError(HttpRequest request, Throwable throwable, long durationNanos) {
+                events.add(name + ".onError");
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<byte[]> cachedTokenResponse() {
+        HttpResponse<byte[]> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+        when(httpResponse.body()).thenReturn("{\"access_token\":\"cached\",\"expires_in\":\"3599\"}".getBytes(StandardCharsets.UTF_8));
+        return httpResponse;
+    }
+
+    @Test
+    void interceptorsWrapTheExchangeInListOrder() throws Exception {
+        assertTrue(client(simulator.getBaseUrl(), recording("a"), recording("b")).generateAccessToken().isInternalStatus());
+        assertEquals(List.of("a.onRequest -", "b.onRequest a", "b.onResponse ab", "a.onResponse ab"), events);
+    }
+
+    @Test
+    void asyncExchangesRunTheSameOrder() {
+        assertTrue(client(simulator.getBaseUrl(), recording("a"), recording("b")).generateAccessTokenAsync().join().isInternalStatus());
+        assertEquals(List.of("a.onRequest -", "b.onRequest a", "b.onResponse ab", "a.onResponse ab"), events);
+    }
+
+    @Test
+    void shortCircuitSkipsTheRemainingInterceptorsAndTheServer() throws Exception {
+        Interceptor cache = new Interceptor() {
+            @Override
+            public HttpResponse<byte[]> shortCircuit(HttpRequest request) {
+                events.add("cache.shortCircuit");
+                return cachedTokenResponse();
+            }
+        };
+        MpesaResponse mpesaResponse = client(simulator.getBaseUrl(), recording("a"), cache, recording("b")).generateAccessToken();
+
+        assertTrue(mpesaResponse.isInternalStatus());
+        assertEquals("cached", mpesaResponse.getAccessToken());
+        assertEquals(List.of("a.onRequest -", "cache.shortCircuit", "a.onResponse a"), events);
+        assertEquals(0, simulator.getRequests());
+    }
+
+    @Test
+    void failuresAreReportedInReverseOrder() {
+        simulator.close();
+        assertThrows(IOException.class, client(simulator.getBaseUrl(), recording("a"), recording("b"))::generateAccessToken);
+        assertEquals(List.of("a.onRequest -", "b.onRequest a", "b.onError", "a.onError"), events);
+    }
+}
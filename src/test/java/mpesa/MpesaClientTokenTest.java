@@ -0,0 +1,70 @@
+package mpesa;
+
+import mpesa.request.StkPushRequest;
+import mpesa.simulator.DarajaSimulator;
+import mpesa.util.Environment;
+import mpesa.util.STKTransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpesaClientTokenTest {
+    private DarajaSimulator simulator;
+    private AccessTokenCache accessTokenCache;
+    private MpesaClient mpesaClient;
+
+    @BeforeEach
+    void start() throws IOException {
+        simulator = DarajaSimulator.builder().build().start();
+        accessTokenCache = new AccessTokenCache();
+        mpesaClient = new MpesaClient()
+                .environment(Environment.DEVELOPMENT)
+                .baseUrl(simulator.getBaseUrl())
+                .consumerKey("key")
+                .consumerSecret("secret")
+                .passKey("pass")
+                .accessTokenCache(accessTokenCache);
+    }
+
+    @AfterEach
+    void stop() {
+        mpesaClient.close();
+        simulator.close();
+    }
+
+    private static StkPushRequest stkPushRequest() {
+        return StkPushRequest.builder()
+                .stkTransactionType(STKTransactionType.PAY_BILL)
+                .businessShortCode(174379)
+                .amount(10)
+                .phoneNumber(254708374149L)
+                .callbackURL("http://127.0.0.1:1/callback")
+                .accountReference("INV-1")
+                .transactionDesc("Invoice")
+                .build();
+    }
+
+    @Test
+    void revokedTokenIsReplacedAndTheCallSentOnceMore() throws Exception {
+        assertTrue(mpesaClient.stkSend(stkPushRequest()).isInternalStatus());
+        simulator.revokeAccessTokens();
+
+        MpesaResponse mpesaResponse = mpesaClient.stkSend(stkPushRequest());
+        assertTrue(mpesaResponse.isInternalStatus());
+        assertNull(mpesaResponse.getErrorCode());
+        assertEquals(2, accessTokenCache.getRefreshes());
+    }
+
+    @Test
+    void revokedTokenIsReplacedOnTheAsyncPath() {
+        assertTrue(mpesaClient.stkSendAsync(stkPushRequest()).join().isInternalStatus());
+        simulator.revokeAccessTokens();
+
+        assertTrue(mpesaClient.stkSendAsync(stkPushRequest()).join().isInternalStatus());
+        assertEquals(2, accessTokenCache.getRefreshes());
+    }
+}
@@ -0,0 +1,77 @@
+package mpesa;
+
+import base.HttpTransport;
+import mpesa.simulator.DarajaSimulator;
+import mpesa.util.Environment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpesaClientTransportTest {
+    private DarajaSimulator simulator;
+
+    @BeforeEach
+    void startSimulator() throws IOException {
+        simulator = DarajaSimulator.builder().build().start();
+    }
+
+    @AfterEach
+    void stopSimulator() {
+        simulator.close();
+    }
+
+    private MpesaClient client() {
+        return new MpesaClient()
+                .environment(Environment.DEVELOPMENT)
+                .baseUrl(simulator.getBaseUrl())
+                .consumerKey("key")
+                .consumerSecret("secret")
+                .accessTokenCache(new AccessTokenCache());
+    }
+
+    @Test
+    void defaultTransportIsCreatedOnFirstCallAndClosedWithTheClient() throws Exception {
+        MpesaClient mpesaClient = client();
+        assertNull(mpesaClient.httpTransport());
+
+        assertTrue(mpesaClient.generateAccessToken().isInternalStatus());
+        HttpTransport defaultTransport = mpesaClient.httpTransport();
+        assertNotNull(defaultTransport);
+
+        mpesaClient.close();
+        assertTrue(defaultTransport.getHttpClient().isTerminated());
+        assertNull(mpesaClient.httpTransport());
+    }
+
+    @Test
+    void providedTransportIsLeftOpen() throws Exception {
+        try (HttpTransport sharedTransport = HttpTransport.builder().build()) {
+            MpesaClient mpesaClient = client().httpTransport(sharedTransport);
+            assertTrue(mpesaClient.generateAccessToken().isInternalStatus());
+
+            mpesaClient.close();
+            assertFalse(sharedTransport.getHttpClient().isTerminated());
+            assertSame(sharedTransport, mpesaClient.httpTransport());
+        }
+    }
+
+    @Test
+    void replacingTheDefaultTransportClosesItAndReleasesOwnership() throws Exception {
+        try (HttpTransport sharedTransport = HttpTransport.builder().build()) {
+            MpesaClient mpesaClient = client();
+            mpesaClient.generateAccessToken();
+            HttpTransport defaultTransport = mpesaClient.httpTransport();
+
+            mpesaClient.httpTransport(sharedTransport);
+            assertTrue(defaultTransport.getHttpClient().isTerminated());
+            assertTrue(mpesaClient.generateAccessToken().isInternalStatus());
+
+            mpesaClient.close();
+            assertFalse(sharedTransport.getHttpClient().isTerminated());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package mpesa;
+
+import base.JsonCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import mpesa.dto.MpesaRequestDto;
+import mpesa.util.MpesaRequestType;
+import mpesa.util.STKTransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpesaRequestTest {
+
+    private static MpesaRequest request(MpesaRequestDto requestDto) {
+        MpesaRequest mpesaRequest = new MpesaRequest();
+        mpesaRequest.setMpesaRequestDto(requestDto);
+        return mpesaRequest;
+    }
+
+    private static JsonNode json(MpesaRequest mpesaRequest) throws IOException {
+        return JsonCodec.getDefault().reader(JsonNode.class).readValue(mpesaRequest.getPostBodyBytes());
+    }
+
+    @Test
+    void stkSendPayloadCarriesTheWireFieldsAndSkipsNulls() throws IOException {
+        MpesaRequestDto requestDto = new MpesaRequestDto();
+        requestDto.setMpesaRequestType(MpesaRequestType.STK_SEND);
+        requestDto.setStkTransactionType(STKTransactionType.PAY_BILL);
+        requestDto.setBusinessShortCode(174379);
+        requestDto.setPassword("password");
+        requestDto.setTimestamp("20191219102115");
+        requestDto.setAmount(10);
+        requestDto.setPhoneNumber(254708374149L);
+        requestDto.setCallbackURL("https://mydomain.com/callback");
+        requestDto.setAccountReference("INV-1");
+
+        JsonNode json = json(request(requestDto));
+        assertEquals(174379, json.get("BusinessShortCode").asInt());
+        assertEquals(STKTransactionType.PAY_BILL.getValue(), json.get("TransactionType").asText());
+        assertEquals(10, json.get("Amount").asDouble());
+        assertEquals(254708374149L, json.get("PartyA").asLong());
+        assertEquals(174379, json.get("PartyB").asInt());
+        assertEquals("https://mydomain.com/callback", json.get("CallBackURL").asText());
+        assertFalse(json.has("TransactionDesc"));
+    }
+
+    @Test
+    void generatedOriginatorConversationIdIsStableAcrossSerializations() throws IOException {
+        MpesaRequestDto requestDto = new MpesaRequestDto();
+        requestDto.setMpesaRequestType(MpesaRequestType.C2B_TRANSACTION_STATUS);
+        requestDto.setBusinessShortCode(600000);
+        requestDto.setTransactionId("NLJ41HAY6Q");
+        MpesaRequest mpesaRequest = request(requestDto);
+
+        String originatorConversationId = json(mpesaRequest).get("OriginatorConversationID").asText();
+        assertFalse(originatorConversationId.isBlank());
+        assertEquals(originatorConversationId, json(mpesaRequest).get("OriginatorConversationID").asText());
+    }
+
+    @Test
+    void bodyPublisherHasTheLengthOfThePayload() {
+        MpesaRequestDto requestDto = new MpesaRequestDto();
+        requestDto.setMpesaRequestType(MpesaRequestType.STK_QUERY);
+        requestDto.setBusinessShortCode(174379);
+        requestDto.setCheckoutRequestID("ws_CO_191220191020363925");
+        MpesaRequest mpesaRequest = request(requestDto);
+
+        assertEquals(mpesaRequest.getPostBodyBytes().length, mpesaRequest.getBodyPublisher().contentLength());
+        assertEquals(new String(mpesaRequest.getPostBodyBytes()), mpesaRequest.getPostBody());
+    }
+
+    @Test
+    void invalidPayloadIsReportedInsteadOfSendingAPartialBody() {
+        MpesaRequestDto requestDto = new MpesaRequestDto();
+        requestDto.setMpesaRequestType(MpesaRequestType.DYNAMIC_QR);
+        assertThrows(RuntimeException.class, () -> request(requestDto).getPostBodyBytes());
+    }
+}
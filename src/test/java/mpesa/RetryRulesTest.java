@@ -0,0 +1,66 @@
+package mpesa;
+
+import base.RetryPolicy;
+import mpesa.util.MpesaRequestType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RetryRulesTest {
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<byte[]> response(int statusCode) {
+        HttpResponse<byte[]> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.statusCode()).thenReturn(statusCode);
+        when(httpResponse.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+        return httpResponse;
+    }
+
+    @Test
+    void paymentsAreRetriedOnlyWhenNothingWasSentOrThrottled() {
+        RetryRules retryRules = RetryRules.defaults();
+        for (MpesaRequestType mpesaRequestType : new MpesaRequestType[]{MpesaRequestType.STK_SEND, MpesaRequestType.B2C,
+                MpesaRequestType.B2B_PAY_BILL, MpesaRequestType.TAX_REMITTANCE}) {
+            RetryPolicy retryPolicy = retryRules.getRetryPolicy(mpesaRequestType);
+            assertNotNull(retryPolicy.retryDelay(1, new ConnectException()), mpesaRequestType.name());
+            assertNotNull(retryPolicy.retryDelay(1, response(429)), mpesaRequestType.name());
+            assertNull(retryPolicy.retryDelay(1, response(503)), mpesaRequestType.name());
+            assertNull(retryPolicy.retryDelay(1, response(500)), mpesaRequestType.name());
+            assertNull(retryPolicy.retryDelay(1, new IOException("connection reset")), mpesaRequestType.name());
+        }
+    }
+
+    @Test
+    void idempotentRequestsAreRetriedOnGatewayErrorsAndLostResponses() {
+        RetryPolicy retryPolicy = RetryRules.defaults().getRetryPolicy(MpesaRequestType.STK_QUERY);
+        assertNotNull(retryPolicy.retryDelay(1, response(503)));
+        assertNotNull(retryPolicy.retryDelay(1, response(502)));
+        assertNotNull(retryPolicy.retryDelay(1, new IOException("connection reset")));
+        assertNull(retryPolicy.retryDelay(1, response(400)));
+    }
+
+    @Test
+    void callersCanOptPaymentsIntoRetryingOn503() {
+        RetryRules retryRules = RetryRules.defaults()
+                .retry(MpesaRequestType.STK_SEND, RetryPolicy.builder().build());
+        assertNotNull(retryRules.getRetryPolicy(MpesaRequestType.STK_SEND).retryDelay(1, response(503)));
+
+        retryRules.retry(MpesaRequestType.STK_SEND, null);
+        assertNull(retryRules.getRetryPolicy(MpesaRequestType.STK_SEND));
+    }
+
+    @Test
+    void retriesStopAtMaxAttempts() {
+        RetryPolicy retryPolicy = RetryPolicy.builder().maxAttempts(2).build();
+        assertNotNull(retryPolicy.retryDelay(1, response(429)));
+        assertNull(retryPolicy.retryDelay(2, response(429)));
+    }
+}
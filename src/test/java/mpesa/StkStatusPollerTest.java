@@ -0,0 +1,117 @@
+package mpesa;
+
+import base.HashedTimerWheel;
+import mpesa.request.StkPushRequest;
+import mpesa.request.StkQueryRequest;
+import mpesa.simulator.DarajaSimulator;
+import mpesa.simulator.EndpointBehavior;
+import mpesa.simulator.LatencyDistribution;
+import mpesa.util.Environment;
+import mpesa.util.MpesaURL;
+import mpesa.util.ResultCode;
+import mpesa.util.STKTransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StkStatusPollerTest {
+    private final HashedTimerWheel timerWheel = HashedTimerWheel.builder()
+            .tickDuration(Duration.ofMillis(10))
+            .build();
+    private DarajaSimulator simulator;
+    private MpesaClient mpesaClient;
+    private StkStatusPoller stkStatusPoller;
+
+    @AfterEach
+    void stop() {
+        stkStatusPoller.close();
+        mpesaClient.close();
+        simulator.close();
+        timerWheel.close();
+    }
+
+    private void start(Duration callbackDelay, Duration deadline) throws IOException {
+        simulator = DarajaSimulator.builder().build()
+                .configure(MpesaURL.STK_SEND, EndpointBehavior.builder()
+                        .callbackDelay(LatencyDistribution.fixed(callbackDelay))
+                        .build())
+                .start();
+        mpesaClient = new MpesaClient()
+                .environment(Environment.DEVELOPMENT)
+                .baseUrl(simulator.getBaseUrl())
+                .consumerKey("key")
+                .consumerSecret("secret")
+                .passKey("pass")
+                .accessTokenCache(new AccessTokenCache());
+        stkStatusPoller = StkStatusPoller.builder()
+                .mpesaClient(mpesaClient)
+                .timerWheel(timerWheel)
+                .initialDelay(Duration.ofMillis(20))
+                .multiplier(1)
+                .maxInterval(Duration.ofMillis(20))
+                .deadline(deadline)
+                .build();
+    }
+
+    private CompletableFuture<MpesaResponse> trackPush() throws Exception {
+        MpesaResponse submission = mpesaClient.stkSend(StkPushRequest.builder()
+                .stkTransactionType(STKTransactionType.PAY_BILL)
+                .businessShortCode(174379)
+                .amount(10)
+                .phoneNumber(254708374149L)
+                .callbackURL("http://127.0.0.1:1/callback")
+                .accountReference("INV-1")
+                .transactionDesc("Invoice")
+                .build());
+        assertTrue(submission.isInternalStatus());
+        return stkStatusPoller.track(StkQueryRequest.builder()
+                .businessShortCode(174379)
+                .checkoutRequestID(submission.getCheckoutRequestID())
+                .build());
+    }
+
+    @Test
+    void pendingPushIsPolledUntilItsFinalResult() throws Exception {
+        start(Duration.ofMillis(400), Duration.ofSeconds(10));
+        CompletableFuture<MpesaResponse> result = trackPush();
+
+        MpesaResponse mpesaResponse = result.get(5, TimeUnit.SECONDS);
+        assertEquals("0", mpesaResponse.getResultCode());
+        assertTrue(ResultCode.of(mpesaResponse.getResultCode()).isTerminal());
+        assertFalse(ResultCode.STILL_UNDER_PROCESSING.isTerminal());
+        //token, push, at least one 500.001.1001 and one 4999 answer before the result
+        assertTrue(simulator.getRequests() >= 5, "requests " + simulator.getRequests());
+        assertEquals(0, stkStatusPoller.getOutstanding());
+    }
+
+    @Test
+    void clientErrorEndsPolling() throws Exception {
+        start(Duration.ZERO, Duration.ofSeconds(10));
+        CompletableFuture<MpesaResponse> result = stkStatusPoller.track(StkQueryRequest.builder()
+                .businessShortCode(174379)
+                .checkoutRequestID("ws_CO_unknown")
+                .build());
+
+        MpesaResponse mpesaResponse = result.get(5, TimeUnit.SECONDS);
+        assertEquals("400.002.02", mpesaResponse.getErrorCode());
+        assertEquals(0, stkStatusPoller.getOutstanding());
+    }
+
+    @Test
+    void pushStillPendingAtTheDeadlineFailsWithTimeout() throws Exception {
+        start(Duration.ofMinutes(10), Duration.ofMillis(200));
+        CompletableFuture<MpesaResponse> result = trackPush();
+
+        ExecutionException executionException = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, executionException.getCause());
+        assertEquals(0, stkStatusPoller.getOutstanding());
+    }
+}
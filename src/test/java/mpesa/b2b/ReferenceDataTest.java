@@ -0,0 +1,54 @@
+package mpesa.b2b;
+
+import base.JsonCodec;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceDataTest {
+
+    private static ReferenceData read(String json) throws IOException {
+        return JsonCodec.getDefault().reader(ReferenceData.class).readValue(json);
+    }
+
+    @Test
+    void singleItemObject() throws IOException {
+        ReferenceData referenceData = read("""
+                {"ReferenceItem":{"Key":"QueueTimeoutURL","Value":"https://example.com/timeout"}}""");
+        assertEquals(1, referenceData.getReferenceItem().size());
+        assertEquals("QueueTimeoutURL", referenceData.getReferenceItem().get(0).getKey());
+        assertEquals("https://example.com/timeout", referenceData.getReferenceItem().get(0).getValue());
+    }
+
+    @Test
+    void itemArray() throws IOException {
+        ReferenceData referenceData = read("""
+                {"ReferenceItem":[{"Key":"BillReferenceNumber","Value":"19008"},{"Key":"Amount","Value":1.5}]}""");
+        assertEquals(2, referenceData.getReferenceItem().size());
+        assertEquals("19008", referenceData.getReferenceItem().get(0).getValue());
+        assertEquals("1.5", referenceData.getReferenceItem().get(1).getValue());
+    }
+
+    @Test
+    void unknownFieldsAndStructuredValuesAreSkipped() throws IOException {
+        ReferenceData referenceData = read("""
+                {"Other":{"a":[1]},"ReferenceItem":{"Extra":[{"b":2}],"Key":"k","Value":{"nested":true}},"Tail":1}""");
+        assertEquals("k", referenceData.getReferenceItem().get(0).getKey());
+        assertNull(referenceData.getReferenceItem().get(0).getValue());
+    }
+
+    @Test
+    void nullOrMissingItemsLeaveTheListUnset() throws IOException {
+        assertNull(read("{\"ReferenceItem\":null}").getReferenceItem());
+        assertNull(read("{}").getReferenceItem());
+    }
+
+    @Test
+    void scalarItemIsRejected() {
+        assertThrows(MismatchedInputException.class, () -> read("{\"ReferenceItem\":\"x\"}"));
+        assertThrows(MismatchedInputException.class, () -> read("{\"ReferenceItem\":[\"x\"]}"));
+    }
+}
@@ -0,0 +1,49 @@
+package mpesa.metrics;
+
+import mpesa.util.MpesaURL;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryMpesaMetricsTest {
+
+    @Test
+    void errorsAreCountedPerErrorCodeAcrossEndpoints() {
+        InMemoryMpesaMetrics mpesaMetrics = new InMemoryMpesaMetrics();
+        mpesaMetrics.onError(MpesaURL.STK_SEND, "500.001.1001");
+        mpesaMetrics.onError(MpesaURL.STK_QUERY, "500.001.1001");
+        mpesaMetrics.onError(MpesaURL.STK_SEND, "404.001.03");
+        mpesaMetrics.onError(MpesaURL.AUTH, "IOException");
+
+        assertEquals(Map.of("404.001.03", 1L, "500.001.1001", 2L, "IOException", 1L), mpesaMetrics.getErrors());
+        assertEquals(List.of("404.001.03", "500.001.1001", "IOException"), List.copyOf(mpesaMetrics.getErrors().keySet()));
+    }
+
+    @Test
+    void requestsAndLatenciesAreKeptPerEndpointAndPhase() {
+        InMemoryMpesaMetrics mpesaMetrics = new InMemoryMpesaMetrics();
+        mpesaMetrics.onRequest(MpesaURL.STK_SEND);
+        mpesaMetrics.onRequest(MpesaURL.STK_SEND);
+        mpesaMetrics.recordLatency(MpesaURL.STK_SEND, MpesaMetrics.Phase.HTTP, 1_000);
+
+        assertEquals(2, mpesaMetrics.getRequests(MpesaURL.STK_SEND));
+        assertEquals(0, mpesaMetrics.getRequests(MpesaURL.STK_QUERY));
+        assertEquals(1, mpesaMetrics.getLatency(MpesaURL.STK_SEND, MpesaMetrics.Phase.HTTP).getCount());
+        assertEquals(0, mpesaMetrics.getLatency(MpesaURL.STK_SEND, MpesaMetrics.Phase.TOTAL).getCount());
+        assertTrue(mpesaMetrics.getErrors().isEmpty());
+    }
+
+    @Test
+    void failedTokenRefreshesAreCountedSeparately() {
+        InMemoryMpesaMetrics mpesaMetrics = new InMemoryMpesaMetrics();
+        mpesaMetrics.onTokenRefresh(1_000, true);
+        mpesaMetrics.onTokenRefresh(2_000, false);
+
+        assertEquals(2, mpesaMetrics.getTokenRefreshes());
+        assertEquals(1, mpesaMetrics.getTokenRefreshFailures());
+        assertEquals(2, mpesaMetrics.getTokenRefreshLatency().getCount());
+    }
+}
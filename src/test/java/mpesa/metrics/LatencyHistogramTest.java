@@ -0,0 +1,83 @@
+package mpesa.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+    private static final long LARGE = 1L << 50;
+
+    /**
+     * Upper bound reported for the bucket holding value, read as the median next to a larger value
+     */
+    private static long upperBound(long value) {
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        latencyHistogram.record(value);
+        latencyHistogram.record(LARGE);
+        return latencyHistogram.getValueAtPercentile(50);
+    }
+
+    @Test
+    void valuesBelowEightHaveTheirOwnBucket() {
+        for (long value = 0; value < 8; value++) {
+            assertEquals(value, upperBound(value));
+        }
+    }
+
+    @Test
+    void powersOfTwoStartABucketAnEighthOfTheirSizeWide() {
+        assertEquals(8, upperBound(8));
+        assertEquals(17, upperBound(16));
+        assertEquals(1151, upperBound(1024));
+        assertEquals(1151, upperBound(1151));
+        assertEquals(1279, upperBound(1152));
+        assertEquals(1023, upperBound(1023));
+        assertEquals((1L << 30) + (1L << 27) - 1, upperBound(1L << 30));
+    }
+
+    @Test
+    void valuesAboveAboutTwoHoursShareTheLastBucket() {
+        long lastBucket = 15L << 39;
+        assertEquals(lastBucket - 1, upperBound(lastBucket - 1));
+        for (long value : new long[]{lastBucket, 1L << 43, Long.MAX_VALUE}) {
+            LatencyHistogram latencyHistogram = new LatencyHistogram();
+            latencyHistogram.record(value);
+            latencyHistogram.record(Long.MAX_VALUE);
+            assertEquals(Long.MAX_VALUE, latencyHistogram.getValueAtPercentile(50));
+        }
+    }
+
+    @Test
+    void percentilesAreWithinAnEighthOfTheExactValue() {
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        int samples = 10_000;
+        for (int i = 1; i <= samples; i++) {
+            latencyHistogram.record(i * 1_000L);
+        }
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9, 100}) {
+            long exact = (long) Math.ceil(percentile / 100 * samples) * 1_000L;
+            long reported = latencyHistogram.getValueAtPercentile(percentile);
+            assertTrue(reported >= exact && reported <= exact * 1.125, percentile + ": " + reported + " vs " + exact);
+        }
+        assertEquals(samples * 1_000L, latencyHistogram.getMax());
+        assertEquals(5_000_500, latencyHistogram.getMean());
+    }
+
+    @Test
+    void negativeDurationsAreRecordedAsZero() {
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        latencyHistogram.record(-5);
+        assertEquals(1, latencyHistogram.getCount());
+        assertEquals(0, latencyHistogram.getMax());
+        assertEquals(0, latencyHistogram.getMean());
+        assertEquals(0, latencyHistogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        assertEquals(0, latencyHistogram.getCount());
+        assertEquals(0, latencyHistogram.getMean());
+        assertEquals(0, latencyHistogram.getValueAtPercentile(99));
+    }
+}
@@ -0,0 +1,111 @@
+package mpesa.result;
+
+import base.JsonCodec;
+import com.fasterxml.jackson.core.JsonParseException;
+import mpesa.MpesaResponse;
+import mpesa.util.ResponseParserType;
+import mpesa.util.ResultCode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallbackResultTest {
+    private static final String STK_CALLBACK = """
+            {"Body":{"stkCallback":{"MerchantRequestID":"29115-34620561-1","CheckoutRequestID":"ws_CO_191220191020363925",\
+            "ResultCode":0,"ResultDesc":"The service request is processed successfully.","CallbackMetadata":{"Item":[\
+            {"Name":"Amount","Value":1.00},{"Name":"MpesaReceiptNumber","Value":"NLJ7RT61SV"},{"Name":"Balance"},\
+            {"Name":"TransactionDate","Value":20191219102115},{"Name":"PhoneNumber","Value":254708374149}]}}}}""";
+    private static final String MALFORMED_STK_CALLBACK = """
+            {"Body":{"stkCallback":{"CheckoutRequestID":"c","ResultCode":0,"CallbackMetadata":{"Item":[\
+            {"Name":"Amount","Value":"n/a"},{"Name":"MpesaReceiptNumber","Value":"NLJ7RT61SV"},\
+            {"Name":"TransactionDate","Value":"20191399999999"},{"Name":"PhoneNumber","Value":"07xx"}]}}}}""";
+    private static final String TRANSACTION_STATUS_RESULT = """
+            {"Result":{"ResultType":0,"ResultCode":0,"ResultDesc":"The service request has been accepted successsfully.",\
+            "OriginatorConversationID":"10816-694520-2","ConversationID":"AG_20200927_0000530ec00a5be56c5e",\
+            "TransactionID":"LHG31AA5TX","ResultParameters":{"ResultParameter":[\
+            {"Key":"DebitPartyName","Value":"254708374149 - John Doe"},{"Key":"Amount","Value":"abc"},\
+            {"Key":"ReceiptNo","Value":"LHG31AA5TX"},{"Key":"FinalisedTime","Value":"not a time"}]}}}""";
+
+    private static MpesaResponse bind(String json) throws IOException {
+        return JsonCodec.getDefault().reader(MpesaResponse.class).readValue(json);
+    }
+
+    private static StkCallbackResult stream(String json) throws IOException {
+        return StkCallbackParser.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void streamedAndBoundStkCallbacksAgree() throws IOException {
+        assertEquals(StkCallbackResult.from(bind(STK_CALLBACK)), stream(STK_CALLBACK));
+        assertEquals(StkCallbackResult.from(bind(MALFORMED_STK_CALLBACK)), stream(MALFORMED_STK_CALLBACK));
+    }
+
+    @Test
+    void malformedStkMetadataReadsAsAbsent() throws IOException {
+        StkCallbackResult stkCallbackResult = stream(MALFORMED_STK_CALLBACK);
+        assertTrue(stkCallbackResult.isSuccessful());
+        assertEquals(0, stkCallbackResult.amount());
+        assertEquals(0, stkCallbackResult.phoneNumber());
+        assertEquals("NLJ7RT61SV", stkCallbackResult.mpesaReceiptNumber());
+        assertNull(stkCallbackResult.transactionInstant());
+        assertNull(stkCallbackResult.toMpesaResponse().getTransactionDate());
+    }
+
+    @Test
+    void structuredValueAfterItsNameIsSkipped() throws IOException {
+        StkCallbackResult stkCallbackResult = stream("""
+                {"Body":{"stkCallback":{"CheckoutRequestID":"c","ResultCode":0,"CallbackMetadata":{"Item":[\
+                {"Name":"Amount","Value":{"a":[1]}},{"Name":"MpesaReceiptNumber","Value":"NLJ7RT61SV"}]}}}}""");
+        assertEquals(0, stkCallbackResult.amount());
+        assertEquals("NLJ7RT61SV", stkCallbackResult.mpesaReceiptNumber());
+    }
+
+    @Test
+    void nonNumericResultCodeIsRejected() {
+        assertThrows(JsonParseException.class, () -> stream("{\"Body\":{\"stkCallback\":{\"ResultCode\":\"x\"}}}"));
+    }
+
+    @Test
+    void malformedTransactionStatusParametersReadAsAbsent() throws IOException {
+        TransactionStatusResult transactionStatusResult = (TransactionStatusResult) CallbackResult.from(bind(TRANSACTION_STATUS_RESULT), ResponseParserType.C2B_TRANSACTION_STATUS);
+        assertEquals(0, transactionStatusResult.amount());
+        assertEquals(0, transactionStatusResult.finalisedTime());
+        assertEquals("254708374149", transactionStatusResult.phoneNumber());
+        assertEquals("John Doe", transactionStatusResult.fullNames());
+        assertEquals("LHG31AA5TX", transactionStatusResult.receiptNo());
+    }
+
+    @Test
+    void malformedTransactionAmountReadsAsAbsent() throws IOException {
+        TransactionResult transactionResult = (TransactionResult) CallbackResult.from(bind("""
+                {"Result":{"ResultType":0,"ResultCode":1,"ResultDesc":"The balance is insufficient for the transaction.",\
+                "ConversationID":"AG_1","ResultParameters":{"ResultParameter":[{"Key":"TransactionAmount","Value":"ten"}]}}}"""), ResponseParserType.B2C);
+        assertEquals(0, transactionResult.amount());
+        assertEquals(ResultCode.of(1), transactionResult.result());
+        assertFalse(transactionResult.toMpesaResponse().isInternalStatus());
+    }
+
+    @Test
+    void nonNumericB2BStkResultCodeReadsAsMissing() throws IOException {
+        B2BStkResult b2BStkResult = (B2BStkResult) CallbackResult.from(bind("""
+                {"resultCode":"x","resultDesc":"failed","requestId":"ref-1"}"""), ResponseParserType.B2B_STK);
+        assertEquals(-1, b2BStkResult.resultCode());
+        assertEquals("ref-1", b2BStkResult.toMpesaResponse().getRequestId());
+    }
+
+    @Test
+    void toMpesaResponseBuildsANewResponseEachCall() throws IOException {
+        StkCallbackResult stkCallbackResult = stream(STK_CALLBACK);
+        MpesaResponse first = stkCallbackResult.toMpesaResponse();
+        assertNotSame(first, stkCallbackResult.toMpesaResponse());
+        assertTrue(first.isInternalStatus());
+        assertEquals("ws_CO_191220191020363925", first.getBody().getStkCallback().getCheckoutRequestID());
+        assertEquals("NLJ7RT61SV", first.getMpesaReference());
+        assertEquals(1.0, first.getAmount());
+        assertEquals("254708374149", first.getPhoneNumber());
+        assertNotNull(first.getTransactionDate());
+    }
+}
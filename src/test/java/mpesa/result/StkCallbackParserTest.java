@@ -0,0 +1,90 @@
+package mpesa.result;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StkCallbackParserTest {
+    private static final String SUCCESS = """
+            {"Body":{"stkCallback":{"MerchantRequestID":"29115-34620561-1","CheckoutRequestID":"ws_CO_191220191020363925",\
+            "ResultCode":0,"ResultDesc":"The service request is processed successfully.","CallbackMetadata":{"Item":[\
+            {"Name":"Amount","Value":1.00},{"Name":"MpesaReceiptNumber","Value":"NLJ7RT61SV"},{"Name":"Balance"},\
+            {"Name":"TransactionDate","Value":20191219102115},{"Name":"PhoneNumber","Value":254708374149}]}}}}""";
+
+    private static StkCallbackResult parse(String json) throws IOException {
+        return StkCallbackParser.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void successfulCallback() throws IOException {
+        StkCallbackResult stkCallbackResult = parse(SUCCESS);
+        assertTrue(stkCallbackResult.isSuccessful());
+        assertEquals("29115-34620561-1", stkCallbackResult.merchantRequestID());
+        assertEquals("ws_CO_191220191020363925", stkCallbackResult.checkoutRequestID());
+        assertEquals(1.0, stkCallbackResult.amount());
+        assertEquals("NLJ7RT61SV", stkCallbackResult.mpesaReceiptNumber());
+        assertEquals(254708374149L, stkCallbackResult.phoneNumber());
+        assertEquals(20191219102115L, stkCallbackResult.transactionDate());
+    }
+
+    @Test
+    void inputStreamGivesTheSameResult() throws IOException {
+        assertEquals(parse(SUCCESS), StkCallbackParser.parse(new ByteArrayInputStream(SUCCESS.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void cancelledCallbackHasNoMetadata() throws IOException {
+        StkCallbackResult stkCallbackResult = parse("""
+                {"Body":{"stkCallback":{"MerchantRequestID":"m","CheckoutRequestID":"c","ResultCode":1032,"ResultDesc":"Request cancelled by user"}}}""");
+        assertFalse(stkCallbackResult.isSuccessful());
+        assertEquals(1032, stkCallbackResult.resultCode());
+        assertNull(stkCallbackResult.mpesaReceiptNumber());
+        assertEquals(0, stkCallbackResult.amount());
+        assertNull(stkCallbackResult.transactionInstant());
+    }
+
+    @Test
+    void valueBeforeNameIsApplied() throws IOException {
+        StkCallbackResult stkCallbackResult = parse("""
+                {"Body":{"stkCallback":{"CheckoutRequestID":"c","ResultCode":0,"CallbackMetadata":{"Item":[\
+                {"Value":"10.5","Name":"Amount"},{"Value":254708374149,"Name":"PhoneNumber"}]}}}}""");
+        assertEquals(10.5, stkCallbackResult.amount());
+        assertEquals(254708374149L, stkCallbackResult.phoneNumber());
+    }
+
+    @Test
+    void structuredValueBeforeNameIsSkipped() throws IOException {
+        StkCallbackResult stkCallbackResult = parse("""
+                {"Body":{"stkCallback":{"CheckoutRequestID":"c","ResultCode":0,"CallbackMetadata":{"Item":[\
+                {"Value":{"nested":[1,2]},"Name":"Balance"},{"Value":[1,{"a":2}],"Name":"Other"},\
+                {"Name":"MpesaReceiptNumber","Value":"NLJ7RT61SV"}]}}}}""");
+        assertEquals("NLJ7RT61SV", stkCallbackResult.mpesaReceiptNumber());
+    }
+
+    @Test
+    void unknownFieldsAndNumbersAsStringsAreTolerated() throws IOException {
+        StkCallbackResult stkCallbackResult = parse("""
+                {"Extra":{"a":[1,2]},"Body":{"Other":{"x":1},"stkCallback":{"Unknown":{"y":[]},"CheckoutRequestID":"c",\
+                "ResultCode":"0","CallbackMetadata":{"Item":[{"Name":"Amount","Value":"1.00"},\
+                {"Name":"TransactionDate","Value":"20191219102115"},{"Name":"Balance","Value":{"z":1}}]}}}}""");
+        assertTrue(stkCallbackResult.isSuccessful());
+        assertEquals(1.0, stkCallbackResult.amount());
+        assertEquals(20191219102115L, stkCallbackResult.transactionDate());
+    }
+
+    @Test
+    void missingStkCallbackIsRejected() {
+        assertThrows(JsonParseException.class, () -> parse("{\"Body\":{}}"));
+        assertThrows(JsonParseException.class, () -> parse("[]"));
+    }
+
+    @Test
+    void missingResultCodeIsRejected() {
+        assertThrows(JsonParseException.class, () -> parse("{\"Body\":{\"stkCallback\":{\"CheckoutRequestID\":\"c\"}}}"));
+    }
+}